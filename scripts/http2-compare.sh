@@ -0,0 +1,142 @@
+#!/usr/bin/env bash
+#
+# Compara HTTP/1.1 e HTTP/2 (h2c) na stack local, sem docker:
+#   http1  cliente, gateway e login-service só em HTTP/1.1
+#   h2c    cliente -> gateway em HTTP/2 (upgrade) e gateway -> login-service
+#          em h2c por prior knowledge (GATEWAY_UPSTREAM_PROTOCOLS=H2C, pool de 16)
+#
+# Uso: scripts/http2-compare.sh [argumentos do loadtest...]
+# ex.: scripts/http2-compare.sh --rate=3000 --max-in-flight=2048 --duration=PT60S
+# Linux (conexões contadas em /proc/net/tcp); precisa de JWT_SECRET e jq.
+#
+# Para cada variante sobe o login-service e o gateway a partir dos jars,
+# roda o loadtest contra o gateway e mostra o pico de conexões TCP abertas
+# em cada trecho e a latência total da rodada.
+
+set -euo pipefail
+
+root=$(cd "$(dirname "$0")/.." && pwd)
+work=$root/src/loadtest/target/http2-compare
+service_port=18081
+gateway_port=18080
+management_port=19090
+
+: "${JWT_SECRET:?defina JWT_SECRET}"
+command -v jq > /dev/null || { echo "precisa do jq" >&2; exit 1; }
+
+# Rodada padrão: muitas requisições simultâneas e quase só consulta de perfil,
+# para que o custo do protocolo não se perca no hashing de senhas
+loadtest_args=(--rate=2000 --max-in-flight=2048 --users=200 --mix=login=1,profile=99
+    --burst.size=0 --warmup=PT15S --duration=PT45S "$@")
+
+pids=()
+cleanup() {
+    for pid in "${pids[@]}"; do
+        kill "$pid" 2> /dev/null || true
+        wait "$pid" 2> /dev/null || true
+    done
+    pids=()
+}
+trap cleanup EXIT
+
+# start <log> <texto de pronto> <comando...>
+start() {
+    local log=$1 ready=$2
+    shift 2
+    "$@" > "$log" 2>&1 &
+    local pid=$!
+    pids+=("$pid")
+    until grep -q "$ready" "$log"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "falhou ao subir, veja $log" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+}
+
+# Conexões estabelecidas com porta local $1 (lado servidor)
+connections() {
+    local hex
+    hex=$(printf '%04X' "$1")
+    cat /proc/net/tcp /proc/net/tcp6 2> /dev/null \
+        | awk -v port=":$hex" '$4 == "01" && substr($2, length($2) - 4) == port { n++ } END { print n + 0 }'
+}
+
+# Pico de conexões nos dois trechos enquanto o arquivo $1 existir
+sample() {
+    local flag=$1 out=$2 peak_gateway=0 peak_service=0
+    while [ -e "$flag" ]; do
+        local gateway service
+        gateway=$(connections $gateway_port)
+        service=$(connections $service_port)
+        (( gateway > peak_gateway )) && peak_gateway=$gateway
+        (( service > peak_service )) && peak_service=$service
+        sleep 0.5
+    done
+    echo "$peak_gateway $peak_service" > "$out"
+}
+
+run() {
+    local name=$1 http2=$2 upstream=$3 version=$4 pool=$5
+    local dir=$work/$name status=0
+    mkdir -p "$dir"
+
+    start "$dir/login-service.log" "Started LoginApiApplication" \
+        env LOGIN_SERVER_PORT=$service_port LOGIN_HTTP2_ENABLED="$http2" LOGIN_RATE_LIMIT_ENABLED=false \
+        AUDIT_PATH="$dir/audit" \
+        java -jar "$root"/src/login_service/target/login-service-*.jar
+    # Sem "chamada lenta" no circuito e sem ejeção da única instância: em
+    # máquinas pequenas os registros da preparação (bcrypt) passam de 2s e
+    # alguns timeouts virariam 10s de 503 antes da medição
+    start "$dir/gateway.log" "Started ApiGatewayApplication" \
+        env GATEWAY_SERVER_PORT=$gateway_port GATEWAY_MANAGEMENT_PORT=$management_port \
+        GATEWAY_HTTP2_ENABLED="$http2" GATEWAY_UPSTREAM_PROTOCOLS="$upstream" GATEWAY_CACHE_ENABLED=false \
+        GATEWAY_POOL_MAX_CONNECTIONS="$pool" \
+        LOGIN_SERVER_URI=http://localhost:$service_port \
+        java -jar "$root"/src/api_gateway/target/login-api-*.jar \
+        --resilience4j.circuitbreaker.instances.login-service.slow-call-duration-threshold=60s \
+        --gateway.loadbalancer.ejection.consecutive-failures=1000000
+
+    touch "$dir/sampling"
+    sample "$dir/sampling" "$dir/peaks" &
+    local sampler=$!
+    (cd "$root/src/loadtest" && java -jar target/loadtest.jar --target=http://localhost:$gateway_port \
+        --http-version="$version" --label="$name" --results-dir="$dir" "${loadtest_args[@]}") \
+        > "$dir/loadtest.log" 2>&1 || status=$?
+    rm "$dir/sampling"
+    wait "$sampler"
+    if [ "$status" -ne 0 ]; then
+        echo "loadtest $name falhou, veja $dir/loadtest.log" >&2
+        exit 1
+    fi
+    cleanup
+
+    local peaks summary
+    read -r -a peaks < "$dir/peaks"
+    summary=$(ls "$dir"/"$name"-*.json | tail -n 1)
+    printf '%-6s %14s %16s %8s %8s %8s %9s %7s\n' "$name" "${peaks[0]}" "${peaks[1]}" \
+        "$(jq '.total.throughput' "$summary")" \
+        "$(jq '.total.latencyMs.p50' "$summary")" "$(jq '.total.latencyMs.p99' "$summary")" \
+        "$(jq '.total.latencyMs.p999' "$summary")" \
+        "$(jq '[.operations[].outcomes | to_entries[] | select(.key != "success") | .value] | add // 0' "$summary")"
+}
+
+echo "== build"
+(cd "$root/src/login_service" && mvn -q package -DskipTests)
+(cd "$root/src/api_gateway" && mvn -q package -DskipTests)
+(cd "$root/src/loadtest" && mvn -q package -DskipTests)
+rm -rf "$work"
+
+echo "== loadtest ${loadtest_args[*]}"
+printf '%-6s %14s %16s %8s %8s %8s %9s %7s\n' \
+    "" "conexões" "conexões" "" "" "" "" ""
+printf '%-6s %14s %16s %8s %8s %8s %9s %7s\n' \
+    "" "cliente->gw" "gw->serviço" "req/s" "p50 ms" "p99 ms" "p99.9 ms" "falhas"
+# Em h2c cada conexão leva até 200 streams (http2.max-concurrent-streams do
+# serviço): 16 conexões cobrem 3200 requisições simultâneas. Com o limite de
+# HTTP/1.1 o pool abre uma conexão por requisição que chega enquanto as
+# primeiras ainda estão conectando
+run http1 false HTTP11 HTTP_1_1 500
+run h2c true H2C HTTP_2 16
+echo "Resultados em $work"
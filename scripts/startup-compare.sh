@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+#
+# Compara tempo de inicialização e memória (RSS) das formas de rodar um serviço:
+#   jvm      java -jar
+#   cds      jar extraído + AppCDS (mesma receita do alvo cds do dockerfile)
+#   cds+aot  AppCDS + código gerado pelo Spring AOT (-Dspring.aot.enabled=true)
+#   native   executável GraalVM, se já compilado (mvn -Pnative native:compile)
+#
+# Uso: scripts/startup-compare.sh [login_service|api_gateway] [rodadas]
+# Linux (RSS lido de /proc); precisa de JWT_SECRET no ambiente.
+# O tempo é o "process running for" do log do Spring (inclui a subida da JVM);
+# o RSS é medido 2s depois do "Started", com o serviço ocioso.
+
+set -euo pipefail
+
+module=${1:-login_service}
+runs=${2:-5}
+root=$(cd "$(dirname "$0")/.." && pwd)
+dir=$root/src/$module
+work=$dir/target/startup
+
+case $module in
+    login_service)
+        binary=login-service
+        args=(--server.port=0)
+        ;;
+    api_gateway)
+        binary=login-api
+        args=(--server.port=0 --management.server.port=0 --spring.cloud.refresh.enabled=false)
+        ;;
+    *)
+        echo "Módulo desconhecido: $module (login_service | api_gateway)" >&2
+        exit 1
+        ;;
+esac
+
+: "${JWT_SECRET:?defina JWT_SECRET}"
+
+median() {
+    printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+# measure <variante> <comando...>: sobe o serviço $runs vezes a partir de $work
+measure() {
+    local name=$1
+    shift
+    local starts=() rss=()
+    for i in $(seq "$runs"); do
+        local log=$work/$name-$i.log
+        (cd "$work" && exec "$@" "${args[@]}") > "$log" 2>&1 &
+        local pid=$!
+        until grep -q "Started .* in" "$log"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$name não subiu, veja $log" >&2
+                exit 1
+            fi
+            sleep 0.1
+        done
+        sleep 2
+        rss+=("$(awk '/^VmRSS/ { print $2 }' "/proc/$pid/status")")
+        starts+=("$(grep -o 'process running for [0-9.]*' "$log" | awk '{ print $4 }')")
+        kill "$pid"
+        wait "$pid" 2> /dev/null || true
+    done
+    printf '%-10s %14s %10s\n' "$name" "$(median "${starts[@]}")" "$(( $(median "${rss[@]}") / 1024 ))"
+}
+
+echo "== build (perfil native: jar com o código do Spring AOT)"
+(cd "$dir" && mvn -q -Pnative package -DskipTests)
+jar=$(ls "$dir"/target/*.jar | head -n 1)
+app=$(basename "$jar")
+
+echo "== AppCDS (rodada de treino)"
+rm -rf "$work"
+java -Djarmode=tools -jar "$jar" extract --destination "$work" > /dev/null
+(cd "$work" && java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=off -Xlog:cds+dynamic=off \
+    -Dspring.context.exit=onRefresh -jar "$app" "${args[@]}" > training.log 2>&1)
+
+echo "== $module, mediana de $runs rodadas"
+printf '%-10s %14s %10s\n' "variante" "inicialização" "RSS (MB)"
+measure jvm java -jar "$app"
+measure cds java -XX:SharedArchiveFile=app.jsa -Xlog:cds=off -jar "$app"
+measure cds+aot java -XX:SharedArchiveFile=app.jsa -Xlog:cds=off -Dspring.aot.enabled=true -jar "$app"
+if [ -x "$dir/target/$binary" ]; then
+    measure native "$dir/target/$binary"
+else
+    echo "native     (sem target/$binary: compile com mvn -Pnative native:compile numa GraalVM)"
+fi
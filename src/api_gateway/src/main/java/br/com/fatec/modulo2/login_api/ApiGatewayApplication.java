@@ -1,23 +1,41 @@
 package br.com.fatec.modulo2.login_api;
 
+import br.com.fatec.modulo2.login_api.cache.StaticPayload;
+import br.com.fatec.modulo2.login_api.config.NativeRuntimeHints;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 @RestController
 public class ApiGatewayApplication {
 
+    // Documento fixo: serializado uma vez na inicialização, servido com ETag
+    private final StaticPayload info;
+
+    public ApiGatewayApplication(ObjectMapper objectMapper) {
+        this.info = StaticPayload.json(objectMapper, infoDocument());
+    }
+
     public static void main(String[] args) {
         SpringApplication.run(ApiGatewayApplication.class, args);
     }
 
     @GetMapping("/")
-    public Map<String, Object> info() {
+    public Mono<Void> info(ServerWebExchange exchange) {
+        return info.write(exchange);
+    }
+
+    static Map<String, Object> infoDocument() {
         return Map.of(
                 "service", "API Gateway",
                 "version", "1.0.0",
@@ -0,0 +1,108 @@
+package br.com.fatec.modulo2.login_api.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Resposta pronta para ser servida várias vezes
+ *
+ * O corpo fica em um {@link ByteBuffer} direto e somente leitura, serializado
+ * uma única vez; cada resposta usa um {@code duplicate()}, que o Netty envia
+ * ao socket sem copiar.
+ *
+ * @param variant        Valores, na requisição que gerou a resposta, dos headers
+ *                       listados no Vary dela ({@link #variantOf})
+ * @param storedAtNanos  Instante do armazenamento (System.nanoTime)
+ * @param expiresAtNanos Após este instante a entrada não é mais servida
+ */
+public record CachedResponse(
+        HttpStatusCode status,
+        HttpHeaders headers,
+        ByteBuffer body,
+        String etag,
+        String variant,
+        long storedAtNanos,
+        long expiresAtNanos
+) {
+
+    public CachedResponse {
+        headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        body = body.asReadOnlyBuffer();
+    }
+
+    /**
+     * Copia o corpo para um buffer direto
+     */
+    public static ByteBuffer directBuffer(byte[] bytes) {
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+    }
+
+    /**
+     * ETag forte derivado do conteúdo (SHA-256 truncado)
+     */
+    public static String etagOf(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Cópia do corpo para uma resposta (compartilha a memória, sem cópia)
+     */
+    public ByteBuffer bodyView() {
+        return body.duplicate();
+    }
+
+    public int size() {
+        return body.capacity();
+    }
+
+    /**
+     * Valores dos headers da requisição nomeados no Vary, um por linha
+     */
+    public static String variantOf(List<String> vary, HttpHeaders requestHeaders) {
+        StringBuilder variant = new StringBuilder();
+        for (String name : vary) {
+            variant.append(String.join(",", requestHeaders.getOrEmpty(name))).append('\n');
+        }
+        return variant.toString();
+    }
+
+    /**
+     * Se a requisição pede a mesma variante (headers do Vary com os mesmos valores)
+     */
+    public boolean fits(ServerHttpRequest request) {
+        return variant.equals(variantOf(headers.getVary(), request.getHeaders()));
+    }
+
+    /**
+     * Se o cliente já tem esta versão (If-None-Match)
+     */
+    public boolean matches(ServerHttpRequest request) {
+        return matches(etag, request);
+    }
+
+    static boolean matches(String etag, ServerHttpRequest request) {
+        List<String> candidates = request.getHeaders().getIfNoneMatch();
+        for (String candidate : candidates) {
+            if (candidate.equals("*") || stripWeak(candidate).equals(stripWeak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
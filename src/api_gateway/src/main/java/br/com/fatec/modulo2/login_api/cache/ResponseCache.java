@@ -0,0 +1,181 @@
+package br.com.fatec.modulo2.login_api.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache de respostas do gateway, limitado em entradas e em bytes
+ *
+ * Leituras não usam lock. Quando um dos limites é atingido, uma única thread
+ * faz a limpeza: remove primeiro as entradas expiradas e, se ainda necessário,
+ * entradas arbitrárias até liberar uma fração do cache; enquanto ela limpa,
+ * as respostas que encontram o cache cheio não são armazenadas. Os corpos ficam fora
+ * do heap (buffers diretos), então o limite em bytes não pressiona o GC.
+ */
+@Component
+public class ResponseCache implements MeterBinder {
+
+    /**
+     * Fração do cache liberada quando o limite é atingido sem entradas expiradas
+     */
+    private static final double EVICTION_FRACTION = 0.1;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public ResponseCache(
+            @Value("${gateway.cache.enabled:true}") boolean enabled,
+            @Value("${gateway.cache.max-entries:1000}") int maxEntries,
+            @Value("${gateway.cache.max-bytes:16777216}") long maxBytes,
+            @Value("${gateway.cache.max-entry-bytes:262144}") int maxEntryBytes
+    ) {
+        this(enabled, maxEntries, maxBytes, maxEntryBytes, System::nanoTime);
+    }
+
+    ResponseCache(boolean enabled, int maxEntries, long maxBytes, int maxEntryBytes, LongSupplier nanoClock) {
+        this.enabled = enabled && maxEntries > 0 && maxBytes > 0;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = (int) Math.min(maxEntryBytes, maxBytes);
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Maior corpo aceito em uma entrada
+     */
+    public int maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public long nanoTime() {
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * Resposta armazenada, ou null se ausente ou expirada
+     */
+    public CachedResponse get(String key) {
+        CachedResponse entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.expiresAtNanos() >= 0) {
+            remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * Armazena uma resposta; corpos maiores que max-entry-bytes são ignorados
+     */
+    public void put(String key, CachedResponse response) {
+        if (!enabled || response.size() > maxEntryBytes) {
+            return;
+        }
+        if ((entries.size() >= maxEntries || bytes.get() + response.size() > maxBytes) && !evict(response.size())) {
+            // Outra thread está limpando: a resposta segue para o cliente, só não entra no cache
+            return;
+        }
+        CachedResponse previous = entries.put(key, response);
+        bytes.addAndGet(response.size() - (previous == null ? 0 : previous.size()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long bytes() {
+        return bytes.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gateway.cache.requests", hits, LongAdder::sum)
+                .description("Buscas no cache de respostas do gateway")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("gateway.cache.requests", misses, LongAdder::sum)
+                .description("Buscas no cache de respostas do gateway")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("gateway.cache.evictions", evictions, LongAdder::sum)
+                .description("Entradas removidas do cache de respostas (expiração ou limite)")
+                .register(registry);
+        Gauge.builder("gateway.cache.size", this, ResponseCache::size)
+                .description("Entradas no cache de respostas")
+                .register(registry);
+        Gauge.builder("gateway.cache.bytes", this, ResponseCache::bytes)
+                .description("Bytes de corpo armazenados no cache de respostas")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void remove(String key, CachedResponse entry) {
+        if (entries.remove(key, entry)) {
+            bytes.addAndGet(-entry.size());
+            evictions.increment();
+        }
+    }
+
+    /**
+     * @return false se outra thread já está limpando (nada foi removido aqui)
+     */
+    private boolean evict(int incoming) {
+        // Apenas uma thread limpa por vez; as demais seguem sem esperar
+        if (!evictionLock.tryLock()) {
+            return false;
+        }
+        try {
+            long now = nanoClock.getAsLong();
+            entries.forEach((key, entry) -> {
+                if (now - entry.expiresAtNanos() >= 0) {
+                    remove(key, entry);
+                }
+            });
+
+            int targetEntries = maxEntries - Math.max(1, (int) (maxEntries * EVICTION_FRACTION));
+            long targetBytes = maxBytes - Math.max(incoming, (long) (maxBytes * EVICTION_FRACTION));
+            Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+            while ((entries.size() > targetEntries || bytes.get() > targetBytes) && iterator.hasNext()) {
+                Map.Entry<String, CachedResponse> entry = iterator.next();
+                remove(entry.getKey(), entry.getValue());
+            }
+            return true;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package br.com.fatec.modulo2.login_api.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serve respostas GET das rotas do gateway a partir do {@link ResponseCache}
+ *
+ * Uma resposta é armazenada quando:
+ * - a rota está em gateway.cache.routes ("padrão=TTL"), que vale mesmo se o
+ *   serviço responder com no-store (padrão do Spring Security); ou
+ * - o serviço opta pelo cache com Cache-Control public/max-age (ou s-maxage),
+ *   sem private, no-cache ou no-store (gateway.cache.honor-cache-control).
+ *
+ * Só entram respostas 200 de até gateway.cache.max-entry-bytes, sem
+ * Set-Cookie nem "Vary: *", para requisições sem Authorization. A entrada
+ * guarda o Vary e os valores desses headers na requisição que a gerou; uma
+ * requisição com outros valores não recebe a entrada e a resposta dela toma
+ * o lugar (uma variante por URL). Na primeira resposta o
+ * corpo segue para o cliente enquanto é copiado, sem atraso. As respostas
+ * servidas do cache levam ETag (o do serviço ou um calculado do corpo), e um
+ * If-None-Match igual recebe 304 sem corpo.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCache cache;
+    private final List<RoutePolicy> routes;
+    private final boolean honorCacheControl;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ResponseCacheFilter(
+            ResponseCache cache,
+            @Value("${gateway.cache.routes:}") List<String> routes,
+            @Value("${gateway.cache.honor-cache-control:true}") boolean honorCacheControl
+    ) {
+        this.cache = cache;
+        this.routes = parse(routes);
+        this.honorCacheControl = honorCacheControl;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!cache.isEnabled()
+                || request.getMethod() != HttpMethod.GET
+                || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return chain.filter(exchange);
+        }
+
+        Duration routeTtl = routeTtl(request.getPath().value());
+        if (routeTtl == null && !honorCacheControl) {
+            return chain.filter(exchange);
+        }
+
+        String key = key(request);
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.fits(request)) {
+            return serve(exchange, cached);
+        }
+
+        ServerHttpResponse capturing = new CapturingResponse(exchange.getResponse(), request.getHeaders(), key,
+                routeTtl);
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    @Override
+    public int getOrder() {
+        // Depois da verificação de JWT na borda, antes do roteamento
+        return Ordered.HIGHEST_PRECEDENCE + 20;
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.setETag(cached.etag());
+        long ageSeconds = TimeUnit.NANOSECONDS.toSeconds(cache.nanoTime() - cached.storedAtNanos());
+        headers.set(HttpHeaders.AGE, Long.toString(ageSeconds));
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+
+        if (cached.matches(exchange.getRequest())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.size());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.bodyView())));
+    }
+
+    private Duration routeTtl(String path) {
+        for (RoutePolicy route : routes) {
+            if (pathMatcher.match(route.pattern(), path)) {
+                return route.ttl();
+            }
+        }
+        return null;
+    }
+
+    private static String key(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getURI().getRawPath();
+        return query == null ? path : path + "?" + query;
+    }
+
+    /**
+     * TTL pelo Cache-Control do serviço, ou null se ele não permite cache compartilhado
+     */
+    static Duration cacheControlTtl(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return null;
+        }
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            directive = directive.trim();
+            if (directive.equals("private") || directive.equals("no-store") || directive.equals("no-cache")) {
+                return null;
+            }
+            if (directive.startsWith("max-age=")) {
+                maxAge = parseSeconds(directive.substring("max-age=".length()));
+            } else if (directive.startsWith("s-maxage=")) {
+                sharedMaxAge = parseSeconds(directive.substring("s-maxage=".length()));
+            }
+        }
+        long seconds = sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+        return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+    }
+
+    private static long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * "padrão=TTL", ex.: /api/health=PT1S
+     */
+    private static List<RoutePolicy> parse(List<String> routes) {
+        List<RoutePolicy> policies = new ArrayList<>();
+        for (String route : routes) {
+            if (route.isBlank()) {
+                continue;
+            }
+            int separator = route.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("gateway.cache.routes: esperado padrão=TTL, recebido " + route);
+            }
+            policies.add(new RoutePolicy(route.substring(0, separator).trim(),
+                    Duration.parse(route.substring(separator + 1).trim())));
+        }
+        return List.copyOf(policies);
+    }
+
+    private record RoutePolicy(String pattern, Duration ttl) {
+    }
+
+    /**
+     * Cópia do corpo até um limite; acima dele a resposta não é armazenada
+     */
+    private static final class BodyCopy {
+
+        private final int limit;
+        private byte[] bytes = new byte[1024];
+        private int size;
+        private boolean overflow;
+
+        BodyCopy(int limit) {
+            this.limit = limit;
+        }
+
+        void append(DataBuffer buffer) {
+            int length = buffer.readableByteCount();
+            if (overflow || length == 0) {
+                return;
+            }
+            if (size + length > limit) {
+                overflow = true;
+                bytes = null;
+                return;
+            }
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.min(limit, Math.max(size + length, bytes.length * 2)));
+            }
+            // Lê sem mover a posição de leitura: o mesmo buffer segue para o cliente
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), size, length);
+            size += length;
+        }
+
+        byte[] toByteArray() {
+            return overflow ? null : Arrays.copyOf(bytes, size);
+        }
+    }
+
+    /**
+     * Repassa a resposta do serviço e, se ela puder ser armazenada, guarda uma cópia
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders requestHeaders;
+        private final String key;
+        private final Duration routeTtl;
+
+        CapturingResponse(ServerHttpResponse delegate, HttpHeaders requestHeaders, String key, Duration routeTtl) {
+            super(delegate);
+            this.requestHeaders = requestHeaders;
+            this.key = key;
+            this.routeTtl = routeTtl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            Duration ttl = ttl(status, getHeaders());
+            if (ttl == null || getHeaders().getContentLength() > cache.maxEntryBytes()) {
+                return super.writeWith(body);
+            }
+
+            // Os headers são gravados antes do primeiro byte do corpo
+            HttpHeaders stored = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (isStorable(name)) {
+                    stored.put(name, values);
+                }
+            });
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+            // O corpo segue para o cliente sem esperar; uma cópia limitada é guardada no fim
+            BodyCopy copy = new BodyCopy(cache.maxEntryBytes());
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(copy::append)
+                    .doOnComplete(() -> store(status, stored, copy, ttl)));
+        }
+
+        private void store(HttpStatusCode status, HttpHeaders headers, BodyCopy copy, Duration ttl) {
+            byte[] bytes = copy.toByteArray();
+            if (bytes == null) {
+                return;
+            }
+            String etag = headers.getETag() != null ? headers.getETag() : CachedResponse.etagOf(bytes);
+            String variant = CachedResponse.variantOf(headers.getVary(), requestHeaders);
+            long now = cache.nanoTime();
+            cache.put(key, new CachedResponse(status, headers, CachedResponse.directBuffer(bytes), etag,
+                    variant, now, now + ttl.toNanos()));
+        }
+
+        private Duration ttl(HttpStatusCode status, HttpHeaders headers) {
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || headers.getVary().contains("*")) {
+                return null;
+            }
+            if (routeTtl != null) {
+                return routeTtl;
+            }
+            return honorCacheControl ? cacheControlTtl(headers) : null;
+        }
+
+        // Headers da conexão e de CORS são recalculados a cada requisição
+        private static boolean isStorable(String name) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            return !lower.startsWith("access-control-")
+                    && !lower.equals("content-length")
+                    && !lower.equals("transfer-encoding")
+                    && !lower.equals("connection")
+                    && !lower.equals(CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT));
+        }
+    }
+}
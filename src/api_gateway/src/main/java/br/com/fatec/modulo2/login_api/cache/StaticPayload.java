@@ -0,0 +1,55 @@
+package br.com.fatec.modulo2.login_api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Resposta JSON fixa, serializada uma única vez
+ *
+ * O corpo fica em um buffer direto e cada resposta o envia sem copiar. O ETag
+ * é calculado junto; com Cache-Control no-cache o cliente revalida sempre, e
+ * um If-None-Match igual recebe 304 sem corpo.
+ */
+public final class StaticPayload {
+
+    private final ByteBuffer body;
+    private final String etag;
+
+    private StaticPayload(byte[] bytes) {
+        this.body = CachedResponse.directBuffer(bytes).asReadOnlyBuffer();
+        this.etag = CachedResponse.etagOf(bytes);
+    }
+
+    public static StaticPayload json(ObjectMapper objectMapper, Object value) {
+        try {
+            return new StaticPayload(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload não serializável", e);
+        }
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public Mono<Void> write(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setCacheControl(CacheControl.noCache());
+        if (exchange.checkNotModified(etag)) {
+            return response.setComplete();
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.capacity());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.duplicate())));
+    }
+}
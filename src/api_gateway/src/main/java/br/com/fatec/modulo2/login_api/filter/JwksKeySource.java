@@ -0,0 +1,147 @@
+package br.com.fatec.modulo2.login_api.filter;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache local das chaves públicas publicadas pelo login-service (JWKS)
+ *
+ * O documento é buscado de forma não bloqueante (WebClient) ao iniciar e a
+ * cada gateway.jwt.jwks-refresh-interval. As chaves ficam em um mapa imutável
+ * "kid" -> chave, trocado de uma vez a cada atualização: a busca no caminho de
+ * verificação é O(1), sem lock e sem alocação.
+ *
+ * Um "kid" desconhecido (rotação mais recente que o cache) dispara uma
+ * atualização antecipada, limitada a uma a cada jwks-min-refresh-interval
+ * para que tokens forjados não virem uma enxurrada de requisições ao serviço.
+ */
+@Component
+public class JwksKeySource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeySource.class);
+
+    private final WebClient client;
+    private final long minRefreshIntervalNanos;
+    private final AtomicLong lastRefresh = new AtomicLong();
+    private final Disposable schedule;
+
+    private volatile Map<String, Key> keys = Map.of();
+
+    @Autowired
+    public JwksKeySource(
+            @Value("${gateway.jwt.jwks-uri:}") String jwksUri,
+            @Value("${gateway.jwt.jwks-refresh-interval:PT5M}") Duration refreshInterval,
+            @Value("${gateway.jwt.jwks-min-refresh-interval:PT10S}") Duration minRefreshInterval,
+            WebClient.Builder webClientBuilder
+    ) {
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+
+        if (jwksUri == null || jwksUri.isBlank()) {
+            this.client = null;
+            this.schedule = null;
+            return;
+        }
+
+        this.client = webClientBuilder.baseUrl(jwksUri).build();
+        this.lastRefresh.set(System.nanoTime());
+        this.schedule = Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> fetch())
+                .subscribe();
+    }
+
+    private JwksKeySource() {
+        this.client = null;
+        this.schedule = null;
+        this.minRefreshIntervalNanos = 0;
+    }
+
+    /**
+     * Fonte sem JWKS configurado (apenas HMAC)
+     */
+    public static JwksKeySource disabled() {
+        return new JwksKeySource();
+    }
+
+    /**
+     * Se há JWKS configurado ou chaves já carregadas
+     */
+    public boolean isEnabled() {
+        return client != null || !keys.isEmpty();
+    }
+
+    /**
+     * Chave pública do "kid", ou null se ainda não conhecida
+     */
+    public Key find(String kid) {
+        return keys.get(kid);
+    }
+
+    /**
+     * Pede uma atualização fora do ciclo (ex.: "kid" desconhecido)
+     */
+    public void requestRefresh() {
+        if (client == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastRefresh.get();
+        if (now - last >= minRefreshIntervalNanos && lastRefresh.compareAndSet(last, now)) {
+            fetch().subscribe();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    private Mono<Void> fetch() {
+        return client.get()
+                .retrieve()
+                .bodyToMono(String.class)
+                .doOnNext(this::update)
+                .onErrorResume(e -> {
+                    // Mantém as chaves atuais; a próxima atualização tenta de novo
+                    log.warn("Falha ao atualizar JWKS: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Substitui as chaves conhecidas pelas do documento JWKS
+     */
+    void update(String json) {
+        JwkSet set = Jwks.setParser().build().parse(json);
+        Map<String, Key> next = new HashMap<>();
+        for (Jwk<?> jwk : set.getKeys()) {
+            if (jwk instanceof PublicJwk<?> publicJwk && publicJwk.getId() != null) {
+                next.put(publicJwk.getId(), publicJwk.toKey());
+            }
+        }
+        if (!next.keySet().equals(keys.keySet())) {
+            log.info("JWKS atualizado: {} chaves", next.size());
+        }
+        keys = Map.copyOf(next);
+    }
+}
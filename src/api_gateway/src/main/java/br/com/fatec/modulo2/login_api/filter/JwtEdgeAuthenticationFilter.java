@@ -0,0 +1,194 @@
+package br.com.fatec.modulo2.login_api.filter;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.List;
+
+/**
+ * Verifica tokens JWT na borda, antes de encaminhar ao login-service
+ *
+ * Em rotas protegidas, um token inválido ou expirado é recusado aqui com
+ * 401, sem o salto de rede até o serviço. Um token válido segue com o
+ * subject verificado no header confiável (gateway.jwt.subject-header); o
+ * mesmo header vindo do cliente é sempre removido.
+ *
+ * Tokens com "kid" (ES256/EdDSA) são verificados com as chaves públicas do
+ * JWKS do login-service ({@link JwksKeySource}); tokens sem "kid" com o
+ * segredo HMAC (gateway.jwt.secret). O parser é construído uma única vez; a
+ * verificação é CPU pura e roda no event loop do Netty sem bloquear.
+ *
+ * Requisições sem token, ou cuja chave ainda não é conhecida aqui (rotação
+ * recente, segredo não configurado), seguem inalteradas: o login-service
+ * continua sendo a autoridade. Sem segredo e sem JWKS a verificação na borda
+ * fica desativada.
+ */
+@Component
+public class JwtEdgeAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtEdgeAuthenticationFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final byte[] UNAUTHORIZED_BODY =
+            "{\"error\":\"Token inválido ou expirado\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final JwtParser parser;
+    private final SecretKey hmacKey;
+    private final JwksKeySource jwks;
+    private final List<String> protectedPaths;
+    private final String subjectHeader;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public JwtEdgeAuthenticationFilter(
+            @Value("${gateway.jwt.secret:}") String secret,
+            @Value("${gateway.jwt.protected-paths:/api/user/**}") List<String> protectedPaths,
+            @Value("${gateway.jwt.subject-header:X-Authenticated-User}") String subjectHeader,
+            JwksKeySource jwks
+    ) {
+        this.protectedPaths = protectedPaths;
+        this.subjectHeader = subjectHeader;
+        this.jwks = jwks;
+        this.hmacKey = secret == null || secret.isBlank()
+                ? null
+                : Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+
+        if (hmacKey == null && !jwks.isEnabled()) {
+            log.warn("gateway.jwt.secret e gateway.jwt.jwks-uri não configurados: "
+                    + "tokens serão verificados apenas no login-service");
+        }
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Apenas HMAC, sem JWKS
+     */
+    public JwtEdgeAuthenticationFilter(String secret, List<String> protectedPaths, String subjectHeader) {
+        this(secret, protectedPaths, subjectHeader, JwksKeySource.disabled());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        // O header confiável só pode ser definido pelo gateway
+        if (request.getHeaders().containsKey(subjectHeader)) {
+            request = request.mutate().headers(headers -> headers.remove(subjectHeader)).build();
+            exchange = exchange.mutate().request(request).build();
+        }
+
+        if ((hmacKey == null && !jwks.isEnabled()) || !isProtected(request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        String subject;
+        try {
+            subject = verify(authHeader.substring(BEARER_PREFIX.length()));
+        } catch (UnknownKeyException e) {
+            // Não dá para decidir aqui: o login-service verifica
+            return chain.filter(exchange);
+        }
+        if (subject == null) {
+            return unauthorized(exchange.getResponse());
+        }
+
+        ServerHttpRequest authenticated = request.mutate()
+                .header(subjectHeader, subject)
+                .build();
+        return chain.filter(exchange.mutate().request(authenticated).build());
+    }
+
+    @Override
+    public int getOrder() {
+        // Antes dos demais filtros globais (roteamento, load balancer)
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    private boolean isProtected(String path) {
+        for (String pattern : protectedPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String verify(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload().getSubject();
+        } catch (UnknownKeyException e) {
+            throw e;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Key verificationKey(String kid) {
+        if (kid == null) {
+            if (hmacKey == null) {
+                throw new UnknownKeyException("Token HMAC sem segredo configurado no gateway");
+            }
+            return hmacKey;
+        }
+        Key key = jwks.find(kid);
+        if (key == null) {
+            jwks.requestRefresh();
+            throw new UnknownKeyException("kid desconhecido: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * A chave do token não está disponível no gateway
+     */
+    private static final class UnknownKeyException extends JwtException {
+
+        UnknownKeyException(String message) {
+            super(message);
+        }
+    }
+
+    private static Mono<Void> unauthorized(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        DataBuffer body = response.bufferFactory().wrap(UNAUTHORIZED_BODY);
+        return response.writeWith(Mono.just(body));
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.fatec.modulo2.login_api.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instâncias do login-service a partir da configuração, sem service registry
+ *
+ * - gateway.loadbalancer.instances: URIs fixas (LOGIN_SERVER_URIS, separadas por vírgula)
+ * - gateway.loadbalancer.instances-file: arquivo com uma URI por linha
+ *   (linhas vazias e "#" ignoradas), relido a cada consulta; permite
+ *   adicionar ou remover instâncias sem reiniciar o gateway
+ * - gateway.loadbalancer.resolve-all-addresses: cada host vira uma instância
+ *   por endereço IP. É o caso do docker compose com várias réplicas de um
+ *   mesmo serviço, em que o nome resolve para todos os containers
+ *
+ * Cada chamada a {@link #get()} emite a lista atual e completa; o health
+ * check do Spring Cloud LoadBalancer consulta de novo a cada
+ * refetch-instances-interval. A leitura do arquivo e o DNS são bloqueantes e
+ * rodam fora do event loop.
+ */
+public class ConfiguredInstanceListSupplier implements ServiceInstanceListSupplier {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfiguredInstanceListSupplier.class);
+
+    private final String serviceId;
+    private final List<String> uris;
+    private final Path file;
+    private final boolean resolveAllAddresses;
+
+    private volatile List<ServiceInstance> last = List.of();
+
+    public ConfiguredInstanceListSupplier(String serviceId, List<String> uris, Path file, boolean resolveAllAddresses) {
+        this.serviceId = serviceId;
+        for (String uri : uris) {
+            if (URI.create(uri.trim()).getHost() == null) {
+                throw new IllegalArgumentException("URI de instância inválida: " + uri);
+            }
+        }
+        this.uris = List.copyOf(uris);
+        this.file = file;
+        this.resolveAllAddresses = resolveAllAddresses;
+    }
+
+    @Override
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return Mono.fromCallable(this::instances)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flux();
+    }
+
+    /**
+     * Lista atual; em caso de falha ao ler o arquivo mantém a última conhecida
+     */
+    List<ServiceInstance> instances() {
+        List<String> configured = new ArrayList<>(uris);
+        if (file != null) {
+            try {
+                configured.addAll(readFile(file));
+            } catch (IOException e) {
+                log.warn("Falha ao ler {}: {}; mantendo as instâncias atuais", file, e.getMessage());
+                return last;
+            }
+        }
+
+        // Mesma instância configurada duas vezes conta uma vez só
+        Map<String, ServiceInstance> instances = new LinkedHashMap<>();
+        for (String value : configured) {
+            URI uri = URI.create(value.trim());
+            if (uri.getHost() == null) {
+                log.warn("URI de instância inválida em {}: {}", file, value);
+                continue;
+            }
+            for (String host : hosts(uri.getHost())) {
+                ServiceInstance instance = instance(uri, host);
+                instances.putIfAbsent(instance.getInstanceId(), instance);
+            }
+        }
+
+        List<ServiceInstance> current = List.copyOf(instances.values());
+        if (!ids(current).equals(ids(last))) {
+            log.info("Instâncias de {}: {}", serviceId, ids(current));
+        }
+        last = current;
+        return current;
+    }
+
+    static List<String> readFile(Path file) throws IOException {
+        List<String> uris = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                uris.add(trimmed);
+            }
+        }
+        return uris;
+    }
+
+    private List<String> hosts(String host) {
+        if (!resolveAllAddresses) {
+            return List.of(host);
+        }
+        try {
+            List<String> addresses = new ArrayList<>();
+            for (InetAddress address : InetAddress.getAllByName(host)) {
+                addresses.add(address instanceof Inet6Address
+                        ? "[" + address.getHostAddress() + "]"
+                        : address.getHostAddress());
+            }
+            return addresses;
+        } catch (UnknownHostException e) {
+            // Sem resolução agora (container subindo): o health check tenta de novo
+            log.warn("Não foi possível resolver {}: {}", host, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private ServiceInstance instance(URI uri, String host) {
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : secure ? 443 : 80;
+        return new DefaultServiceInstance(host + ":" + port, serviceId, host, port, secure);
+    }
+
+    private static List<String> ids(List<ServiceInstance> instances) {
+        return instances.stream().map(ServiceInstance::getInstanceId).toList();
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.fatec.modulo2.login_api.loadbalancer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Requisições em andamento e falhas consecutivas por instância do login-service
+ *
+ * Alimenta o {@link LeastOutstandingLoadBalancer}: a escolha compara o número
+ * de requisições em andamento, e uma instância com
+ * gateway.loadbalancer.ejection.consecutive-failures falhas seguidas (erro de
+ * conexão, timeout, 5xx exceto 503) fica fora do balanceamento por
+ * gateway.loadbalancer.ejection.duration. O health check periódico remove
+ * instâncias fora do ar; a ejeção reage entre uma verificação e outra.
+ *
+ * 503 não conta como falha: é o login-service sinalizando fila de hashing
+ * cheia, e tirar a instância só concentraria a carga nas demais.
+ */
+@Component
+public class InstanceLoadTracker implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(InstanceLoadTracker.class);
+
+    private final int failuresToEject;
+    private final long ejectionNanos;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, Stats> instances = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    @Autowired
+    public InstanceLoadTracker(
+            @Value("${gateway.loadbalancer.ejection.consecutive-failures:3}") int failuresToEject,
+            @Value("${gateway.loadbalancer.ejection.duration:PT10S}") Duration ejection
+    ) {
+        this(failuresToEject, ejection, System::nanoTime);
+    }
+
+    InstanceLoadTracker(int failuresToEject, Duration ejection, LongSupplier nanoClock) {
+        this.failuresToEject = failuresToEject;
+        this.ejectionNanos = ejection.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Início de uma requisição encaminhada à instância
+     */
+    public void start(String instanceId) {
+        stats(instanceId).outstanding.incrementAndGet();
+    }
+
+    /**
+     * Fim (sucesso ou erro) de uma requisição iniciada com {@link #start}
+     */
+    public void finish(String instanceId, boolean failed) {
+        Stats stats = stats(instanceId);
+        stats.outstanding.decrementAndGet();
+
+        if (!failed) {
+            stats.consecutiveFailures.set(0);
+            return;
+        }
+        if (failuresToEject > 0 && stats.consecutiveFailures.incrementAndGet() == failuresToEject) {
+            stats.ejectedUntil = nanoClock.getAsLong() + ejectionNanos;
+            stats.ejections.increment();
+            log.warn("Instância {} fora do balanceamento por {} ms após {} falhas seguidas",
+                    instanceId, ejectionNanos / 1_000_000, failuresToEject);
+        }
+    }
+
+    /**
+     * Requisição iniciada com {@link #start} e cancelada de fora (cliente
+     * desconectou, timeout): só deixa de contar, sem mexer na sequência de falhas
+     */
+    public void cancel(String instanceId) {
+        stats(instanceId).outstanding.decrementAndGet();
+    }
+
+    public int outstanding(String instanceId) {
+        Stats stats = instances.get(instanceId);
+        return stats == null ? 0 : Math.max(0, stats.outstanding.get());
+    }
+
+    /**
+     * Se a instância está temporariamente fora do balanceamento. Ao fim do
+     * prazo ela volta com uma chance: a próxima falha a ejeta de novo.
+     */
+    public boolean isEjected(String instanceId) {
+        Stats stats = instances.get(instanceId);
+        if (stats == null || stats.ejectedUntil == 0) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - stats.ejectedUntil < 0) {
+            return true;
+        }
+        stats.ejectedUntil = 0;
+        stats.consecutiveFailures.set(failuresToEject - 1);
+        return false;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        instances.forEach((id, stats) -> register(registry, id, stats));
+    }
+
+    private Stats stats(String instanceId) {
+        Stats stats = instances.get(instanceId);
+        if (stats != null) {
+            return stats;
+        }
+        Stats created = new Stats();
+        stats = instances.putIfAbsent(instanceId, created);
+        if (stats != null) {
+            return stats;
+        }
+        MeterRegistry current = registry;
+        if (current != null) {
+            register(current, instanceId, created);
+        }
+        return created;
+    }
+
+    private static void register(MeterRegistry registry, String instanceId, Stats stats) {
+        Gauge.builder("gateway.loadbalancer.outstanding", stats.outstanding, AtomicInteger::get)
+                .description("Requisições em andamento por instância do login-service")
+                .tag("instance", instanceId)
+                .register(registry);
+        FunctionCounter.builder("gateway.loadbalancer.ejections", stats.ejections, LongAdder::sum)
+                .description("Vezes em que a instância saiu do balanceamento por falhas seguidas")
+                .tag("instance", instanceId)
+                .register(registry);
+    }
+
+    private static final class Stats {
+
+        final AtomicInteger outstanding = new AtomicInteger();
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        final LongAdder ejections = new LongAdder();
+        volatile long ejectedUntil;
+    }
+}
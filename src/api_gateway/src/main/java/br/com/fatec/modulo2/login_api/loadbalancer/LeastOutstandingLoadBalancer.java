@@ -0,0 +1,89 @@
+package br.com.fatec.modulo2.login_api.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Escolha da instância por "power of two choices" sobre requisições em andamento
+ *
+ * Sorteia duas instâncias saudáveis e fica com a que tem menos requisições
+ * em andamento ({@link InstanceLoadTracker}). Com o login limitado por CPU
+ * (BCrypt), isso evita empilhar requisições em uma réplica mais lenta sem o
+ * custo nem o efeito manada de sempre escolher a menos ocupada de todas.
+ *
+ * Instâncias ejetadas por falhas seguidas ficam de fora; se todas estiverem
+ * ejetadas, a escolha volta a considerar todas (melhor tentar do que
+ * recusar tudo).
+ */
+public class LeastOutstandingLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final InstanceLoadTracker tracker;
+
+    public LeastOutstandingLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers, InstanceLoadTracker tracker) {
+        this.suppliers = suppliers;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        List<ServiceInstance> candidates = available(instances);
+        int n = candidates.size();
+        if (n == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(n);
+        int j = random.nextInt(n - 1);
+        if (j >= i) {
+            j++;
+        }
+        ServiceInstance first = candidates.get(i);
+        ServiceInstance second = candidates.get(j);
+        return new DefaultResponse(
+                tracker.outstanding(second.getInstanceId()) < tracker.outstanding(first.getInstanceId())
+                        ? second
+                        : first
+        );
+    }
+
+    private List<ServiceInstance> available(List<ServiceInstance> instances) {
+        List<ServiceInstance> available = null;
+        for (int k = 0; k < instances.size(); k++) {
+            ServiceInstance instance = instances.get(k);
+            if (tracker.isEjected(instance.getInstanceId())) {
+                if (available == null) {
+                    // Só copia a lista se houver alguma instância ejetada
+                    available = new ArrayList<>(instances.subList(0, k));
+                }
+            } else if (available != null) {
+                available.add(instance);
+            }
+        }
+        if (available == null) {
+            return instances;
+        }
+        return available.isEmpty() ? instances : available;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.fatec.modulo2.login_api.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rotas com uri lb://login-service usam {@link LoginServiceLoadBalancerConfiguration}
+ */
+@Configuration
+@LoadBalancerClient(name = "login-service", configuration = LoginServiceLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,60 @@
+package br.com.fatec.modulo2.login_api.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Beans do cliente "login-service" do Spring Cloud LoadBalancer
+ *
+ * Registrada por {@link LoadBalancerConfig} em um contexto filho próprio do
+ * cliente; por isso não é um @Configuration (não deve ser encontrada pelo
+ * component scan do contexto principal).
+ *
+ * Instâncias da configuração ({@link ConfiguredInstanceListSupplier}),
+ * filtradas pelo health check em spring.cloud.loadbalancer.health-check, e
+ * escolha por {@link LeastOutstandingLoadBalancer}.
+ */
+public class LoginServiceLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier loginServiceInstances(
+            Environment environment,
+            ConfigurableApplicationContext context,
+            @Value("${gateway.loadbalancer.instances:http://login-service:8081}") String instances,
+            @Value("${gateway.loadbalancer.instances-file:}") String instancesFile,
+            @Value("${gateway.loadbalancer.resolve-all-addresses:false}") boolean resolveAllAddresses
+    ) {
+        ServiceInstanceListSupplier configured = new ConfiguredInstanceListSupplier(
+                LoadBalancerClientFactory.getName(environment),
+                // O contexto do cliente não tem o conversor de listas do Spring Boot
+                Arrays.stream(StringUtils.commaDelimitedListToStringArray(instances))
+                        .map(String::trim)
+                        .filter(uri -> !uri.isEmpty())
+                        .toList(),
+                instancesFile.isBlank() ? null : Path.of(instancesFile),
+                resolveAllAddresses
+        );
+        return ServiceInstanceListSupplier.builder()
+                .withBase(configured)
+                .withHealthChecks()
+                .build(context);
+    }
+
+    @Bean
+    public ReactorServiceInstanceLoadBalancer leastOutstandingLoadBalancer(
+            ObjectProvider<ServiceInstanceListSupplier> suppliers,
+            InstanceLoadTracker tracker
+    ) {
+        return new LeastOutstandingLoadBalancer(suppliers, tracker);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.fatec.modulo2.login_api.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+/**
+ * Conta as requisições em andamento da instância escolhida pelo load balancer
+ *
+ * Roda logo depois do ReactiveLoadBalancerClientFilter, que deixa a instância
+ * escolhida no exchange. O fim é registrado em doFinally para cobrir também
+ * cancelamentos (cliente desconectou, timeout do circuit breaker), que não
+ * passam pelos callbacks de ciclo de vida do load balancer e deixariam a
+ * contagem presa.
+ */
+@Component
+public class OutstandingRequestsFilter implements GlobalFilter, Ordered {
+
+    private final InstanceLoadTracker tracker;
+
+    public OutstandingRequestsFilter(InstanceLoadTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen == null || !chosen.hasServer()) {
+            return chain.filter(exchange);
+        }
+
+        String instanceId = chosen.getServer().getInstanceId();
+        tracker.start(instanceId);
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        // Cancelado de fora: não diz nada sobre a saúde da instância
+                        tracker.cancel(instanceId);
+                    } else {
+                        tracker.finish(instanceId, failed(signal, exchange));
+                    }
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+
+    private static boolean failed(SignalType signal, ServerWebExchange exchange) {
+        if (signal == SignalType.ON_ERROR) {
+            return true;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && status.is5xxServerError() && status.value() != 503;
+    }
+}
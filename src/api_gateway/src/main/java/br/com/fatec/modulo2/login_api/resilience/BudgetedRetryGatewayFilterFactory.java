@@ -0,0 +1,89 @@
+package br.com.fatec.modulo2.login_api.resilience;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.GatewayToStringStyler;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Filtro "BudgetedRetry": o Retry do Spring Cloud Gateway limitado pelo {@link RetryBudget}
+ *
+ * Aceita a mesma configuração do Retry (retries, statuses, methods, backoff).
+ * Cada requisição que passa pelo filtro deposita no orçamento; uma nova
+ * tentativa só acontece se, além de caber em "retries", houver saldo. Sem
+ * saldo a resposta (ou o erro) da tentativa atual segue para o cliente.
+ *
+ * Deve ser usado apenas em rotas idempotentes (GET) e depois do
+ * CircuitBreaker na lista de filtros: com o circuito aberto a requisição nem
+ * chega aqui, e as novas tentativas contam como uma única chamada no circuito.
+ */
+@Component
+public class BudgetedRetryGatewayFilterFactory extends RetryGatewayFilterFactory {
+
+    private final RetryBudget budget;
+
+    public BudgetedRetryGatewayFilterFactory(RetryBudget budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public GatewayFilter apply(RetryConfig config) {
+        GatewayFilter retry = super.apply(config);
+        return new GatewayFilter() {
+            @Override
+            public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+                budget.deposit();
+                return retry.filter(exchange, chain);
+            }
+
+            @Override
+            public String toString() {
+                return GatewayToStringStyler.filterToStringCreator(BudgetedRetryGatewayFilterFactory.this)
+                        .append("retries", config.getRetries())
+                        .append("statuses", config.getStatuses())
+                        .append("methods", config.getMethods())
+                        .toString();
+            }
+        };
+    }
+
+    /**
+     * Chamado pelo Retry ao decidir se repete a tentativa: a ficha é gasta
+     * aqui, no mesmo passo, e sem ela a decisão é encerrar como se o limite
+     * de tentativas tivesse sido atingido. Tentativas que não seriam repetidas
+     * (status fora da lista) não gastam nada.
+     */
+    @Override
+    public boolean exceedsMaxIterations(ServerWebExchange exchange, RetryConfig config) {
+        if (super.exceedsMaxIterations(exchange, config)) {
+            return true;
+        }
+        if (!wouldRetry(exchange, config)) {
+            return false;
+        }
+        return !budget.tryAcquire();
+    }
+
+    /**
+     * Se a tentativa atual seria repetida (status configurado ou erro de rede),
+     * com as mesmas regras do Retry
+     */
+    private static boolean wouldRetry(ServerWebExchange exchange, RetryConfig config) {
+        if (!config.getMethods().contains(exchange.getRequest().getMethod())) {
+            return false;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status == null) {
+            // Caminho de exceção: a resposta ainda não tem status
+            return true;
+        }
+        HttpStatus resolved = HttpStatus.resolve(status.value());
+        return resolved != null
+                && (config.getStatuses().contains(resolved) || config.getSeries().contains(resolved.series()));
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.fatec.modulo2.login_api.resilience;
+
+import io.netty.handler.codec.http.HttpVersion;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.server.HttpServerRequest;
+
+/**
+ * Copia para o heap o corpo das requisições que chegam em HTTP/2
+ *
+ * Rotas com fallbackUri no CircuitBreaker guardam o corpo da requisição no
+ * exchange (AdaptCachedBodyGlobalFilter), para o fallback poder relê-lo. Em
+ * HTTP/2 cada frame DATA é uma fatia do buffer de leitura da conexão,
+ * compartilhado pelos streams; o corpo guardado acaba liberado duas vezes e,
+ * com requisições simultâneas, corrompe a leitura dos outros streams
+ * (IllegalReferenceCountException, GOAWAY e 502 para todos na conexão).
+ *
+ * Uma cópia de cada pedaço, liberando o original na hora, separa o corpo da
+ * conexão. Os corpos das rotas são pequenos (JSON de login e registro) e o
+ * cadastro em lote continua em streaming, um pedaço por vez. Em HTTP/1.1 nada
+ * muda.
+ */
+@Component
+public class Http2RequestBodyCopyFilter implements GlobalFilter, Ordered {
+
+    /**
+     * Antes do AdaptCachedBodyGlobalFilter (HIGHEST_PRECEDENCE + 1000)
+     */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 999;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!isHttp2(request)) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest copying = new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return super.getBody().map(Http2RequestBodyCopyFilter::copy);
+            }
+        };
+        return chain.filter(exchange.mutate().request(copying).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    static boolean isHttp2(ServerHttpRequest request) {
+        Object nativeRequest;
+        try {
+            nativeRequest = ServerHttpRequestDecorator.getNativeRequest(request);
+        } catch (IllegalStateException e) {
+            // Requisição sem servidor por trás (testes, MockServerHttpRequest)
+            return false;
+        }
+        if (!(nativeRequest instanceof HttpServerRequest netty)) {
+            return false;
+        }
+        HttpVersion version = netty.version();
+        return version != null && version.majorVersion() == 2;
+    }
+
+    static DataBuffer copy(DataBuffer buffer) {
+        try {
+            DataBuffer copy = DefaultDataBufferFactory.sharedInstance.allocateBuffer(buffer.readableByteCount());
+            return copy.write(buffer);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
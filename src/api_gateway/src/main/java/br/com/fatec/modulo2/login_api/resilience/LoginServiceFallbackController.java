@@ -0,0 +1,69 @@
+package br.com.fatec.modulo2.login_api.resilience;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+/**
+ * Resposta do gateway quando o CircuitBreaker das rotas do login-service falha
+ *
+ * - Circuito aberto: 503 com Retry-After igual ao tempo em que o circuito
+ *   fica aberto, sem chegar ao serviço
+ * - Tempo de resposta esgotado: 504
+ * - Demais falhas (conexão recusada, 5xx do serviço): 502
+ */
+@RestController
+public class LoginServiceFallbackController {
+
+    public static final String PATH = "/fallback/login-service";
+
+    private final String retryAfterSeconds;
+
+    public LoginServiceFallbackController(
+            @Value("${resilience4j.circuitbreaker.instances.login-service.wait-duration-in-open-state:10s}")
+            Duration openStateDuration
+    ) {
+        this.retryAfterSeconds = Long.toString(Math.max(1, openStateDuration.toSeconds()));
+    }
+
+    @RequestMapping(PATH)
+    public ResponseEntity<Map<String, String>> fallback(ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+
+        if (cause instanceof CallNotPermittedException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                    .body(Map.of("error", "Serviço de login indisponível, tente novamente em instantes"));
+        }
+        if (isTimeout(cause)) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(Map.of("error", "Serviço de login não respondeu a tempo"));
+        }
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(Map.of("error", "Falha ao contatar o serviço de login"));
+    }
+
+    private static boolean isTimeout(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException) {
+                return true;
+            }
+            if (t instanceof ResponseStatusException e && e.getStatusCode().value() == HttpStatus.GATEWAY_TIMEOUT.value()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
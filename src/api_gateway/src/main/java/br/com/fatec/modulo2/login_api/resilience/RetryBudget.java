@@ -0,0 +1,113 @@
+package br.com.fatec.modulo2.login_api.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Orçamento de novas tentativas compartilhado pelas rotas com BudgetedRetry
+ *
+ * Cada requisição deposita uma fração de ficha (gateway.retry.budget.ratio) e
+ * cada nova tentativa gasta uma ficha inteira; o saldo é limitado a
+ * gateway.retry.budget.max-tokens. Em operação normal sobram fichas para
+ * absorver falhas pontuais, mas quando o login-service falha em massa as
+ * novas tentativas ficam limitadas a essa fração do tráfego, em vez de
+ * multiplicar a carga sobre um serviço que já não dá conta.
+ *
+ * O saldo é guardado em milésimos de ficha para não precisar de ponto
+ * flutuante nem de lock no caminho da requisição.
+ */
+@Component
+public class RetryBudget implements MeterBinder {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public RetryBudget(
+            @Value("${gateway.retry.budget.ratio:0.2}") double ratio,
+            @Value("${gateway.retry.budget.max-tokens:10}") int maxTokens
+    ) {
+        if (ratio < 0 || maxTokens < 0) {
+            throw new IllegalArgumentException("Orçamento de novas tentativas não pode ser negativo");
+        }
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = maxTokens * SCALE;
+        // Começa cheio: as primeiras falhas após a inicialização também têm nova tentativa
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * Registra uma requisição (primeira tentativa) e deposita sua fração
+     */
+    public void deposit() {
+        if (depositPerRequest == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerRequest)));
+    }
+
+    /**
+     * Se há saldo para mais uma tentativa, sem gastá-lo
+     */
+    public boolean canRetry() {
+        return balance.get() >= SCALE;
+    }
+
+    /**
+     * Gasta uma ficha; false se o orçamento está esgotado
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                rejected.increment();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        retries.increment();
+        return true;
+    }
+
+    /**
+     * Fichas inteiras disponíveis
+     */
+    public double tokens() {
+        return (double) balance.get() / SCALE;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gateway.retry.attempts", retries, LongAdder::sum)
+                .description("Novas tentativas feitas pelo gateway dentro do orçamento")
+                .tag("result", "retried")
+                .register(registry);
+        FunctionCounter.builder("gateway.retry.attempts", rejected, LongAdder::sum)
+                .description("Novas tentativas feitas pelo gateway dentro do orçamento")
+                .tag("result", "budget_exhausted")
+                .register(registry);
+        Gauge.builder("gateway.retry.budget.tokens", this, RetryBudget::tokens)
+                .description("Novas tentativas ainda disponíveis no orçamento")
+                .register(registry);
+    }
+}
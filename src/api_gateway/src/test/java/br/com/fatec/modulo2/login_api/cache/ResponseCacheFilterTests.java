@@ -0,0 +1,141 @@
+package br.com.fatec.modulo2.login_api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTests {
+
+    private static final String BODY = "{\"status\":\"UP\"}";
+
+    private final AtomicLong now = new AtomicLong();
+    private final ResponseCache cache = new ResponseCache(true, 100, 1 << 20, 1 << 16, now::get);
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(cache, List.of("/api/health=PT1S"), true);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void servesConfiguredRouteFromCacheUntilTtl() {
+        MockServerWebExchange first = get("/api/health", null);
+        filter.filter(first, upstream("no-cache, no-store")).block();
+
+        MockServerWebExchange second = get("/api/health", null);
+        filter.filter(second, upstream("no-cache, no-store")).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertNotNull(second.getResponse().getHeaders().getETag());
+
+        now.addAndGet(1_000_000_000L);
+        filter.filter(get("/api/health", null), upstream("no-cache, no-store")).block();
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void answersNotModifiedForMatchingETag() {
+        filter.filter(get("/api/health", null), upstream(null)).block();
+        MockServerWebExchange second = get("/api/health", null);
+        filter.filter(second, upstream(null)).block();
+        String etag = second.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange revalidation = get("/api/health", etag);
+        filter.filter(revalidation, upstream(null)).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+        assertEquals("", revalidation.getResponse().getBodyAsString().defaultIfEmpty("").block());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void cachesOtherRoutesOnlyWhenServiceOptsIn() {
+        filter.filter(get("/api/outra", null), upstream("no-store")).block();
+        filter.filter(get("/api/outra", null), upstream("no-store")).block();
+        assertEquals(2, upstreamCalls.get());
+
+        filter.filter(get("/api/publica", null), upstream("public, max-age=60")).block();
+        filter.filter(get("/api/publica", null), upstream("public, max-age=60")).block();
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void bypassesAuthenticatedRequests() {
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/health")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+            filter.filter(exchange, upstream(null)).block();
+        }
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void servesEntryOnlyToTheSameVariant() {
+        GatewayFilterChain varying = exchange -> {
+            exchange.getResponse().getHeaders().setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+            return upstream("public, max-age=60").filter(exchange);
+        };
+
+        filter.filter(withLanguage("pt-BR"), varying).block();
+        MockServerWebExchange samePt = withLanguage("pt-BR");
+        filter.filter(samePt, varying).block();
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(List.of(HttpHeaders.ACCEPT_LANGUAGE), samePt.getResponse().getHeaders().getVary());
+
+        filter.filter(withLanguage("en"), varying).block();
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void staticPayloadHonorsIfNoneMatch() {
+        StaticPayload payload = StaticPayload.json(new ObjectMapper(),
+                Map.of("service", "API Gateway"));
+
+        MockServerWebExchange full = get("/", null);
+        payload.write(full).block();
+        MockServerWebExchange revalidation = get("/", payload.etag());
+        payload.write(revalidation).block();
+
+        assertEquals("{\"service\":\"API Gateway\"}", full.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+    }
+
+    private static MockServerWebExchange get(String path, String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static MockServerWebExchange withLanguage(String language) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/publica")
+                .header(HttpHeaders.ACCEPT_LANGUAGE, language));
+    }
+
+    private GatewayFilterChain upstream(String cacheControl) {
+        return (ServerWebExchange exchange) -> {
+            upstreamCalls.incrementAndGet();
+            byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            if (cacheControl != null) {
+                headers.setCacheControl(cacheControl);
+            }
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+        };
+    }
+}
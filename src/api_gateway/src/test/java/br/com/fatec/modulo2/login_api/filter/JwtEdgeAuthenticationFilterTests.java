@@ -0,0 +1,120 @@
+package br.com.fatec.modulo2.login_api.filter;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtEdgeAuthenticationFilterTests {
+
+    private static final String SECRET = "chave-de-teste-com-pelo-menos-256-bits-para-hs256";
+    private static final String HEADER = "X-Authenticated-User";
+
+    private final JwtEdgeAuthenticationFilter filter =
+            new JwtEdgeAuthenticationFilter(SECRET, List.of("/api/user/**"), HEADER);
+
+    @Test
+    void forwardsVerifiedSubjectInTrustedHeader() {
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        filter.filter(exchange("/api/user/profile", "Bearer " + token(60_000), "intruso"), capture(forwarded)).block();
+
+        assertNotNull(forwarded.get());
+        assertEquals(List.of("admin"), forwarded.get().getRequest().getHeaders().get(HEADER));
+    }
+
+    @Test
+    void rejectsInvalidAndExpiredTokensAtTheEdge() {
+        for (String token : List.of("lixo", token(-1_000))) {
+            AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+            MockServerWebExchange exchange = exchange("/api/user/profile", "Bearer " + token, null);
+
+            filter.filter(exchange, capture(forwarded)).block();
+
+            assertNull(forwarded.get());
+            assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        }
+    }
+
+    @Test
+    void stripsSpoofedHeaderOnPublicRoutes() {
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        filter.filter(exchange("/api/login", null, "admin"), capture(forwarded)).block();
+
+        assertFalse(forwarded.get().getRequest().getHeaders().containsKey(HEADER));
+    }
+
+    @Test
+    void verifiesAsymmetricTokensWithJwksKeys() {
+        KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+        String kid = "chave-1";
+        JwksKeySource jwks = JwksKeySource.disabled();
+        jwks.update("{\"keys\":[" + Jwks.json(Jwks.builder().key(keyPair.getPublic()).id(kid).build()) + "]}");
+        JwtEdgeAuthenticationFilter asymmetric =
+                new JwtEdgeAuthenticationFilter("", List.of("/api/user/**"), HEADER, jwks);
+
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        String token = Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("admin")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.ES256)
+                .compact();
+        asymmetric.filter(exchange("/api/user/profile", "Bearer " + token, null), capture(forwarded)).block();
+        assertEquals(List.of("admin"), forwarded.get().getRequest().getHeaders().get(HEADER));
+
+        // kid desconhecido: segue sem o header para o login-service decidir
+        AtomicReference<ServerWebExchange> unknown = new AtomicReference<>();
+        String rotated = Jwts.builder()
+                .header().keyId("chave-2").and()
+                .subject("admin")
+                .signWith(Jwts.SIG.ES256.keyPair().build().getPrivate(), Jwts.SIG.ES256)
+                .compact();
+        asymmetric.filter(exchange("/api/user/profile", "Bearer " + rotated, null), capture(unknown)).block();
+        assertNotNull(unknown.get());
+        assertFalse(unknown.get().getRequest().getHeaders().containsKey(HEADER));
+    }
+
+    private static MockServerWebExchange exchange(String path, String authorization, String spoofedSubject) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        if (spoofedSubject != null) {
+            request.header(HEADER, spoofedSubject);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static GatewayFilterChain capture(AtomicReference<ServerWebExchange> forwarded) {
+        return exchange -> {
+            forwarded.set(exchange);
+            return Mono.empty();
+        };
+    }
+
+    private static String token(long expiresInMillis) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject("admin")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + expiresInMillis))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
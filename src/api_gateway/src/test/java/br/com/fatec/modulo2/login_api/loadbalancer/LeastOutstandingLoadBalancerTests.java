@@ -0,0 +1,126 @@
+package br.com.fatec.modulo2.login_api.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+class LeastOutstandingLoadBalancerTests {
+
+    private final AtomicLong now = new AtomicLong();
+    private final InstanceLoadTracker tracker = new InstanceLoadTracker(3, Duration.ofSeconds(10), now::get);
+    private final LeastOutstandingLoadBalancer balancer = new LeastOutstandingLoadBalancer(null, tracker);
+
+    private final List<ServiceInstance> instances = List.of(
+            instance("a"), instance("b"), instance("c")
+    );
+
+    @Test
+    void neverPicksTheBusiestOfThreeInstances() {
+        for (int i = 0; i < 50; i++) {
+            tracker.start("a:8081");
+        }
+        tracker.start("b:8081");
+
+        Map<String, Integer> picks = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            picks.merge(balancer.choose(instances).getServer().getInstanceId(), 1, Integer::sum);
+        }
+
+        // Com duas escolhas sorteadas, a mais ocupada sempre perde a comparação
+        assertNull(picks.get("a:8081"));
+        assertTrue(picks.get("c:8081") > picks.get("b:8081"));
+    }
+
+    @Test
+    void ejectsInstanceAfterConsecutiveFailuresUntilDurationElapses() {
+        for (int i = 0; i < 3; i++) {
+            tracker.start("a:8081");
+            tracker.finish("a:8081", true);
+        }
+        assertTrue(tracker.isEjected("a:8081"));
+
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals("a:8081", balancer.choose(instances).getServer().getInstanceId());
+        }
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertFalse(tracker.isEjected("a:8081"));
+
+        // De volta com uma chance: a próxima falha ejeta de novo
+        tracker.start("a:8081");
+        tracker.finish("a:8081", true);
+        assertTrue(tracker.isEjected("a:8081"));
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        tracker.start("a:8081");
+        tracker.finish("a:8081", true);
+        tracker.start("a:8081");
+        tracker.finish("a:8081", true);
+        tracker.start("a:8081");
+        tracker.finish("a:8081", false);
+        tracker.start("a:8081");
+        tracker.finish("a:8081", true);
+
+        assertFalse(tracker.isEjected("a:8081"));
+        assertEquals(0, tracker.outstanding("a:8081"));
+    }
+
+    @Test
+    void cancelledRequestKeepsFailureStreak() {
+        OutstandingRequestsFilter filter = new OutstandingRequestsFilter(tracker);
+        tracker.start("a:8081");
+        tracker.finish("a:8081", true);
+        tracker.start("a:8081");
+        tracker.finish("a:8081", true);
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/user/profile"));
+        exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(instance("a")));
+        Disposable request = filter.filter(exchange, next -> Mono.never()).subscribe();
+        assertEquals(1, tracker.outstanding("a:8081"));
+
+        // Cliente desconectou: a requisição deixa de contar e a sequência continua
+        request.dispose();
+        assertEquals(0, tracker.outstanding("a:8081"));
+        assertFalse(tracker.isEjected("a:8081"));
+
+        tracker.start("a:8081");
+        tracker.finish("a:8081", true);
+        assertTrue(tracker.isEjected("a:8081"));
+    }
+
+    @Test
+    void fallsBackToAllInstancesWhenEveryOneIsEjected() {
+        for (ServiceInstance instance : instances) {
+            for (int i = 0; i < 3; i++) {
+                tracker.start(instance.getInstanceId());
+                tracker.finish(instance.getInstanceId(), true);
+            }
+        }
+
+        Response<ServiceInstance> chosen = balancer.choose(instances);
+
+        assertTrue(chosen.hasServer());
+        assertFalse(balancer.choose(List.of()).hasServer());
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host + ":8081", "login-service", host, 8081, false);
+    }
+}
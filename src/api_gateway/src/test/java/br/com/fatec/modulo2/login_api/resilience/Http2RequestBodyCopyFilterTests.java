@@ -0,0 +1,47 @@
+package br.com.fatec.modulo2.login_api.resilience;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Http2RequestBodyCopyFilterTests {
+
+    @Test
+    void copyIsIndependentOfTheConnectionBuffer() {
+        ByteBuf connection = PooledByteBufAllocator.DEFAULT.buffer();
+        connection.writeBytes("{\"username\":\"maria\"}".getBytes(StandardCharsets.UTF_8));
+        DataBuffer frame = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT).wrap(connection);
+
+        DataBuffer copy = Http2RequestBodyCopyFilter.copy(frame);
+
+        assertEquals(0, connection.refCnt(), "o original deveria ter sido liberado");
+        assertEquals("{\"username\":\"maria\"}", copy.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void http11RequestsPassThroughUnchanged() {
+        Http2RequestBodyCopyFilter filter = new Http2RequestBodyCopyFilter();
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/register").body("{}"));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        filter.filter(exchange, next -> {
+            forwarded.set(next);
+            return Mono.empty();
+        }).block();
+
+        assertSame(exchange, forwarded.get());
+        assertFalse(Http2RequestBodyCopyFilter.isHttp2(exchange.getRequest()));
+    }
+}
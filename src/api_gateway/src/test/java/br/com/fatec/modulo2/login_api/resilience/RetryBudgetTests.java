@@ -0,0 +1,71 @@
+package br.com.fatec.modulo2.login_api.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory.RetryConfig;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTests {
+
+    @Test
+    void retriesAreLimitedToFractionOfRequests() {
+        RetryBudget budget = new RetryBudget(0.2, 2);
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        // Cinco requisições a 0,2 rendem uma nova tentativa
+        for (int i = 0; i < 4; i++) {
+            budget.deposit();
+        }
+        assertFalse(budget.canRetry());
+        budget.deposit();
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.canRetry());
+    }
+
+    @Test
+    void balanceIsCappedAtMaxTokens() {
+        RetryBudget budget = new RetryBudget(0.5, 3);
+
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+
+        assertEquals(3.0, budget.tokens());
+    }
+
+    @Test
+    void filterStopsRetryingWhenBudgetIsExhausted() {
+        RetryBudget budget = new RetryBudget(0, 1);
+        BudgetedRetryGatewayFilterFactory factory = new BudgetedRetryGatewayFilterFactory(budget);
+        RetryConfig config = new RetryConfig().setRetries(3).setStatuses(HttpStatus.BAD_GATEWAY);
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/user/profile"));
+        exchange.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+
+        // A ficha é gasta na própria decisão de repetir
+        assertFalse(factory.exceedsMaxIterations(exchange, config));
+        assertEquals(0.0, budget.tokens());
+
+        assertTrue(factory.exceedsMaxIterations(exchange, config));
+        assertEquals(0.0, budget.tokens());
+    }
+
+    @Test
+    void responsesThatWouldNotBeRetriedSpendNothing() {
+        RetryBudget budget = new RetryBudget(0, 1);
+        BudgetedRetryGatewayFilterFactory factory = new BudgetedRetryGatewayFilterFactory(budget);
+        RetryConfig config = new RetryConfig().setRetries(3).setStatuses(HttpStatus.BAD_GATEWAY);
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/user/profile"));
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+
+        assertFalse(factory.exceedsMaxIterations(exchange, config));
+        assertEquals(1.0, budget.tokens());
+    }
+}
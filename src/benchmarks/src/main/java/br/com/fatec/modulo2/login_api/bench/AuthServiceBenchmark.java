@@ -0,0 +1,67 @@
+package br.com.fatec.modulo2.login_api.bench;
+
+import br.com.fatec.modulo2.login_api.service.AuthService;
+import br.com.fatec.modulo2.login_api.service.PasswordHashingExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Custo da autenticação por senha
+ *
+ * authenticate* usam o AuthService como em produção (BCrypt com força padrão);
+ * bcryptMatches mede o custo do BCrypt para cada força em {@link Bcrypt#strength}.
+ * O parâmetro fica no estado do bcryptMatches, para não repetir os authenticate*.
+ */
+@State(Scope.Benchmark)
+public class AuthServiceBenchmark {
+
+    private PasswordHashingExecutor executor;
+    private AuthService authService;
+
+    @Setup
+    public void setup() {
+        executor = BenchmarkSupport.hashingExecutor();
+        authService = BenchmarkSupport.authService(executor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Bcrypt {
+
+        @Param({"4", "8", "10", "12"})
+        public int strength;
+
+        BCryptPasswordEncoder encoder;
+        String hash;
+
+        @Setup
+        public void setup() {
+            encoder = new BCryptPasswordEncoder(strength);
+            hash = encoder.encode("admin123");
+        }
+    }
+
+    @Benchmark
+    public boolean bcryptMatches(Bcrypt bcrypt) {
+        return bcrypt.encoder.matches("admin123", bcrypt.hash);
+    }
+
+    @Benchmark
+    public boolean authenticateKnownUser() {
+        return authService.authenticate("admin", "admin123");
+    }
+
+    @Benchmark
+    public boolean authenticateUnknownUser() {
+        return authService.authenticate("nao-existe", "admin123");
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.fatec.modulo2.login_api.bench;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa os benchmarks em 1, 4 e 16 threads
+ *
+ * Mede throughput e tempo médio, com o profiler de GC para a taxa de alocação
+ * (gc.alloc.rate.norm = bytes por operação). Cada rodada grava um JSON em
+ * results/ para comparação entre versões (ex.: jmh.morethan.io).
+ *
+ * Uso:
+ * <pre>
+ * mvn -q package
+ * java -jar target/benchmarks.jar                       # todos, 1/4/16 threads
+ * java -jar target/benchmarks.jar JwtService -t 1,4     # filtro por regex e threads
+ * java -jar target/benchmarks.jar -jmh -h               # opções nativas do JMH
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private static final int[] DEFAULT_THREADS = {1, 4, 16};
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("-jmh")) {
+            String[] jmhArgs = new String[args.length - 1];
+            System.arraycopy(args, 1, jmhArgs, 0, jmhArgs.length);
+            new Runner(new CommandLineOptions(jmhArgs)).run();
+            return;
+        }
+
+        String include = ".*";
+        int[] threads = DEFAULT_THREADS;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-t") && i + 1 < args.length) {
+                threads = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+            } else {
+                include = args[i];
+            }
+        }
+
+        Path results = Files.createDirectories(Path.of("results"));
+        for (int threadCount : threads) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .mode(Mode.Throughput)
+                    .mode(Mode.AverageTime)
+                    .timeUnit(TimeUnit.MICROSECONDS)
+                    .threads(threadCount)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(2))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(2))
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(results.resolve("jmh-" + threadCount + "t.json").toString());
+
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.fatec.modulo2.login_api.bench;
+
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.cache.VerifiedTokenCache;
+import br.com.fatec.modulo2.login_api.revocation.RevocationIndex;
+import br.com.fatec.modulo2.login_api.service.AuthService;
+import br.com.fatec.modulo2.login_api.service.JwtService;
+import br.com.fatec.modulo2.login_api.service.PasswordHashingExecutor;
+import br.com.fatec.modulo2.login_api.store.InMemoryUserStore;
+
+/**
+ * Monta os serviços do login-service sem subir o contexto Spring
+ */
+final class BenchmarkSupport {
+
+    static final String SECRET = "chave-de-benchmark-com-pelo-menos-256-bits-para-hs256";
+    static final long EXPIRATION = 86_400_000L;
+
+    private BenchmarkSupport() {
+    }
+
+    static JwtService jwtService() {
+        return new JwtService(SECRET, EXPIRATION, AuthMetrics.noop());
+    }
+
+    static VerifiedTokenCache tokenCache(boolean enabled) {
+        return new VerifiedTokenCache(enabled, 10_000, 1_024);
+    }
+
+    static RevocationIndex revocationIndex() {
+        return new RevocationIndex(100_000);
+    }
+
+    static AuthService authService(PasswordHashingExecutor executor) {
+        return new AuthService(new InMemoryUserStore(), executor, AuthMetrics.noop());
+    }
+
+    static PasswordHashingExecutor hashingExecutor() {
+        return new PasswordHashingExecutor(0, 1_024, 1);
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.fatec.modulo2.login_api.bench;
+
+import br.com.fatec.modulo2.login_api.audit.AuditLog;
+import br.com.fatec.modulo2.login_api.config.AdminUsers;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.filter.JwtAuthenticationFilter;
+import br.com.fatec.modulo2.login_api.service.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Cadeia completa do JwtAuthenticationFilter com objetos mock de servlet
+ *
+ * Cada thread tem seus próprios request/response; o filtro, o JwtService e o
+ * cache são compartilhados, como no Tomcat.
+ */
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private String validToken;
+
+    @Setup
+    public void setup() {
+        JwtService jwtService = BenchmarkSupport.jwtService();
+        filter = new JwtAuthenticationFilter(jwtService, BenchmarkSupport.tokenCache(cacheEnabled),
+                BenchmarkSupport.revocationIndex(), AuthMetrics.noop(), AuditLog.disabled(), AdminUsers.none());
+        validToken = jwtService.generateToken("admin");
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        MockHttpServletRequest valid;
+        MockHttpServletRequest invalid;
+        MockHttpServletRequest malformed;
+        MockHttpServletRequest anonymous;
+        MockHttpServletResponse response;
+        FilterChain chain;
+
+        @Setup
+        public void setup(JwtAuthenticationFilterBenchmark benchmark, Blackhole blackhole) {
+            valid = request("Bearer " + benchmark.validToken);
+            // Bem formado (passa pela checagem estrutural), assinatura errada
+            invalid = request("Bearer eyJhbGciOiJIUzI1NiJ9.bGl4bw.bGl4bw");
+            // Lixo: recusado antes de qualquer criptografia
+            malformed = request("Bearer lixo-que-nao-e-um-jwt");
+            anonymous = request(null);
+            response = new MockHttpServletResponse();
+            chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        }
+
+        private static MockHttpServletRequest request(String authorization) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/profile");
+            if (authorization != null) {
+                request.addHeader("Authorization", authorization);
+            }
+            return request;
+        }
+    }
+
+    @Benchmark
+    public void validToken(Exchange exchange) throws Exception {
+        run(exchange.valid, exchange);
+    }
+
+    @Benchmark
+    public void invalidToken(Exchange exchange) throws Exception {
+        run(exchange.invalid, exchange);
+    }
+
+    @Benchmark
+    public void malformedToken(Exchange exchange) throws Exception {
+        run(exchange.malformed, exchange);
+    }
+
+    @Benchmark
+    public void noAuthorizationHeader(Exchange exchange) throws Exception {
+        run(exchange.anonymous, exchange);
+    }
+
+    private void run(MockHttpServletRequest request, Exchange exchange) throws Exception {
+        // OncePerRequestFilter marca o request; remove a marca para reaproveitá-lo
+        request.clearAttributes();
+        try {
+            filter.doFilter(request, exchange.response, exchange.chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
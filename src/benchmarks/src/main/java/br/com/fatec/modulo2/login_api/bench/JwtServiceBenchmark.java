@@ -0,0 +1,42 @@
+package br.com.fatec.modulo2.login_api.bench;
+
+import br.com.fatec.modulo2.login_api.service.JwtService;
+import br.com.fatec.modulo2.login_api.service.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Geração e validação de tokens no JwtService
+ *
+ * validateThenGetUsername reproduz o caminho antigo do filtro (duas
+ * verificações por requisição); verify é o caminho atual.
+ */
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = BenchmarkSupport.jwtService();
+        token = jwtService.generateToken("admin");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("admin");
+    }
+
+    @Benchmark
+    public String validateThenGetUsername() {
+        return jwtService.validateToken(token) ? jwtService.getUsernameFromToken(token) : null;
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtService.verify(token);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.fatec.modulo2.login_api.bench;
+
+import br.com.fatec.modulo2.login_api.revocation.RevocationIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Custo da consulta de revogação que o filtro faz em toda requisição
+ *
+ * notRevoked é o caso comum (respondido pelo filtro de Bloom); revoked passa
+ * pelo filtro e pelo mapa.
+ */
+@State(Scope.Benchmark)
+public class RevocationIndexBenchmark {
+
+    private RevocationIndex index;
+    private String activeJti;
+    private String revokedJti;
+
+    @Setup
+    public void setup() {
+        index = BenchmarkSupport.revocationIndex();
+        Instant expiresAt = Instant.now().plusSeconds(3_600);
+        for (int i = 0; i < 10_000; i++) {
+            index.revoke(UUID.randomUUID().toString(), expiresAt);
+        }
+        revokedJti = UUID.randomUUID().toString();
+        index.revoke(revokedJti, expiresAt);
+        activeJti = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return index.isRevoked(activeJti);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return index.isRevoked(revokedJti);
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.fatec.modulo2.login_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Chamadas HTTP da carga, todas assíncronas
+ *
+ * Um único HttpClient (conexões keep-alive reaproveitadas) com callbacks em
+ * virtual threads. Cada operação completa com o status HTTP.
+ *
+ * Em HTTP_2 o cliente faz o upgrade h2c na primeira requisição e passa a
+ * multiplexar tudo numa conexão só com o alvo.
+ */
+public final class ApiClient {
+
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final URI login;
+    private final URI register;
+    private final URI profile;
+    private final URI health;
+    private final Duration timeout;
+
+    public ApiClient(URI baseUri, Duration timeout, HttpClient.Version version) {
+        this.http = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.login = baseUri.resolve("/api/login");
+        this.register = baseUri.resolve("/api/register");
+        this.profile = baseUri.resolve("/api/user/profile");
+        this.health = baseUri.resolve("/api/health");
+        this.timeout = timeout;
+    }
+
+    /**
+     * Status do /api/health (chamada síncrona, usada antes da carga)
+     */
+    public int health() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(timeout).GET().build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Login; com 200, o token da resposta é entregue a onToken
+     */
+    public CompletableFuture<Integer> login(String username, String password, Consumer<String> onToken) {
+        return http.sendAsync(post(login, username, password), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() == 200) {
+                        onToken.accept(token(response.body()));
+                    }
+                    return response.statusCode();
+                });
+    }
+
+    public CompletableFuture<Integer> register(String username, String password) {
+        return http.sendAsync(post(register, username, password), HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    public CompletableFuture<Integer> profile(String token) {
+        HttpRequest request = HttpRequest.newBuilder(profile)
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest post(URI uri, String username, String password) {
+        byte[] body;
+        try {
+            body = json.writeValueAsBytes(Map.of("username", username, "password", password));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private String token(byte[] body) {
+        try {
+            JsonNode node = json.readTree(body);
+            return node.path("token").asText(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.fatec.modulo2.login_api.loadtest;
+
+import br.com.fatec.modulo2.login_api.LoginApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * login-service no mesmo processo do gerador, em porta livre (target=in-process)
+ *
+ * Para comparar configurações do serviço sem docker: propriedades do
+ * login-service passadas como -D ou variáveis de ambiente valem aqui também.
+ * O gateway não sobe neste modo (usa outra versão do Spring Boot); a carga
+ * vai direto ao serviço.
+ *
+ * O limite de tentativas de login/registro fica desligado: todo o tráfego
+ * sai do mesmo IP e seria recusado com 429.
+ */
+final class InProcessStack implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private InProcessStack(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static InProcessStack start() {
+        // Padrões pelas variáveis do application.yml do serviço: o ambiente ainda pode sobrescrever
+        Map<String, Object> defaults = new LinkedHashMap<>();
+        defaults.put("LOGIN_SERVER_PORT", 0);
+        defaults.put("LOGIN_RATE_LIMIT_ENABLED", false);
+        defaults.put("spring.main.banner-mode", "off");
+        defaults.put("logging.level.root", "WARN");
+        byte[] secret = new byte[48];
+        new SecureRandom().nextBytes(secret);
+        defaults.put("JWT_SECRET", HexFormat.of().formatHex(secret));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LoginApiApplication.class)
+                .properties(defaults)
+                .run();
+        return new InProcessStack(context);
+    }
+
+    URI baseUri() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.fatec.modulo2.login_api.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gera o tráfego de uma rodada em modelo aberto
+ *
+ * As requisições contínuas saem em instantes fixos (1/rate) e as rajadas de
+ * login a cada burst.interval, independentemente de as anteriores terem
+ * respondido: um sistema lento não reduz a carga que recebe, como acontece
+ * com usuários reais. max-in-flight só protege o próprio gerador; quando é
+ * atingido o envio espera, e essa espera entra na latência medida.
+ */
+final class LoadDriver {
+
+    private final LoadTestConfig config;
+    private final ApiClient client;
+    private final List<String> usernames;
+    private final AtomicReferenceArray<String> tokens;
+    private final String registerPrefix;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] mixOperations;
+    private final int[] mixCumulative;
+    private final Semaphore inFlight;
+    private final AtomicLong registered = new AtomicLong();
+
+    private long measureStart;
+    private long end;
+
+    LoadDriver(LoadTestConfig config, ApiClient client, List<String> usernames,
+               AtomicReferenceArray<String> tokens, String runId) {
+        this.config = config;
+        this.client = client;
+        this.usernames = usernames;
+        this.tokens = tokens;
+        this.registerPrefix = "lt" + runId + "r";
+        this.inFlight = new Semaphore(config.maxInFlight());
+
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+
+        List<Operation> operations = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int sum = 0;
+        for (Map.Entry<Operation, Integer> entry : new EnumMap<>(config.mix()).entrySet()) {
+            if (entry.getValue() > 0) {
+                sum += entry.getValue();
+                operations.add(entry.getKey());
+                cumulative.add(sum);
+            }
+        }
+        this.mixOperations = operations.toArray(Operation[]::new);
+        this.mixCumulative = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    Map<Operation, OperationStats> stats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Executa aquecimento + medição; as parciais vão para out e log
+     */
+    void run(HistogramLogWriter log, PrintStream out) throws InterruptedException {
+        long start = System.nanoTime();
+        measureStart = start + config.warmup().toNanos();
+        end = measureStart + config.duration().toNanos();
+
+        long logStart = System.currentTimeMillis() + config.warmup().toMillis();
+        log.setBaseTime(logStart);
+        log.outputBaseTime(logStart);
+        log.outputLegend();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        long period = config.reportInterval().toNanos();
+        reporter.scheduleAtFixedRate(() -> report(log, out), config.warmup().toNanos() + period, period,
+                TimeUnit.NANOSECONDS);
+
+        Thread bursts = Thread.ofPlatform().name("loadtest-bursts").start(() -> bursts(start));
+        steady(start);
+        bursts.join();
+
+        // Espera as respostas pendentes (ou o timeout delas)
+        long drainTimeout = config.requestTimeout().plusSeconds(5).toNanos();
+        if (inFlight.tryAcquire(config.maxInFlight(), drainTimeout, TimeUnit.NANOSECONDS)) {
+            inFlight.release(config.maxInFlight());
+        }
+
+        reporter.shutdown();
+        reporter.awaitTermination(5, TimeUnit.SECONDS);
+        report(log, out);
+    }
+
+    private void steady(long start) {
+        if (config.rate() <= 0) {
+            return;
+        }
+        double interval = 1_000_000_000d / config.rate();
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * interval);
+            if (intended - end >= 0) {
+                return;
+            }
+            parkUntil(intended);
+            dispatch(nextFromMix(), intended);
+        }
+    }
+
+    private void bursts(long start) {
+        if (config.burstSize() == 0) {
+            return;
+        }
+        long interval = config.burstInterval().toNanos();
+        for (long intended = start + interval; intended - end < 0; intended += interval) {
+            parkUntil(intended);
+            for (int i = 0; i < config.burstSize(); i++) {
+                dispatch(Operation.LOGIN_BURST, intended);
+            }
+        }
+    }
+
+    private Operation nextFromMix() {
+        int value = ThreadLocalRandom.current().nextInt(mixCumulative[mixCumulative.length - 1]);
+        for (int i = 0; i < mixCumulative.length; i++) {
+            if (value < mixCumulative[i]) {
+                return mixOperations[i];
+            }
+        }
+        return mixOperations[mixOperations.length - 1];
+    }
+
+    private void dispatch(Operation operation, long intended) {
+        inFlight.acquireUninterruptibly();
+        CompletableFuture<Integer> call;
+        try {
+            call = send(operation);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        call.whenComplete((status, error) -> {
+            inFlight.release();
+            if (intended - measureStart < 0 || intended - end >= 0) {
+                // Aquecimento: não entra no resultado
+                return;
+            }
+            OperationStats operationStats = stats.get(operation);
+            if (error != null) {
+                operationStats.error();
+            } else {
+                operationStats.record(System.nanoTime() - intended, status);
+            }
+        });
+    }
+
+    private CompletableFuture<Integer> send(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case LOGIN, LOGIN_BURST -> {
+                int user = random.nextInt(usernames.size());
+                yield client.login(usernames.get(user), config.password(), token -> tokens.set(user, token));
+            }
+            case REGISTER -> client.register(registerPrefix + registered.incrementAndGet(), config.password());
+            case PROFILE -> {
+                String token = tokens.get(random.nextInt(usernames.size()));
+                yield client.profile(token == null ? "" : token);
+            }
+        };
+    }
+
+    private void report(HistogramLogWriter log, PrintStream out) {
+        long now = System.nanoTime();
+        StringBuilder line = new StringBuilder();
+        line.append(String.format("[%5ds]", Math.max(0, TimeUnit.NANOSECONDS.toSeconds(now - measureStart))));
+
+        for (OperationStats operationStats : stats.values()) {
+            Histogram interval = operationStats.drainInterval();
+            if (interval.getTotalCount() == 0) {
+                continue;
+            }
+            double seconds = Math.max(1, interval.getEndTimeStamp() - interval.getStartTimeStamp()) / 1000d;
+            interval.setTag(operationStats.operation().label());
+            synchronized (log) {
+                log.outputIntervalHistogram(interval);
+            }
+            line.append(String.format(" | %s %.1f/s p50 %.1f p99 %.1f ms",
+                    operationStats.operation().label(),
+                    interval.getTotalCount() / seconds,
+                    interval.getValueAtPercentile(50) / 1000d,
+                    interval.getValueAtPercentile(99) / 1000d));
+        }
+        out.println(line);
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
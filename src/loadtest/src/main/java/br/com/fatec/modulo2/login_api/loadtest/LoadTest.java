@@ -0,0 +1,149 @@
+package br.com.fatec.modulo2.login_api.loadtest;
+
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Teste de carga: tráfego de login, registro e perfil contra a stack
+ *
+ * Uso: java -jar target/loadtest.jar [--config=arquivo.properties] [--chave=valor...]
+ * (chaves em {@link LoadTestConfig}). Cria os usuários da rodada, faz o
+ * aquecimento, mede e grava em results/ o resumo JSON e o log de histogramas.
+ */
+public final class LoadTest {
+
+    /**
+     * Registros/logins simultâneos na preparação (o hash de senha é caro)
+     */
+    private static final int SETUP_CONCURRENCY = 16;
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        PrintStream out = System.out;
+
+        InProcessStack stack = config.inProcess() ? InProcessStack.start() : null;
+        int exitCode;
+        try {
+            URI target = stack != null ? stack.baseUri() : URI.create(config.target());
+            exitCode = run(config, target, out);
+        } finally {
+            if (stack != null) {
+                stack.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(LoadTestConfig config, URI target, PrintStream out) throws Exception {
+        ApiClient client = new ApiClient(target, config.requestTimeout(), config.httpVersion());
+        int health = client.health();
+        if (health != 200) {
+            System.err.println("Alvo " + target + " respondeu " + health + " em /api/health");
+            return 1;
+        }
+
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<String> usernames = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            usernames.add("lt" + runId + "u" + i);
+        }
+        AtomicReferenceArray<String> tokens = new AtomicReferenceArray<>(config.users());
+
+        out.printf("Preparando %d usuários em %s%n", config.users(), target);
+        if (!prepareUsers(client, config, usernames, tokens)) {
+            return 1;
+        }
+
+        Files.createDirectories(config.resultsDir());
+        String baseName = config.label() + "-" + LocalDateTime.now().format(FILE_TIMESTAMP);
+        Path summaryFile = config.resultsDir().resolve(baseName + ".json");
+        Path histogramFile = config.resultsDir().resolve(baseName + ".hlog");
+
+        out.printf("Aquecimento %s, medição %s, %.0f req/s, rajadas de %d logins a cada %s%n",
+                config.warmup(), config.duration(), config.rate(), config.burstSize(), config.burstInterval());
+        Instant startedAt = Instant.now();
+        LoadDriver driver = new LoadDriver(config, client, usernames, tokens, runId);
+        try (PrintStream histogramLog = new PrintStream(Files.newOutputStream(histogramFile))) {
+            driver.run(new HistogramLogWriter(histogramLog), out);
+        }
+
+        ResultsWriter results = new ResultsWriter();
+        results.write(summaryFile, config, target.toString(), startedAt, driver.stats());
+        out.println();
+        results.print(out, config, driver.stats());
+        out.println();
+        out.println("Resultados: " + summaryFile + " e " + histogramFile);
+
+        long rateLimited = driver.stats().values().stream().mapToLong(OperationStats::rateLimited).sum();
+        if (rateLimited > 0) {
+            out.printf("Atenção: %d respostas 429; a carga sai de um único IP e esbarra no limite de tentativas "
+                    + "(LOGIN_RATE_LIMIT_ENABLED=false no login-service)%n", rateLimited);
+        }
+        return 0;
+    }
+
+    /**
+     * Registra (409 = já existe) e faz login de cada usuário, guardando os tokens
+     */
+    private static boolean prepareUsers(ApiClient client, LoadTestConfig config, List<String> usernames,
+                                        AtomicReferenceArray<String> tokens) {
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        AtomicInteger rateLimited = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<?>> pending = new ArrayList<>(usernames.size());
+
+        for (int i = 0; i < usernames.size(); i++) {
+            int user = i;
+            String username = usernames.get(i);
+            permits.acquireUninterruptibly();
+            CompletableFuture<Integer> setup = client.register(username, config.password())
+                    .thenCompose(status -> {
+                        if (status / 100 != 2 && status != 409) {
+                            return CompletableFuture.completedFuture(status);
+                        }
+                        return client.login(username, config.password(), token -> tokens.set(user, token));
+                    })
+                    .whenComplete((status, error) -> {
+                        permits.release();
+                        if (status != null && status == 429) {
+                            rateLimited.incrementAndGet();
+                        } else if (error != null || status != 200) {
+                            failed.incrementAndGet();
+                        }
+                    });
+            pending.add(setup);
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .exceptionally(error -> null)
+                .join();
+
+        if (rateLimited.get() > 0) {
+            System.err.println("Preparação recusada com 429 para " + rateLimited.get() + " usuários: desligue o "
+                    + "limite de tentativas no login-service (LOGIN_RATE_LIMIT_ENABLED=false)");
+            return false;
+        }
+        if (failed.get() > 0) {
+            System.err.println("Falha ao preparar " + failed.get() + " de " + usernames.size() + " usuários");
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.fatec.modulo2.login_api.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Parâmetros de uma rodada de carga
+ *
+ * Lidos de um arquivo .properties (--config=arquivo) e sobrescritos por
+ * argumentos --chave=valor. Chaves desconhecidas são erro, para que um typo
+ * não vire silenciosamente uma rodada com o valor padrão.
+ *
+ * @param target          URL base (gateway) ou "in-process" para subir o login-service aqui
+ * @param duration        tempo medido
+ * @param warmup          tempo antes da medição (JIT, pools de conexão), descartado
+ * @param rate            requisições por segundo do tráfego contínuo (modelo aberto)
+ * @param maxInFlight     limite de requisições simultâneas do gerador
+ * @param users           usuários criados antes da carga, cada um com seu token
+ * @param password        senha desses usuários
+ * @param mix             pesos das operações do tráfego contínuo
+ * @param burstSize       logins disparados de uma vez a cada burstInterval (0 = sem rajadas)
+ * @param burstInterval   intervalo entre rajadas de login
+ * @param requestTimeout  tempo máximo por requisição; acima disso conta como erro
+ * @param httpVersion     HTTP_1_1 (uma conexão por requisição simultânea) ou HTTP_2 (h2c, multiplexado)
+ * @param reportInterval  intervalo das parciais no console e no log de histogramas
+ * @param label           nome da rodada, usado nos arquivos de resultado
+ * @param resultsDir      diretório dos resultados
+ */
+public record LoadTestConfig(
+        String target,
+        Duration duration,
+        Duration warmup,
+        double rate,
+        int maxInFlight,
+        int users,
+        String password,
+        Map<Operation, Integer> mix,
+        int burstSize,
+        Duration burstInterval,
+        Duration requestTimeout,
+        HttpClient.Version httpVersion,
+        Duration reportInterval,
+        String label,
+        Path resultsDir
+) {
+
+    public static final String IN_PROCESS = "in-process";
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("target", "http://localhost:8080"),
+            Map.entry("duration", "PT60S"),
+            Map.entry("warmup", "PT10S"),
+            Map.entry("rate", "200"),
+            Map.entry("max-in-flight", "512"),
+            Map.entry("users", "200"),
+            Map.entry("password", "senha-de-carga"),
+            Map.entry("mix", "login=10,register=2,profile=88"),
+            Map.entry("burst.size", "50"),
+            Map.entry("burst.interval", "PT15S"),
+            Map.entry("request-timeout", "PT30S"),
+            Map.entry("http-version", "HTTP_1_1"),
+            Map.entry("report-interval", "PT5S"),
+            Map.entry("label", "loadtest"),
+            Map.entry("results-dir", "results")
+    );
+
+    public LoadTestConfig {
+        if (rate < 0 || maxInFlight <= 0 || users <= 0 || burstSize < 0) {
+            throw new IllegalArgumentException("rate, max-in-flight, users e burst.size não podem ser negativos "
+                    + "(max-in-flight e users maiores que zero)");
+        }
+        if (rate > 0 && mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("mix precisa de ao menos uma operação com peso > 0");
+        }
+        if (burstSize > 0 && (burstInterval.isZero() || burstInterval.isNegative())) {
+            throw new IllegalArgumentException("burst.interval precisa ser positivo");
+        }
+        mix = Map.copyOf(mix);
+    }
+
+    /**
+     * Monta a configuração a partir dos argumentos de linha de comando
+     */
+    public static LoadTestConfig parse(String[] args) throws IOException {
+        Properties values = new Properties();
+        values.putAll(DEFAULTS);
+
+        Properties overrides = new Properties();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --chave=valor)");
+            }
+            int eq = arg.indexOf('=');
+            overrides.setProperty(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String file = overrides.getProperty("config");
+        overrides.remove("config");
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file))) {
+                Properties fromFile = new Properties();
+                fromFile.load(reader);
+                values.putAll(fromFile);
+            }
+        }
+        values.putAll(overrides);
+
+        Set<String> unknown = new TreeSet<>(values.stringPropertyNames());
+        unknown.removeAll(DEFAULTS.keySet());
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Chaves desconhecidas: " + unknown
+                    + "; válidas: " + new TreeSet<>(DEFAULTS.keySet()));
+        }
+
+        return new LoadTestConfig(
+                values.getProperty("target"),
+                Duration.parse(values.getProperty("duration")),
+                Duration.parse(values.getProperty("warmup")),
+                Double.parseDouble(values.getProperty("rate")),
+                Integer.parseInt(values.getProperty("max-in-flight")),
+                Integer.parseInt(values.getProperty("users")),
+                values.getProperty("password"),
+                parseMix(values.getProperty("mix")),
+                Integer.parseInt(values.getProperty("burst.size")),
+                Duration.parse(values.getProperty("burst.interval")),
+                Duration.parse(values.getProperty("request-timeout")),
+                HttpClient.Version.valueOf(values.getProperty("http-version")),
+                Duration.parse(values.getProperty("report-interval")),
+                values.getProperty("label"),
+                Path.of(values.getProperty("results-dir"))
+        );
+    }
+
+    /**
+     * "login=10,register=2,profile=88" -> pesos por operação
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int eq = trimmed.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Item de mix inválido: " + trimmed + " (use operação=peso)");
+            }
+            Operation operation = Operation.fromName(trimmed.substring(0, eq).trim());
+            if (!operation.inMix()) {
+                throw new IllegalArgumentException(operation.label() + " não faz parte do mix (use burst.size)");
+            }
+            int weight = Integer.parseInt(trimmed.substring(eq + 1).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo em mix: " + trimmed);
+            }
+            mix.put(operation, weight);
+        }
+        return mix;
+    }
+
+    public boolean inProcess() {
+        return IN_PROCESS.equals(target);
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.fatec.modulo2.login_api.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Operações geradas pela carga
+ *
+ * - LOGIN: POST /api/login de um usuário existente; o token obtido substitui o dele no pool
+ * - LOGIN_BURST: o mesmo login, disparado em rajadas (medido à parte)
+ * - REGISTER: POST /api/register de um usuário novo
+ * - PROFILE: GET /api/user/profile com o token de um usuário existente
+ */
+public enum Operation {
+
+    LOGIN("login", true),
+    LOGIN_BURST("login_burst", false),
+    REGISTER("register", true),
+    PROFILE("profile", true);
+
+    private final String label;
+    private final boolean inMix;
+
+    Operation(String label, boolean inMix) {
+        this.label = label;
+        this.inMix = inMix;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Se a operação pode ser sorteada no tráfego contínuo (mix)
+     */
+    public boolean inMix() {
+        return inMix;
+    }
+
+    public static Operation fromName(String label) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.label.equals(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Operação desconhecida: " + label));
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.fatec.modulo2.login_api.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências e respostas de uma operação
+ *
+ * As latências são gravadas em microssegundos num {@link Recorder}, que
+ * aceita gravações concorrentes sem lock; o relatório periódico troca o
+ * histograma do intervalo e o acumula no total da rodada.
+ *
+ * A latência é medida a partir do instante em que a requisição deveria ter
+ * sido enviada segundo a taxa configurada, não de quando saiu de fato: se o
+ * sistema atrasa e o gerador fica para trás, a espera aparece nos percentis
+ * (sem "coordinated omission").
+ */
+public final class OperationStats {
+
+    /**
+     * Maior latência registrável (60s); acima disso é truncada
+     */
+    static final long HIGHEST_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final Operation operation;
+    private final Recorder recorder = new Recorder(HIGHEST_MICROS, 3);
+    private final Histogram total = new Histogram(HIGHEST_MICROS, 3);
+    private Histogram interval;
+
+    private final LongAdder success = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+
+    public OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    public Operation operation() {
+        return operation;
+    }
+
+    /**
+     * Resposta HTTP recebida, com a latência em nanossegundos
+     */
+    public void record(long latencyNanos, int status) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        recorder.recordValue(Math.min(micros, HIGHEST_MICROS));
+
+        if (status == 429) {
+            rateLimited.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+
+    /**
+     * Falha sem resposta (conexão recusada, timeout da requisição)
+     */
+    public void error() {
+        transportErrors.increment();
+    }
+
+    /**
+     * Histograma desde a última chamada, já somado ao total. Usado apenas
+     * pela thread de relatório.
+     */
+    Histogram drainInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    Histogram total() {
+        return total;
+    }
+
+    long requests() {
+        return success.sum() + clientErrors.sum() + rateLimited.sum() + serverErrors.sum() + transportErrors.sum();
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> outcomes = new LinkedHashMap<>();
+        outcomes.put("success", success.sum());
+        outcomes.put("clientError", clientErrors.sum());
+        outcomes.put("rateLimited", rateLimited.sum());
+        outcomes.put("serverError", serverErrors.sum());
+        outcomes.put("transportError", transportErrors.sum());
+        return outcomes;
+    }
+
+    long rateLimited() {
+        return rateLimited.sum();
+    }
+}
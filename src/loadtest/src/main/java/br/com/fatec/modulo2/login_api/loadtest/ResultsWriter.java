@@ -0,0 +1,129 @@
+package br.com.fatec.modulo2.login_api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resumo da rodada em JSON (results/&lt;label&gt;-&lt;data&gt;.json)
+ *
+ * Junto fica o log de histogramas por intervalo (.hlog), que pode ser
+ * reprocessado ou comparado com o HistogramLogProcessor do HdrHistogram.
+ */
+final class ResultsWriter {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    void write(Path file, LoadTestConfig config, String target, Instant startedAt,
+               Map<Operation, OperationStats> stats) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("label", config.label());
+        document.put("target", target);
+        document.put("startedAt", startedAt.toString());
+        document.put("config", configSummary(config));
+
+        Histogram all = new Histogram(OperationStats.HIGHEST_MICROS, 3);
+        long requests = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (OperationStats operationStats : stats.values()) {
+            if (operationStats.requests() == 0) {
+                continue;
+            }
+            all.add(operationStats.total());
+            requests += operationStats.requests();
+            operations.put(operationStats.operation().label(), summary(config, operationStats.requests(),
+                    operationStats.outcomes(), operationStats.total()));
+        }
+        document.put("operations", operations);
+        document.put("total", summary(config, requests, null, all));
+
+        json.writeValue(file.toFile(), document);
+    }
+
+    /**
+     * Tabela final no console
+     */
+    void print(PrintStream out, LoadTestConfig config, Map<Operation, OperationStats> stats) {
+        out.printf("%-12s %10s %10s %9s %9s %9s %9s %9s %8s%n",
+                "operação", "requisições", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms", "falhas");
+        for (OperationStats operationStats : stats.values()) {
+            long requests = operationStats.requests();
+            if (requests == 0) {
+                continue;
+            }
+            Histogram histogram = operationStats.total();
+            Map<String, Long> outcomes = operationStats.outcomes();
+            out.printf("%-12s %10d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f %8d%n",
+                    operationStats.operation().label(),
+                    requests,
+                    requests / seconds(config),
+                    millis(histogram, 50),
+                    millis(histogram, 90),
+                    millis(histogram, 99),
+                    millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000d,
+                    requests - outcomes.get("success"));
+        }
+    }
+
+    private static Map<String, Object> configSummary(LoadTestConfig config) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("duration", config.duration().toString());
+        summary.put("warmup", config.warmup().toString());
+        summary.put("rate", config.rate());
+        summary.put("maxInFlight", config.maxInFlight());
+        summary.put("users", config.users());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> mix.put(entry.getKey().label(), entry.getValue()));
+        summary.put("mix", mix);
+        summary.put("burstSize", config.burstSize());
+        summary.put("burstInterval", config.burstInterval().toString());
+        summary.put("httpVersion", config.httpVersion().toString());
+        return summary;
+    }
+
+    private static Map<String, Object> summary(LoadTestConfig config, long requests,
+                                               Map<String, Long> outcomes, Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("throughput", round(requests / seconds(config)));
+        if (outcomes != null) {
+            summary.put("outcomes", outcomes);
+        }
+        Map<String, Object> latency = new LinkedHashMap<>();
+        if (histogram.getTotalCount() > 0) {
+            for (double percentile : PERCENTILES) {
+                latency.put("p" + (percentile == Math.rint(percentile)
+                        ? String.valueOf((int) percentile)
+                        : String.valueOf(percentile).replace(".", "")), round(millis(histogram, percentile)));
+            }
+            latency.put("max", round(histogram.getMaxValue() / 1000d));
+            latency.put("mean", round(histogram.getMean() / 1000d));
+        }
+        summary.put("latencyMs", latency);
+        return summary;
+    }
+
+    private static double seconds(LoadTestConfig config) {
+        return config.duration().toNanos() / 1e9;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000d;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000d) / 1000d;
+    }
+}
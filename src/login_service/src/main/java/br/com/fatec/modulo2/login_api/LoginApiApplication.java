@@ -1,9 +1,12 @@
 package br.com.fatec.modulo2.login_api;
 
+import br.com.fatec.modulo2.login_api.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class LoginApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,53 @@
+package br.com.fatec.modulo2.login_api.audit;
+
+/**
+ * Tipo de um evento de auditoria: operação + resultado
+ *
+ * O código (um byte) é o que vai para o arquivo; nunca reutilize nem
+ * renumere um código existente, senão segmentos antigos mudam de sentido.
+ */
+public enum AuditEventType {
+
+    LOGIN_SUCCESS(1),
+    LOGIN_FAILURE(2),
+    LOGIN_RATE_LIMITED(3),
+    // 503: fila de hashing cheia
+    LOGIN_REJECTED(4),
+
+    REGISTER_SUCCESS(10),
+    REGISTER_CONFLICT(11),
+    REGISTER_RATE_LIMITED(12),
+    // 503: fila de hashing cheia
+    REGISTER_REJECTED(13),
+
+    TOKEN_VALID(20),
+    TOKEN_MALFORMED(21),
+    TOKEN_INVALID(22),
+    TOKEN_EXPIRED(23),
+    TOKEN_REVOKED(24);
+
+    private static final AuditEventType[] BY_CODE = new AuditEventType[128];
+
+    static {
+        for (AuditEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    AuditEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * @return Tipo do código, ou null se desconhecido (segmento de uma versão mais nova)
+     */
+    public static AuditEventType fromCode(byte code) {
+        return code < 0 ? null : BY_CODE[code];
+    }
+}
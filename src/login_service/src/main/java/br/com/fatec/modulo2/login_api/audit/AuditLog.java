@@ -0,0 +1,198 @@
+package br.com.fatec.modulo2.login_api.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Trilha de auditoria de login, registro e validação de tokens
+ *
+ * {@link #record} só grava os campos do evento num slot do
+ * {@link AuditRingBuffer}: sem lock, sem alocação e sem IO na thread da
+ * requisição. Uma thread própria drena a fila em lotes para o
+ * {@link AuditSegmentWriter}, com um fsync por lote (group commit). Ociosa,
+ * ela confere a fila a cada audit.flush-interval, que é o atraso máximo até
+ * um evento chegar ao disco.
+ *
+ * Com a fila cheia (disco lento ou rajada) audit.backpressure decide:
+ * - DROP (padrão): o evento é descartado e contado em {@link #dropped()}
+ * - BLOCK: a requisição espera um slot livre
+ *
+ * Tokens válidos são a maior parte do tráfego e ficam fora da trilha, a não
+ * ser com audit.include-valid-tokens. Os segmentos são lidos pelo
+ * {@link AuditLogReader}.
+ */
+@Component
+public class AuditLog implements DisposableBean {
+
+    public enum Backpressure {
+        DROP,
+        BLOCK
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final int MAX_BATCH = 8192;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final AuditRingBuffer ring;
+    private final AuditSegmentWriter writer;
+    private final Backpressure backpressure;
+    private final boolean includeValidTokens;
+    private final long flushIntervalNanos;
+    private final Thread thread;
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean closed;
+
+    @Autowired
+    public AuditLog(
+            @Value("${audit.enabled:true}") boolean enabled,
+            @Value("${audit.path:./data/audit}") String path,
+            @Value("${audit.buffer-size:65536}") int bufferSize,
+            @Value("${audit.backpressure:DROP}") Backpressure backpressure,
+            @Value("${audit.segment-size-bytes:67108864}") long segmentBytes,
+            @Value("${audit.max-segments:64}") int maxSegments,
+            @Value("${audit.fsync:true}") boolean fsync,
+            @Value("${audit.flush-interval:PT0.05S}") Duration flushInterval,
+            @Value("${audit.include-valid-tokens:false}") boolean includeValidTokens
+    ) {
+        this(enabled ? Path.of(path) : null, bufferSize, backpressure, segmentBytes, maxSegments, fsync,
+                flushInterval, includeValidTokens);
+    }
+
+    /**
+     * @param directory Diretório dos segmentos, ou null para desligar a auditoria
+     */
+    AuditLog(Path directory, int bufferSize, Backpressure backpressure, long segmentBytes, int maxSegments,
+             boolean fsync, Duration flushInterval, boolean includeValidTokens) {
+        this.backpressure = backpressure;
+        this.includeValidTokens = includeValidTokens;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        if (directory == null) {
+            this.ring = null;
+            this.writer = null;
+            this.thread = null;
+            return;
+        }
+
+        try {
+            this.writer = new AuditSegmentWriter(directory, segmentBytes, maxSegments, fsync);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir trilha de auditoria em " + directory, e);
+        }
+        this.ring = new AuditRingBuffer(bufferSize);
+        this.thread = new Thread(this::run, "audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Auditoria desligada: {@link #record} não faz nada (testes e ferramentas)
+     */
+    public static AuditLog disabled() {
+        return new AuditLog(null, 1, Backpressure.DROP, 0, 0, false, Duration.ofSeconds(1), false);
+    }
+
+    /**
+     * Registra um evento
+     *
+     * @param subject       Username, se conhecido
+     * @param remoteAddress Endereço remoto da conexão
+     * @param forwardedFor  Header X-Forwarded-For, se houver (resolvido só na gravação)
+     */
+    public void record(AuditEventType type, String subject, String remoteAddress, String forwardedFor) {
+        if (!isRecorded(type)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        while (!ring.offer(now, type, subject, remoteAddress, forwardedFor)) {
+            if (backpressure == Backpressure.DROP || closed) {
+                dropped.increment();
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Se eventos do tipo vão para a trilha (para não montar os campos à toa)
+     */
+    public boolean isRecorded(AuditEventType type) {
+        return ring != null && (includeValidTokens || type != AuditEventType.TOKEN_VALID);
+    }
+
+    /**
+     * Eventos gravados no disco
+     */
+    public long written() {
+        return writer == null ? 0 : writer.written();
+    }
+
+    /**
+     * Eventos perdidos: fila cheia com DROP ou erro de IO
+     */
+    public long dropped() {
+        return dropped.sum() + (writer == null ? 0 : writer.failed());
+    }
+
+    /**
+     * Eventos aguardando a thread de gravação
+     */
+    public int pending() {
+        return ring == null ? 0 : ring.size();
+    }
+
+    /**
+     * Grava o que estiver na fila e encerra a thread de gravação
+     */
+    @Override
+    public void destroy() {
+        if (thread == null || closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(CLOSE_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            // Lido antes de drenar: o último ciclo pega o que chegou até o fechamento
+            boolean stopping = closed;
+            try {
+                if (ring.drain(writer::append, MAX_BATCH) > 0) {
+                    writer.commit();
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                log.error("Erro na gravação da trilha de auditoria", e);
+            }
+            if (stopping) {
+                break;
+            }
+            LockSupport.parkNanos(this, flushIntervalNanos);
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.error("Erro ao fechar trilha de auditoria", e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package br.com.fatec.modulo2.login_api.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32C;
+
+/**
+ * Consulta e acompanha os segmentos gravados pelo {@link AuditLog}
+ *
+ * {@link #query} percorre os segmentos em ordem e para em cada um no último
+ * registro completo; segmentos inteiros anteriores a {@code since} são
+ * pulados pelo primeiro registro do segmento seguinte. {@link #follow} faz o
+ * mesmo e continua esperando registros novos, inclusive em segmentos criados
+ * por rotação (como um {@code tail -f}).
+ *
+ * Só usa classes do JDK, então roda fora do serviço:
+ * <pre>
+ * java -cp app.jar -Dloader.main=br.com.fatec.modulo2.login_api.audit.AuditLogReader \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     --dir=./data/audit --since=2026-01-01T00:00:00Z --type=LOGIN_FAILURE --subject=maria --follow
+ * </pre>
+ */
+public final class AuditLogReader {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(200);
+
+    private final Path directory;
+    private final CRC32C crc = new CRC32C();
+
+    public AuditLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Entrega os registros a partir de {@code since} que passam no filtro
+     *
+     * @param since Instante mínimo, ou null para todos
+     */
+    public void query(Instant since, Predicate<AuditRecord> filter, Consumer<AuditRecord> action) {
+        Predicate<AuditRecord> selected = withSince(since, filter);
+        List<Path> segments = segments();
+        for (int i = firstSegment(segments, since); i < segments.size(); i++) {
+            read(segments.get(i), AuditSegments.MAGIC.length, selected, action);
+        }
+    }
+
+    /**
+     * Como {@link #query}, e depois espera registros novos enquanto {@code running} for true
+     */
+    public void follow(Instant since, Predicate<AuditRecord> filter, Consumer<AuditRecord> action,
+                       BooleanSupplier running) {
+        Predicate<AuditRecord> selected = withSince(since, filter);
+        List<Path> segments = segments();
+        int current = firstSegment(segments, since);
+        Path segment = current < segments.size() ? segments.get(current) : null;
+        long position = AuditSegments.MAGIC.length;
+
+        while (running.getAsBoolean()) {
+            if (segment != null) {
+                position = read(segment, position, selected, action);
+            }
+            Path next = nextSegment(segment);
+            if (next != null) {
+                // O writer só abre um segmento novo depois de terminar o anterior:
+                // uma última leitura pega o que faltou dele
+                if (segment != null) {
+                    read(segment, position, selected, action);
+                }
+                segment = next;
+                position = AuditSegments.MAGIC.length;
+                continue;
+            }
+            sleep();
+        }
+    }
+
+    /**
+     * Lê os registros de {@code from} até o último completo
+     *
+     * @return Posição depois do último registro lido
+     */
+    private long read(Path segment, long from, Predicate<AuditRecord> filter, Consumer<AuditRecord> action) {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= from) {
+                // Inclui um segmento recém-criado, ainda sem o magic
+                return from;
+            }
+            if (from == AuditSegments.MAGIC.length && !hasMagic(channel)) {
+                throw new IllegalStateException("Arquivo não é um segmento de auditoria: " + segment);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, size - from);
+            AuditRecord record;
+            while ((record = AuditSegments.decode(buffer, crc)) != null) {
+                if (filter.test(record)) {
+                    action.accept(record);
+                }
+            }
+            return from + buffer.position();
+        } catch (NoSuchFileException e) {
+            // Apagado pela retenção enquanto era lido
+            return from;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler segmento de auditoria " + segment, e);
+        }
+    }
+
+    private static boolean hasMagic(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(AuditSegments.MAGIC.length);
+        channel.read(magic, 0);
+        return !magic.hasRemaining() && Arrays.equals(magic.array(), AuditSegments.MAGIC);
+    }
+
+    /**
+     * Primeiro segmento que pode ter registros a partir de {@code since}
+     */
+    private int firstSegment(List<Path> segments, Instant since) {
+        if (since == null) {
+            return 0;
+        }
+        long sinceMillis = since.toEpochMilli();
+        int first = 0;
+        for (int i = 1; i < segments.size(); i++) {
+            AuditRecord head = firstRecord(segments.get(i));
+            if (head == null || head.timestampMillis() > sinceMillis) {
+                break;
+            }
+            first = i;
+        }
+        return first;
+    }
+
+    private AuditRecord firstRecord(Path segment) {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long available = Math.min(channel.size(), AuditSegments.MAGIC.length + AuditSegments.MAX_RECORD_SIZE);
+            if (available <= AuditSegments.MAGIC.length) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) available - AuditSegments.MAGIC.length);
+            channel.read(buffer, AuditSegments.MAGIC.length);
+            return AuditSegments.decode(buffer.flip(), crc);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Path nextSegment(Path segment) {
+        long index = segment == null ? -1 : AuditSegments.index(segment);
+        for (Path candidate : segments()) {
+            if (AuditSegments.index(candidate) > index) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private List<Path> segments() {
+        try {
+            return AuditSegments.list(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao listar segmentos de auditoria em " + directory, e);
+        }
+    }
+
+    private static Predicate<AuditRecord> withSince(Instant since, Predicate<AuditRecord> filter) {
+        if (since == null) {
+            return filter;
+        }
+        long sinceMillis = since.toEpochMilli();
+        return record -> record.timestampMillis() >= sinceMillis && filter.test(record);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Linha de comando: imprime um registro por linha (instante, tipo, subject, IP)
+     *
+     * Opções: --dir= (padrão ./data/audit), --since=, --type=, --subject=, --ip=, --follow
+     */
+    public static void main(String[] args) {
+        Path directory = Path.of("./data/audit");
+        Instant since = null;
+        Predicate<AuditRecord> filter = record -> true;
+        boolean follow = false;
+
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg : arg.substring(0, equals);
+            String value = equals < 0 ? "" : arg.substring(equals + 1);
+            switch (name) {
+                case "--dir" -> directory = Path.of(value);
+                case "--since" -> since = Instant.parse(value);
+                case "--type" -> {
+                    AuditEventType type = AuditEventType.valueOf(value);
+                    filter = filter.and(record -> record.type() == type);
+                }
+                case "--subject" -> filter = filter.and(record -> record.subject().equals(value));
+                case "--ip" -> filter = filter.and(record -> record.clientIp().equals(value));
+                case "--follow" -> follow = true;
+                default -> {
+                    System.err.println("Opção desconhecida: " + arg);
+                    System.exit(2);
+                }
+            }
+        }
+
+        AuditLogReader reader = new AuditLogReader(directory);
+        Consumer<AuditRecord> print = record -> System.out.println(record.toLine());
+        if (follow) {
+            reader.follow(since, filter, print, () -> !Thread.currentThread().isInterrupted());
+        } else {
+            reader.query(since, filter, print);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.fatec.modulo2.login_api.audit;
+
+import java.time.Instant;
+
+/**
+ * Evento de auditoria lido de um segmento
+ *
+ * @param timestampMillis Instante do evento, em ms desde a época
+ * @param type            Operação + resultado (null se o código é desconhecido)
+ * @param subject         Username (login, registro, token válido/revogado) ou vazio
+ * @param clientIp        IP do cliente (último valor do X-Forwarded-For, ou o endereço remoto)
+ */
+public record AuditRecord(long timestampMillis, AuditEventType type, String subject, String clientIp) {
+
+    public Instant timestamp() {
+        return Instant.ofEpochMilli(timestampMillis);
+    }
+
+    /**
+     * Uma linha separada por tabs: instante, tipo, subject, IP
+     */
+    public String toLine() {
+        return timestamp() + "\t" + type + "\t" + subject + "\t" + clientIp;
+    }
+}
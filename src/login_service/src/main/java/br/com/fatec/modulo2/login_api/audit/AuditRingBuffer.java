@@ -0,0 +1,126 @@
+package br.com.fatec.modulo2.login_api.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fila circular de eventos de auditoria: vários produtores, um consumidor,
+ * sem lock
+ *
+ * Os slots são pré-alocados em arrays paralelos (timestamp, tipo, subject,
+ * endereço remoto, X-Forwarded-For), então publicar um evento não aloca: o
+ * produtor reserva uma sequência com CAS no {@code tail}, preenche o slot e o
+ * libera gravando a sequência em {@code published} (escrita com release). O
+ * consumidor lê os slots na ordem enquanto a sequência publicada confere,
+ * limpa as referências e avança o {@code head}.
+ *
+ * Cheia, a fila recusa o evento ({@link #offer} devolve false); quem decide
+ * entre descartar e esperar é o {@link AuditLog}.
+ */
+final class AuditRingBuffer {
+
+    /**
+     * Recebe os campos de cada evento drenado
+     */
+    interface Handler {
+
+        void onEvent(long timestampMillis, AuditEventType type, String subject,
+                     String remoteAddress, String forwardedFor);
+    }
+
+    private final int mask;
+    private final long[] timestamps;
+    private final AuditEventType[] types;
+    private final String[] subjects;
+    private final String[] remoteAddresses;
+    private final String[] forwardedFors;
+    private final AtomicLongArray published;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity Eventos em espera (arredondado para potência de 2)
+     */
+    AuditRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade da fila de auditoria inválida: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.timestamps = new long[size];
+        this.types = new AuditEventType[size];
+        this.subjects = new String[size];
+        this.remoteAddresses = new String[size];
+        this.forwardedFors = new String[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Publica um evento
+     *
+     * @return false se a fila está cheia
+     */
+    boolean offer(long timestampMillis, AuditEventType type, String subject,
+                  String remoteAddress, String forwardedFor) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        timestamps[index] = timestampMillis;
+        types[index] = type;
+        subjects[index] = subject;
+        remoteAddresses[index] = remoteAddress;
+        forwardedFors[index] = forwardedFor;
+        published.lazySet(index, sequence);
+        return true;
+    }
+
+    /**
+     * Entrega ao handler até {@code max} eventos publicados, na ordem
+     *
+     * Só pode ser chamado por uma thread (o consumidor).
+     *
+     * @return Quantidade de eventos drenados
+     */
+    int drain(Handler handler, int max) {
+        long sequence = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) sequence & mask;
+            if (published.get(index) != sequence) {
+                // Vazia, ou o produtor ainda está preenchendo o slot
+                break;
+            }
+            handler.onEvent(timestamps[index], types[index], subjects[index],
+                    remoteAddresses[index], forwardedFors[index]);
+            types[index] = null;
+            subjects[index] = null;
+            remoteAddresses[index] = null;
+            forwardedFors[index] = null;
+            sequence++;
+            drained++;
+            head.lazySet(sequence);
+        }
+        return drained;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Eventos reservados e ainda não drenados (aproximado)
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+}
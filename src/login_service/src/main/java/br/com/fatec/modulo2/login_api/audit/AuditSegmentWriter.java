@@ -0,0 +1,181 @@
+package br.com.fatec.modulo2.login_api.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Grava eventos em segmentos append-only, com rotação por tamanho
+ *
+ * Os registros são codificados num buffer direto e escritos no
+ * {@link FileChannel} em blocos; {@link #commit()} escreve o que sobrou e faz
+ * um único fsync para o lote inteiro (group commit). Ao passar de
+ * {@code segmentBytes} o segmento é fechado e um novo é aberto; acima de
+ * {@code maxSegments} os mais antigos são apagados.
+ *
+ * Cada inicialização abre um segmento novo, então um fim de arquivo
+ * interrompido por uma queda nunca recebe registros depois dele.
+ *
+ * Usado só pela thread do {@link AuditLog}. Erros de IO não sobem: os eventos
+ * do bloco perdido são contados em {@link #failed()} e o próximo lote vai
+ * para um segmento novo.
+ */
+final class AuditSegmentWriter implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditSegmentWriter.class);
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxSegments;
+    private final boolean fsync;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32C crc = new CRC32C();
+
+    private FileChannel channel;
+    private long nextIndex;
+    private int buffered;
+    private long written;
+    private long failed;
+
+    AuditSegmentWriter(Path directory, long segmentBytes, int maxSegments, boolean fsync) throws IOException {
+        if (segmentBytes < AuditSegments.MAX_RECORD_SIZE || maxSegments < 1) {
+            throw new IllegalArgumentException("Tamanho e quantidade de segmentos de auditoria inválidos");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        List<Path> existing = AuditSegments.list(directory);
+        this.nextIndex = existing.isEmpty() ? 1 : AuditSegments.index(existing.getLast()) + 1;
+        openSegment();
+    }
+
+    /**
+     * Codifica um evento no buffer (escreve o buffer no arquivo se estiver cheio)
+     */
+    void append(long timestampMillis, AuditEventType type, String subject,
+                String remoteAddress, String forwardedFor) {
+        if (buffer.remaining() < AuditSegments.MAX_RECORD_SIZE) {
+            writeBuffer();
+        }
+        AuditSegments.encode(buffer, crc, timestampMillis, type, subject, clientIp(remoteAddress, forwardedFor));
+        buffered++;
+    }
+
+    /**
+     * Escreve o que está no buffer, faz um fsync pelo lote e rotaciona se preciso
+     */
+    void commit() {
+        writeBuffer();
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (fsync) {
+                channel.force(false);
+            }
+            if (channel.size() >= segmentBytes) {
+                rotate();
+            }
+        } catch (IOException e) {
+            log.error("Erro ao confirmar segmento de auditoria em {}", directory, e);
+            closeQuietly();
+        }
+    }
+
+    long written() {
+        return written;
+    }
+
+    long failed() {
+        return failed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        commit();
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void writeBuffer() {
+        if (buffered == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            if (channel == null) {
+                openSegment();
+            }
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            written += buffered;
+        } catch (IOException e) {
+            failed += buffered;
+            log.error("Erro ao gravar {} eventos de auditoria em {}", buffered, directory, e);
+            closeQuietly();
+        } finally {
+            buffer.clear();
+            buffered = 0;
+        }
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+        channel = null;
+        openSegment();
+
+        List<Path> segments = AuditSegments.list(directory);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    private void openSegment() throws IOException {
+        Path path = AuditSegments.path(directory, nextIndex++);
+        FileChannel opened = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer magic = ByteBuffer.wrap(AuditSegments.MAGIC);
+        while (magic.hasRemaining()) {
+            opened.write(magic);
+        }
+        channel = opened;
+    }
+
+    private void closeQuietly() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ignored) {
+            // O canal já falhou; o próximo lote abre outro segmento
+        }
+        channel = null;
+    }
+
+    /**
+     * Último valor do X-Forwarded-For (o que o gateway viu), ou o endereço remoto
+     */
+    static String clientIp(String remoteAddress, String forwardedFor) {
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            return forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+        }
+        return remoteAddress;
+    }
+}
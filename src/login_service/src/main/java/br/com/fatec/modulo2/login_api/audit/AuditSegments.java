@@ -0,0 +1,148 @@
+package br.com.fatec.modulo2.login_api.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato dos segmentos de auditoria, compartilhado pelo writer e pelo reader
+ *
+ * Arquivos {@code audit-<índice com 20 dígitos>.seg}, em ordem de criação.
+ * Cada um começa com o magic "AUD1" seguido dos registros:
+ *
+ * [short tamanho][int crc32c][long timestamp][byte tipo][byte len][IP][byte len][subject]
+ *
+ * IP e subject em UTF-8, cortados em 255 bytes. Um registro incompleto ou com
+ * CRC errado no fim do segmento é uma escrita em andamento (ou interrompida)
+ * e termina a leitura.
+ */
+final class AuditSegments {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+
+    static final byte[] MAGIC = {'A', 'U', 'D', '1'};
+
+    static final int RECORD_HEADER_SIZE = Short.BYTES + Integer.BYTES;
+    static final int MAX_FIELD_BYTES = 255;
+    static final int MAX_RECORD_SIZE = RECORD_HEADER_SIZE + Long.BYTES + 1 + 2 * (1 + MAX_FIELD_BYTES);
+
+    private AuditSegments() {
+    }
+
+    static Path path(Path directory, long index) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, index, SUFFIX));
+    }
+
+    /**
+     * Segmentos do diretório, do mais antigo ao mais novo
+     */
+    static List<Path> list(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(Comparator.comparingLong(AuditSegments::index));
+        return segments;
+    }
+
+    static long index(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Grava um registro em {@code buffer}, que deve ter {@link #MAX_RECORD_SIZE} bytes livres
+     */
+    static void encode(ByteBuffer buffer, CRC32C crc, long timestampMillis, AuditEventType type,
+                       String subject, String clientIp) {
+        byte[] ip = utf8(clientIp);
+        byte[] user = utf8(subject);
+        int ipLength = truncatedLength(ip);
+        int userLength = truncatedLength(user);
+
+        int start = buffer.position();
+        int payloadStart = start + RECORD_HEADER_SIZE;
+        buffer.position(payloadStart);
+        buffer.putLong(timestampMillis);
+        buffer.put(type.code());
+        buffer.put((byte) ipLength).put(ip, 0, ipLength);
+        buffer.put((byte) userLength).put(user, 0, userLength);
+        int end = buffer.position();
+
+        crc.reset();
+        crc.update(buffer.slice(payloadStart, end - payloadStart));
+        buffer.putShort(start, (short) (end - payloadStart));
+        buffer.putInt(start + Short.BYTES, (int) crc.getValue());
+    }
+
+    /**
+     * Lê o registro na posição atual e avança o buffer
+     *
+     * @return Registro, ou null (sem avançar) se incompleto ou corrompido
+     */
+    static AuditRecord decode(ByteBuffer buffer, CRC32C crc) {
+        int start = buffer.position();
+        if (buffer.remaining() < RECORD_HEADER_SIZE) {
+            return null;
+        }
+        int length = buffer.getShort(start) & 0xFFFF;
+        int checksum = buffer.getInt(start + Short.BYTES);
+        int payloadStart = start + RECORD_HEADER_SIZE;
+        if (length < Long.BYTES + 3 || length > buffer.limit() - payloadStart) {
+            return null;
+        }
+
+        ByteBuffer payload = buffer.slice(payloadStart, length);
+        crc.reset();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        long timestamp = payload.getLong();
+        AuditEventType type = AuditEventType.fromCode(payload.get());
+        String ip = readString(payload);
+        String subject = readString(payload);
+        buffer.position(payloadStart + length);
+        return new AuditRecord(timestamp, type, subject, ip);
+    }
+
+    private static String readString(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.get() & 0xFF];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Corta em {@link #MAX_FIELD_BYTES} sem partir um caractere UTF-8 ao meio
+     */
+    private static int truncatedLength(byte[] bytes) {
+        if (bytes.length <= MAX_FIELD_BYTES) {
+            return bytes.length;
+        }
+        int length = MAX_FIELD_BYTES;
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,178 @@
+package br.com.fatec.modulo2.login_api.cache;
+
+import br.com.fatec.modulo2.login_api.service.VerifiedToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache em memória de tokens JWT já verificados
+ *
+ * A chave é o próprio token (a assinatura HMAC faz parte dele, então dois
+ * tokens distintos nunca colidem). Uma entrada nunca é servida após o "exp"
+ * do token; a quantidade de entradas e o tamanho máximo de cada token são
+ * limitados por configuração, o que limita o consumo de memória.
+ *
+ * Leituras não usam lock. Quando o limite é atingido, uma única thread faz a
+ * limpeza: remove primeiro as entradas expiradas e, se ainda necessário,
+ * entradas arbitrárias até liberar uma fração do cache. Enquanto ela limpa,
+ * os outros tokens que encontram o cache cheio não são armazenados (seguem
+ * verificados, só não entram): o cache passa do limite no máximo pelas
+ * inserções que já tinham passado da verificação de tamanho.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * Fração do cache liberada quando o limite é atingido sem entradas expiradas
+     */
+    private static final double EVICTION_FRACTION = 0.1;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int maxTokenLength;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<String, Entry> entries;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(
+            @Value("${jwt.cache.enabled:true}") boolean enabled,
+            @Value("${jwt.cache.max-entries:10000}") int maxEntries,
+            @Value("${jwt.cache.max-token-length:1024}") int maxTokenLength
+    ) {
+        this(enabled, maxEntries, maxTokenLength, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(boolean enabled, int maxEntries, int maxTokenLength, Clock clock) {
+        this.enabled = enabled && maxEntries > 0;
+        this.maxEntries = maxEntries;
+        this.maxTokenLength = maxTokenLength;
+        this.clock = clock;
+        this.entries = new ConcurrentHashMap<>(Math.max(16, Math.min(maxEntries, 1 << 16)));
+    }
+
+    /**
+     * Busca um token verificado no cache
+     *
+     * @param token Token JWT (sem o prefixo "Bearer ")
+     * @return Token verificado, ou null se ausente ou expirado
+     */
+    public VerifiedToken get(String token) {
+        if (!enabled) {
+            return null;
+        }
+
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (clock.millis() >= entry.expiresAtMillis()) {
+            // Nunca serve uma entrada após o "exp" do token
+            if (entries.remove(token, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.token();
+    }
+
+    /**
+     * Armazena um token recém-verificado
+     *
+     * Tokens sem expiração ou maiores que o limite configurado não são armazenados.
+     *
+     * @param token    Token JWT (sem o prefixo "Bearer ")
+     * @param verified Resultado da verificação
+     */
+    public void put(String token, VerifiedToken verified) {
+        if (!enabled || token.length() > maxTokenLength || verified.expiresAt() == null) {
+            return;
+        }
+
+        long expiresAtMillis = verified.expiresAt().toEpochMilli();
+        if (clock.millis() >= expiresAtMillis) {
+            return;
+        }
+
+        if (entries.size() >= maxEntries && !evict()) {
+            return;
+        }
+        entries.put(token, new Entry(verified, expiresAtMillis));
+    }
+
+    /**
+     * Remove um token do cache
+     */
+    public void invalidate(String token) {
+        entries.remove(token);
+    }
+
+    /**
+     * Estatísticas acumuladas desde a inicialização
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxEntries);
+    }
+
+    /**
+     * @return false se outra thread já está limpando (nada foi removido aqui)
+     */
+    private boolean evict() {
+        // Apenas uma thread limpa por vez; as demais seguem sem esperar
+        if (!evictionLock.tryLock()) {
+            return false;
+        }
+        try {
+            long now = clock.millis();
+            entries.forEach((token, entry) -> {
+                if (now >= entry.expiresAtMillis() && entries.remove(token, entry)) {
+                    evictions.increment();
+                }
+            });
+
+            int target = maxEntries - Math.max(1, (int) (maxEntries * EVICTION_FRACTION));
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+            return true;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private record Entry(VerifiedToken token, long expiresAtMillis) {
+    }
+
+    /**
+     * Contadores do cache
+     *
+     * @param hits      Buscas atendidas pelo cache
+     * @param misses    Buscas que precisaram verificar o token
+     * @param evictions Entradas removidas por expiração ou por limite de tamanho
+     * @param size      Quantidade atual de entradas
+     * @param capacity  Quantidade máxima de entradas
+     */
+    public record Stats(long hits, long misses, long evictions, int size, int capacity) {
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.fatec.modulo2.login_api.cluster;
+
+import br.com.fatec.modulo2.login_api.ratelimit.TokenBucketLimiter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de tentativas somado entre réplicas, em janelas fixas
+ *
+ * Cada chave (IP, username) tem um contador por janela no backend
+ * ("attempts:&lt;nome&gt;:&lt;janela&gt;:&lt;chave&gt;"). A decisão é local:
+ * o total conhecido do cluster mais as tentativas ainda não enviadas por esta
+ * réplica, comparado a {@code maxAttempts} com um CAS. {@link #sync()} envia
+ * as pendentes (INCRBY) e traz o total atualizado de volta.
+ *
+ * Staleness limitada: entre duas sincronizações cada réplica só enxerga as
+ * próprias tentativas, então o cluster pode passar do limite em no máximo
+ * (réplicas - 1) x tentativas aceitas por réplica nesse intervalo. O token
+ * bucket local continua na frente e limita essa rajada.
+ *
+ * As janelas usam o relógio de parede, para que todas as réplicas contem na
+ * mesma. Como no {@code TokenBucketLimiter}, acima de {@code maxKeys} chaves
+ * as novas dividem contadores de transbordo, um por faixa do hash da chave.
+ */
+public class ClusterAttemptCounter {
+
+    static final String KEY_PREFIX = "attempts:";
+
+    private static final String OVERFLOW_KEY_PREFIX = "*";
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ClusterBackend backend;
+    private final String name;
+    private final int maxAttempts;
+    private final long windowMillis;
+    private final Duration counterTtl;
+    private final int maxKeys;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param name        Nome do limite (compõe a chave no backend)
+     * @param maxAttempts Tentativas permitidas por janela, somando todas as réplicas
+     * @param window      Tamanho da janela
+     * @param maxKeys     Quantidade máxima de chaves rastreadas individualmente
+     */
+    public ClusterAttemptCounter(ClusterBackend backend, String name, int maxAttempts, Duration window, int maxKeys) {
+        this(backend, name, maxAttempts, window, maxKeys, Clock.systemUTC());
+    }
+
+    ClusterAttemptCounter(ClusterBackend backend, String name, int maxAttempts, Duration window, int maxKeys,
+                          Clock clock) {
+        if (maxAttempts < 1 || window.toMillis() < 1) {
+            throw new IllegalArgumentException("Limite e janela devem ser positivos");
+        }
+        this.backend = backend;
+        this.name = name;
+        this.maxAttempts = maxAttempts;
+        this.windowMillis = window.toMillis();
+        // Sobra uma janela para réplicas atrasadas ainda somarem na anterior
+        this.counterTtl = window.multipliedBy(2);
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * Conta uma tentativa da chave, se ainda houver limite na janela
+     *
+     * @return 0 se permitida; senão, nanossegundos até a próxima janela
+     */
+    public long tryAcquire(String key) {
+        long now = clock.millis();
+        long window = now / windowMillis;
+        Counter counter = counter(key, window);
+
+        while (true) {
+            long pending = counter.pending.get();
+            if (counter.known + pending >= maxAttempts) {
+                return ((window + 1) * windowMillis - now) * NANOS_PER_MILLI;
+            }
+            if (counter.pending.compareAndSet(pending, pending + 1)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Envia as tentativas pendentes ao backend e atualiza os totais conhecidos
+     *
+     * Contadores de janelas passadas enviam o que falta e são descartados.
+     */
+    public void sync() {
+        long window = clock.millis() / windowMillis;
+        counters.forEach((key, counter) -> {
+            long pending = counter.pending.get();
+            if (counter.window != window) {
+                if (pending > 0) {
+                    backend.incrementBy(backendKey(key, counter.window), pending, counterTtl);
+                }
+                counters.remove(key, counter);
+                return;
+            }
+            long total = backend.incrementBy(backendKey(key, window), pending, counterTtl);
+            // Total antes de descontar as pendentes: no intervalo elas contam
+            // duas vezes (mais restritivo), nunca nenhuma
+            counter.known = total;
+            counter.pending.addAndGet(-pending);
+        });
+    }
+
+    /**
+     * Quantidade de chaves rastreadas individualmente
+     */
+    public int size() {
+        return counters.size();
+    }
+
+    private Counter counter(String key, long window) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= maxKeys) {
+                key = OVERFLOW_KEY_PREFIX + TokenBucketLimiter.overflowStripe(key);
+            }
+            counter = counters.computeIfAbsent(key, k -> new Counter(window));
+        }
+        if (counter.window != window) {
+            // Janela nova: começa do zero até a próxima sincronização
+            Counter fresh = new Counter(window);
+            counters.replace(key, counter, fresh);
+            counter = counters.getOrDefault(key, fresh);
+        }
+        return counter;
+    }
+
+    private String backendKey(String key, long window) {
+        return KEY_PREFIX + name + ':' + window + ':' + key;
+    }
+
+    private static final class Counter {
+
+        final long window;
+        final AtomicLong pending = new AtomicLong();
+        volatile long known;
+
+        Counter(long window) {
+            this.window = window;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.fatec.modulo2.login_api.cluster;
+
+import java.time.Duration;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Estado compartilhado entre as réplicas do login-service
+ *
+ * Chave-valor de strings com expiração, contadores atômicos e pub/sub para
+ * mensagens de invalidação. Cada operação corresponde a um comando (ou a um
+ * script Lua curto) de um servidor compatível com Redis, indicado no Javadoc;
+ * {@link EmbeddedClusterBackend} é a implementação em processo.
+ *
+ * As réplicas não leem daqui no caminho quente: cada uma mantém uma cópia
+ * local ({@link NearCache}, {@code RevocationIndex}, contadores pendentes) e
+ * usa o backend para propagar escritas. Implementações devem ser thread-safe.
+ */
+public interface ClusterBackend {
+
+    /**
+     * Valor da chave (GET)
+     *
+     * @return Valor, ou null se a chave não existe ou expirou
+     */
+    String get(String key);
+
+    /**
+     * Grava o valor (SET key value [PX ttl])
+     *
+     * @param ttl Validade da chave, ou null para não expirar
+     */
+    void set(String key, String value, Duration ttl);
+
+    /**
+     * Grava o valor apenas se a chave não existir (SET key value NX [PX ttl])
+     *
+     * @param ttl Validade da chave, ou null para não expirar
+     * @return true se a chave foi criada
+     */
+    boolean setIfAbsent(String key, String value, Duration ttl);
+
+    /**
+     * Troca o valor apenas se ainda for {@code expected} (script Lua: GET + SET)
+     *
+     * Mantém a validade da chave.
+     *
+     * @return true se o valor foi substituído
+     */
+    boolean compareAndSet(String key, String expected, String value);
+
+    /**
+     * Soma {@code delta} ao contador (INCRBY; PEXPIRE NX na criação)
+     *
+     * Com delta 0 só lê o valor atual, sem criar a chave.
+     *
+     * @param ttl Validade do contador a partir da criação, ou null para não expirar
+     * @return Valor após a soma (chave inexistente vale 0)
+     */
+    long incrementBy(String key, long delta, Duration ttl);
+
+    /**
+     * Percorre as chaves com o prefixo (SCAN MATCH prefix*; visão fracamente consistente)
+     */
+    void scan(String prefix, BiConsumer<String, String> action);
+
+    /**
+     * Publica uma mensagem no canal para todas as réplicas, inclusive esta (PUBLISH)
+     *
+     * A entrega é "no máximo uma vez": quem depende dela também tem um limite
+     * de staleness (TTL do near-cache, reconciliação periódica).
+     */
+    void publish(String channel, String message);
+
+    /**
+     * Recebe as mensagens do canal (SUBSCRIBE)
+     *
+     * O listener roda numa thread do backend e não deve bloquear.
+     */
+    Subscription subscribe(String channel, Consumer<String> listener);
+
+    /**
+     * Inscrição em um canal; {@link #close()} encerra o recebimento
+     */
+    interface Subscription extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fatec.modulo2.login_api.cluster;
+
+import br.com.fatec.modulo2.login_api.revocation.RevocationIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Propaga as revogações de tokens entre réplicas
+ *
+ * A consulta continua local ({@link RevocationIndex}, filtro de Bloom + mapa).
+ * Um logout grava "revoked:&lt;jti&gt;" no backend com validade até o "exp"
+ * do token e publica a revogação; as outras réplicas a aplicam no próprio
+ * índice ao receber a mensagem. Uma reconciliação periódica relê as
+ * revogações do backend, cobrindo mensagens perdidas e réplicas que subiram
+ * depois do logout: o atraso máximo é cluster.resync-interval.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterRevocations implements AutoCloseable {
+
+    static final String KEY_PREFIX = "revoked:";
+    static final String CHANNEL = "revocations";
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRevocations.class);
+
+    private final ClusterBackend backend;
+    private final RevocationIndex index;
+    private final Clock clock;
+    private final ClusterBackend.Subscription subscription;
+
+    @Autowired
+    public ClusterRevocations(ClusterBackend backend, RevocationIndex index) {
+        this(backend, index, Clock.systemUTC());
+    }
+
+    ClusterRevocations(ClusterBackend backend, RevocationIndex index, Clock clock) {
+        this.backend = backend;
+        this.index = index;
+        this.clock = clock;
+        this.subscription = backend.subscribe(CHANNEL, this::onMessage);
+        index.replicateTo(this::publish);
+        resync();
+    }
+
+    /**
+     * Aplica no índice local todas as revogações vivas do backend
+     */
+    @Scheduled(
+            initialDelayString = "${cluster.resync-interval:PT30S}",
+            fixedDelayString = "${cluster.resync-interval:PT30S}"
+    )
+    public void resync() {
+        backend.scan(KEY_PREFIX, (key, expiresAtMillis) -> index.applyReplicated(
+                key.substring(KEY_PREFIX.length()), Instant.ofEpochMilli(Long.parseLong(expiresAtMillis))));
+    }
+
+    @Override
+    public void close() {
+        subscription.close();
+    }
+
+    private void publish(String jti, Instant expiresAt) {
+        Duration ttl = Duration.between(clock.instant(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        backend.set(KEY_PREFIX + jti, Long.toString(expiresAtMillis), ttl);
+        backend.publish(CHANNEL, jti + ' ' + expiresAtMillis);
+    }
+
+    /**
+     * "&lt;jti&gt; &lt;exp em ms&gt;"
+     */
+    private void onMessage(String message) {
+        int space = message.lastIndexOf(' ');
+        try {
+            index.applyReplicated(message.substring(0, space),
+                    Instant.ofEpochMilli(Long.parseLong(message.substring(space + 1))));
+        } catch (RuntimeException e) {
+            log.warn("Mensagem de revogação inválida ignorada: {}", message);
+        }
+    }
+}
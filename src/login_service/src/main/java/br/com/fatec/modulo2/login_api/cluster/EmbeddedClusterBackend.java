@@ -0,0 +1,153 @@
+package br.com.fatec.modulo2.login_api.cluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClusterBackend} em processo, sem servidor externo
+ *
+ * Serve para rodar com cluster.enabled em um único nó e para testes: várias
+ * "réplicas" no mesmo processo compartilham a mesma instância. As operações
+ * atômicas são {@link ConcurrentHashMap#compute}; as mensagens são entregues
+ * na thread de quem publica, antes de {@link #publish} retornar.
+ *
+ * Chaves expiradas somem na leitura e numa varredura a cada
+ * {@value #SWEEP_EVERY_WRITES} escritas (contadores de janelas antigas não
+ * voltam a ser lidos).
+ */
+public class EmbeddedClusterBackend implements ClusterBackend {
+
+    private static final int SWEEP_EVERY_WRITES = 4096;
+
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<Consumer<String>>> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger writes = new AtomicInteger();
+
+    public EmbeddedClusterBackend() {
+        this(Clock.systemUTC());
+    }
+
+    EmbeddedClusterBackend(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String get(String key) {
+        Entry entry = live(entries.get(key), clock.millis());
+        return entry == null ? null : entry.value();
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        entries.put(key, new Entry(value, expiresAt(ttl, clock.millis())));
+        afterWrite();
+    }
+
+    @Override
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        long now = clock.millis();
+        Entry created = new Entry(value, expiresAt(ttl, now));
+        boolean[] inserted = new boolean[1];
+        entries.compute(key, (k, current) -> {
+            if (live(current, now) != null) {
+                return current;
+            }
+            inserted[0] = true;
+            return created;
+        });
+        afterWrite();
+        return inserted[0];
+    }
+
+    @Override
+    public boolean compareAndSet(String key, String expected, String value) {
+        long now = clock.millis();
+        boolean[] replaced = new boolean[1];
+        entries.computeIfPresent(key, (k, current) -> {
+            if (live(current, now) == null) {
+                return null;
+            }
+            if (!current.value().equals(expected)) {
+                return current;
+            }
+            replaced[0] = true;
+            return new Entry(value, current.expiresAtMillis());
+        });
+        return replaced[0];
+    }
+
+    @Override
+    public long incrementBy(String key, long delta, Duration ttl) {
+        long now = clock.millis();
+        if (delta == 0) {
+            String value = get(key);
+            return value == null ? 0 : Long.parseLong(value);
+        }
+        Entry updated = entries.compute(key, (k, current) -> {
+            Entry alive = live(current, now);
+            if (alive == null) {
+                return new Entry(Long.toString(delta), expiresAt(ttl, now));
+            }
+            return new Entry(Long.toString(Long.parseLong(alive.value()) + delta), alive.expiresAtMillis());
+        });
+        afterWrite();
+        return Long.parseLong(updated.value());
+    }
+
+    @Override
+    public void scan(String prefix, BiConsumer<String, String> action) {
+        long now = clock.millis();
+        entries.forEach((key, entry) -> {
+            if (key.startsWith(prefix) && live(entry, now) != null) {
+                action.accept(key, entry.value());
+            }
+        });
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        List<Consumer<String>> listeners = channels.get(channel);
+        if (listeners != null) {
+            listeners.forEach(listener -> listener.accept(message));
+        }
+    }
+
+    @Override
+    public Subscription subscribe(String channel, Consumer<String> listener) {
+        List<Consumer<String>> listeners = channels.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>());
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Quantidade de chaves, inclusive as expiradas ainda não varridas
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void afterWrite() {
+        if (writes.incrementAndGet() % SWEEP_EVERY_WRITES == 0) {
+            long now = clock.millis();
+            entries.values().removeIf(entry -> live(entry, now) == null);
+        }
+    }
+
+    private static Entry live(Entry entry, long now) {
+        return entry == null || now >= entry.expiresAtMillis() ? null : entry;
+    }
+
+    private static long expiresAt(Duration ttl, long now) {
+        return ttl == null ? Long.MAX_VALUE : now + ttl.toMillis();
+    }
+
+    private record Entry(String value, long expiresAtMillis) {
+    }
+}
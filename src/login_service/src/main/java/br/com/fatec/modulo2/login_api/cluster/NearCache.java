@@ -0,0 +1,100 @@
+package br.com.fatec.modulo2.login_api.cluster;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cópia local, limitada, de valores lidos do {@link ClusterBackend}
+ *
+ * Acertos são uma leitura de {@link ConcurrentHashMap}, sem ida ao backend.
+ * Ausências também ficam em cache (valor null), para que nomes inexistentes
+ * repetidos não custem uma consulta remota cada.
+ *
+ * Quem escreve no backend publica uma invalidação, e cada réplica remove a
+ * chave daqui ({@link #invalidate}). Como o pub/sub pode perder mensagens,
+ * toda entrada também vence após {@code ttl}: esse é o limite de staleness
+ * de uma leitura.
+ *
+ * Uma carga que começou antes de uma invalidação não é guardada (contador de
+ * invalidações conferido antes e depois), então uma leitura antiga não volta
+ * ao cache depois de invalidada.
+ */
+public class NearCache {
+
+    private static final double EVICTION_FRACTION = 0.1;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param maxEntries Quantidade máxima de chaves em cache
+     * @param ttl        Validade de uma entrada sem invalidação
+     */
+    public NearCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    NearCache(int maxEntries, Duration ttl, LongSupplier nanoClock) {
+        if (maxEntries < 1 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Tamanho e validade do near-cache devem ser positivos");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Valor da chave, do cache ou do {@code loader} (que pode devolver null)
+     */
+    public String get(String key, Function<String, String> loader) {
+        long now = nanoClock.getAsLong();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAtNanos() < ttlNanos) {
+            return entry.value();
+        }
+
+        long generation = invalidations.get();
+        String value = loader.apply(key);
+        if (invalidations.get() == generation) {
+            if (entries.size() >= maxEntries) {
+                evict();
+            }
+            entries.put(key, new Entry(value, now));
+        }
+        return value;
+    }
+
+    /**
+     * Remove a chave; a próxima leitura vai ao backend
+     */
+    public void invalidate(String key) {
+        invalidations.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private synchronized void evict() {
+        long now = nanoClock.getAsLong();
+        entries.values().removeIf(entry -> now - entry.loadedAtNanos() >= ttlNanos);
+        int target = maxEntries - Math.max(1, (int) (maxEntries * EVICTION_FRACTION));
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Entry(String value, long loadedAtNanos) {
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.fatec.modulo2.login_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Usuários com papel de administrador (security.admin-users)
+ *
+ * Os tokens não carregam papéis: os filtros JWT consultam esta lista a cada
+ * requisição autenticada. Tirar um nome da lista vale no próximo restart,
+ * sem esperar os tokens já emitidos expirarem.
+ *
+ * Vazia por padrão. Como o papel vem só do nome, os nomes da lista não podem
+ * ser cadastrados pelo /api/register (responde 409): a conta do administrador
+ * entra pela importação offline ou pelo cadastro em lote de outro administrador.
+ */
+@Component
+public class AdminUsers {
+
+    public static final String ROLE = "ADMIN";
+
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES = AuthorityUtils.createAuthorityList("ROLE_" + ROLE);
+
+    private final Set<String> usernames;
+
+    public AdminUsers(@Value("${security.admin-users:}") Set<String> usernames) {
+        this.usernames = Set.copyOf(usernames);
+    }
+
+    /**
+     * Nenhum administrador (testes e benchmarks)
+     */
+    public static AdminUsers none() {
+        return new AdminUsers(Set.of());
+    }
+
+    public boolean isAdmin(String username) {
+        return usernames.contains(username);
+    }
+
+    public List<GrantedAuthority> authoritiesOf(String username) {
+        return isAdmin(username) ? ADMIN_AUTHORITIES : AuthorityUtils.NO_AUTHORITIES;
+    }
+}
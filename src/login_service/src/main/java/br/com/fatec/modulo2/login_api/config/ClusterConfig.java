@@ -0,0 +1,28 @@
+package br.com.fatec.modulo2.login_api.config;
+
+import br.com.fatec.modulo2.login_api.cluster.ClusterBackend;
+import br.com.fatec.modulo2.login_api.cluster.EmbeddedClusterBackend;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Backend do estado compartilhado entre réplicas (cluster.enabled)
+ *
+ * cluster.backend:
+ * - embedded (padrão): em processo; um único nó, ou várias réplicas nos testes
+ *
+ * Um backend compatível com Redis entra aqui como outro bean condicional,
+ * implementando {@link ClusterBackend}. Sem cluster.enabled nenhum bean é
+ * criado e usuários, revogações e limites ficam só na memória de cada nó.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cluster.backend", havingValue = "embedded", matchIfMissing = true)
+    public ClusterBackend embeddedClusterBackend() {
+        return new EmbeddedClusterBackend();
+    }
+}
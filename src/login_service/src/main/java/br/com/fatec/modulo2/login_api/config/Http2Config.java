@@ -0,0 +1,43 @@
+package br.com.fatec.modulo2.login_api.config;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Limites de HTTP/2 (h2c) do conector do Tomcat
+ *
+ * Com server.http2.enabled o Tomcat aceita h2c por prior knowledge, que é
+ * como o gateway se conecta: cada conexão leva até max-concurrent-streams
+ * requisições ao mesmo tempo. Por padrão o Tomcat anuncia 100 streams, mas
+ * só executa 20 por conexão e enfileira o resto; aqui os dois limites ficam
+ * iguais, para que o gateway abra uma conexão nova em vez de esperar numa
+ * fila escondida.
+ *
+ * Sem server.http2.enabled o conector não tem {@link Http2Protocol} e nada
+ * muda. O keep-alive das conexões HTTP/2 é o server.tomcat.keep-alive-timeout.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class Http2Config {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> http2StreamLimits(
+            @Value("${http2.max-concurrent-streams:200}") int maxConcurrentStreams,
+            @Value("${http2.max-concurrent-stream-execution:200}") int maxConcurrentStreamExecution
+    ) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2.setMaxConcurrentStreamExecution(maxConcurrentStreamExecution);
+                }
+            }
+        });
+    }
+}
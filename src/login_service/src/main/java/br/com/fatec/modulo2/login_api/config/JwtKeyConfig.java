@@ -0,0 +1,78 @@
+package br.com.fatec.modulo2.login_api.config;
+
+import br.com.fatec.modulo2.login_api.keys.JwtKeyring;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Monta o {@link JwtKeyring} conforme jwt.algorithm
+ *
+ * - HMAC (padrão): chave simétrica jwt.secret, sem rotação
+ * - ES256 / EdDSA: par de chaves com "kid", rotacionado a cada
+ *   jwt.keys.rotation-interval e publicado em /.well-known/jwks.json
+ */
+@Configuration
+@EnableScheduling
+public class JwtKeyConfig {
+
+    /**
+     * Tolerância de relógio somada à validade do token na retenção de chaves antigas
+     */
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    @Bean
+    public JwtKeyring jwtKeyring(
+            @Value("${jwt.algorithm:HMAC}") JwtKeyring.Algorithm algorithm,
+            @Value("${jwt.secret:}") String secret,
+            @Value("${jwt.expiration}") long expiration,
+            @Value("${jwt.keys.path:}") String path,
+            @Value("${jwt.keys.accept-hmac:false}") boolean acceptHmac,
+            @Value("${jwt.keys.rotation-interval:P7D}") Duration rotationInterval,
+            @Value("${jwt.keys.publish-ahead:PT10M}") Duration publishAhead
+    ) {
+        if (!algorithm.isAsymmetric()) {
+            return JwtKeyring.hmac(secret);
+        }
+        return JwtKeyring.asymmetric(
+                algorithm,
+                acceptHmac ? secret : null,
+                path.isBlank() ? null : Path.of(path),
+                rotationInterval,
+                publishAhead,
+                Duration.ofMillis(expiration).plus(CLOCK_SKEW),
+                Clock.systemUTC()
+        );
+    }
+
+    @Bean
+    public KeyRotationTask keyRotationTask(JwtKeyring keyring) {
+        return new KeyRotationTask(keyring);
+    }
+
+    /**
+     * Verifica periodicamente se é hora de publicar, ativar ou descartar chaves
+     */
+    static class KeyRotationTask {
+
+        private final JwtKeyring keyring;
+
+        KeyRotationTask(JwtKeyring keyring) {
+            this.keyring = keyring;
+        }
+
+        @Scheduled(
+                initialDelayString = "${jwt.keys.check-interval:PT1M}",
+                fixedDelayString = "${jwt.keys.check-interval:PT1M}"
+        )
+        public void rotate() {
+            keyring.rotate();
+        }
+    }
+}
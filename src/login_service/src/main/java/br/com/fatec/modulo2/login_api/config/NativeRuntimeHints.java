@@ -0,0 +1,77 @@
+package br.com.fatec.modulo2.login_api.config;
+
+import br.com.fatec.modulo2.login_api.dto.BulkRegisterResult;
+import br.com.fatec.modulo2.login_api.dto.BulkRegisterSummary;
+import br.com.fatec.modulo2.login_api.dto.LoginRequest;
+import br.com.fatec.modulo2.login_api.dto.LoginResponse;
+import br.com.fatec.modulo2.login_api.dto.RefreshRequest;
+import br.com.fatec.modulo2.login_api.dto.RegisterRequest;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Reflexão e recursos que a imagem nativa (perfil native) não descobre sozinha
+ *
+ * - jjwt: a API instancia a implementação pelo nome da classe e acha o
+ *   serializador Jackson via ServiceLoader
+ * - DTOs: os handlers reativos leem o corpo com bodyToMono(X.class) e o
+ *   cadastro em lote usa o ObjectMapper direto, fora do que o AOT infere
+ *   dos controllers
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionAlgorithm",
+            "io.jsonwebtoken.impl.compression.GzipCompressionAlgorithm",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    static final List<Class<?>> BOUND_TYPES = List.of(
+            LoginRequest.class,
+            RegisterRequest.class,
+            RefreshRequest.class,
+            LoginResponse.class,
+            BulkRegisterResult.class,
+            BulkRegisterSummary.class,
+            BulkRegisterSummary.Line.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        // Provider opcional: o jjwt só o carrega se estiver no classpath
+        hints.reflection().registerTypeIfPresent(classLoader, "org.bouncycastle.jce.provider.BouncyCastleProvider",
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                BOUND_TYPES.toArray(Class<?>[]::new));
+    }
+}
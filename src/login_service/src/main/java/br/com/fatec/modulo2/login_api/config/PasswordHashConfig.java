@@ -0,0 +1,43 @@
+package br.com.fatec.modulo2.login_api.config;
+
+import br.com.fatec.modulo2.login_api.password.PasswordHashCalibrator;
+import br.com.fatec.modulo2.login_api.password.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Monta o {@link PasswordHasher} conforme security.password.hash
+ *
+ * - algorithm: bcrypt (padrão), pbkdf2 ou argon2
+ * - calibrate (padrão true): mede o hardware na inicialização e escolhe o
+ *   custo mais próximo de target-time
+ * - cost: custo fixo quando calibrate=false (0 = padrão do algoritmo)
+ */
+@Configuration
+public class PasswordHashConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashConfig.class);
+
+    @Bean
+    public PasswordHasher passwordHasher(
+            @Value("${security.password.hash.algorithm:BCRYPT}") PasswordHasher.Algorithm algorithm,
+            @Value("${security.password.hash.calibrate:true}") boolean calibrate,
+            @Value("${security.password.hash.target-time:PT0.1S}") Duration targetTime,
+            @Value("${security.password.hash.cost:0}") int cost,
+            @Value("${security.password.hash.argon2-memory-kib:19456}") int argon2MemoryKib
+    ) {
+        if (calibrate) {
+            return new PasswordHasher(PasswordHashCalibrator.calibrate(algorithm, argon2MemoryKib, targetTime));
+        }
+
+        int fixedCost = algorithm.clamp(cost > 0 ? cost : algorithm.defaultCost());
+        PasswordHasher.Policy policy = new PasswordHasher.Policy(algorithm, fixedCost, argon2MemoryKib);
+        log.info("Hash de senhas: {} (custo fixo)", policy.version());
+        return new PasswordHasher(policy);
+    }
+}
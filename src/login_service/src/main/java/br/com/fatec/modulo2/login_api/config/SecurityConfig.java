@@ -1,6 +1,7 @@
 package br.com.fatec.modulo2.login_api.config;
 
 import br.com.fatec.modulo2.login_api.filter.JwtAuthenticationFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,6 +11,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 public class SecurityConfig {
 
@@ -25,7 +27,13 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
 
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/login", "/api/register", "/api/health").permitAll()
+                        .requestMatchers("/api/login", "/api/register", "/api/refresh", "/api/health").permitAll()
+                        // Chaves públicas para verificadores (gateway)
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
+                        // Actuator: a porta 8081 só é acessível pela rede interna
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        // Cadastro em lote: um token qualquer sairia de um auto-registro
+                        .requestMatchers("/api/register/bulk").hasRole(AdminUsers.ROLE)
                         .anyRequest().authenticated()
                 )
                 // Stateless - não cria sessão (usa JWT)
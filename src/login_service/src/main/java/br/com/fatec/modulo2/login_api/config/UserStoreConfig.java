@@ -0,0 +1,68 @@
+package br.com.fatec.modulo2.login_api.config;
+
+import br.com.fatec.modulo2.login_api.cluster.ClusterBackend;
+import br.com.fatec.modulo2.login_api.cluster.NearCache;
+import br.com.fatec.modulo2.login_api.store.ClusterUserStore;
+import br.com.fatec.modulo2.login_api.store.ExistenceFilteredUserStore;
+import br.com.fatec.modulo2.login_api.store.FileUserStore;
+import br.com.fatec.modulo2.login_api.store.InMemoryUserStore;
+import br.com.fatec.modulo2.login_api.store.UserStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Seleciona a implementação do {@link UserStore}
+ *
+ * users.store.type:
+ * - memory (padrão): apenas em memória, perdido ao reiniciar
+ * - file: log append-only + snapshot em users.store.path
+ * - cluster: compartilhado entre réplicas pelo backend do cluster (exige cluster.enabled)
+ *
+ * Com users.existence-filter.enabled (padrão) os stores locais ficam atrás de
+ * um {@link ExistenceFilteredUserStore}, que responde usuários inexistentes
+ * sem consultá-los.
+ */
+@Configuration
+public class UserStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "users.store.type", havingValue = "memory", matchIfMissing = true)
+    public UserStore inMemoryUserStore(
+            @Value("${users.existence-filter.enabled:true}") boolean filterEnabled,
+            @Value("${users.existence-filter.expected-users:1000000}") int expectedUsers
+    ) {
+        return withExistenceFilter(new InMemoryUserStore(), filterEnabled, expectedUsers);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "users.store.type", havingValue = "file")
+    public UserStore fileUserStore(
+            @Value("${users.store.path}") String path,
+            @Value("${users.store.fsync:true}") boolean fsync,
+            @Value("${users.store.compact-threshold-bytes:67108864}") long compactThresholdBytes,
+            @Value("${users.existence-filter.enabled:true}") boolean filterEnabled,
+            @Value("${users.existence-filter.expected-users:1000000}") int expectedUsers
+    ) {
+        return withExistenceFilter(
+                new FileUserStore(Path.of(path), fsync, compactThresholdBytes), filterEnabled, expectedUsers);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "users.store.type", havingValue = "cluster")
+    public UserStore clusterUserStore(
+            ClusterBackend backend,
+            @Value("${cluster.near-cache.max-entries:100000}") int maxEntries,
+            @Value("${cluster.near-cache.ttl:PT5S}") Duration ttl
+    ) {
+        return new ClusterUserStore(backend, new NearCache(maxEntries, ttl));
+    }
+
+    private static UserStore withExistenceFilter(UserStore store, boolean enabled, int expectedUsers) {
+        return enabled ? new ExistenceFilteredUserStore(store, expectedUsers) : store;
+    }
+}
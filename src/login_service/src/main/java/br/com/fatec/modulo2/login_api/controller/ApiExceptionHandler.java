@@ -0,0 +1,48 @@
+package br.com.fatec.modulo2.login_api.controller;
+
+import br.com.fatec.modulo2.login_api.exception.ServiceBusyException;
+import br.com.fatec.modulo2.login_api.exception.TooManyRequestsException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Tratamento de exceções comum aos controllers
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ApiExceptionHandler {
+
+    /**
+     * Fila de hashing cheia: falha rápido para o cliente tentar novamente depois
+     *
+     * Retorna:
+     * - 503 SERVICE UNAVAILABLE: { "error": "Serviço sobrecarregado, tente novamente" }
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String, String>> handleServiceBusy(ServiceBusyException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Serviço sobrecarregado, tente novamente"));
+    }
+
+    /**
+     * Limite de tentativas de login/registro excedido
+     *
+     * Retorna:
+     * - 429 TOO MANY REQUESTS: { "error": "Muitas tentativas, tente novamente mais tarde" }
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Muitas tentativas, tente novamente mais tarde"));
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.fatec.modulo2.login_api.controller;
+
+import br.com.fatec.modulo2.login_api.dto.BulkRegisterSummary;
+import br.com.fatec.modulo2.login_api.ratelimit.LoginRateLimiter;
+import br.com.fatec.modulo2.login_api.service.BulkRegistrationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api")
+public class BulkRegisterController {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final BulkRegistrationService bulkRegistration;
+    private final LoginRateLimiter rateLimiter;
+    private final ObjectWriter writer;
+
+    public BulkRegisterController(BulkRegistrationService bulkRegistration, LoginRateLimiter rateLimiter,
+                                  ObjectMapper objectMapper) {
+        this.bulkRegistration = bulkRegistration;
+        this.rateLimiter = rateLimiter;
+        this.writer = objectMapper.writer();
+    }
+
+    /**
+     * Cadastro em lote (requer token de administrador)
+     * POST /register/bulk
+     * Content-Type: application/x-ndjson ou text/csv
+     *
+     * A resposta é NDJSON em streaming: uma linha por conta, na ordem do
+     * arquivo, enviada assim que o lote dela é gravado, e por fim os totais:
+     * {"line": 1, "username": "maria", "status": "created"}
+     * {"summary": {"total": 1, "created": 1, "exists": 0, "invalid": 0, "failed": 0}}
+     *
+     * A requisição ocupa a thread do Tomcat (virtual, se habilitado) até o fim
+     * da importação; nem a entrada nem a resposta ficam inteiras em memória.
+     * Cada importação conta como um registro no limite por IP (429) e só
+     * users.bulk.max-concurrent-imports correm ao mesmo tempo (503).
+     */
+    @PostMapping(value = "/register/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public void registerBulk(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BulkRegistrationService.Format format = BulkRegistrationService.Format.detect(request.getContentType());
+        rateLimiter.checkRegister(rateLimiter.clientIp(request.getRemoteAddr(), request.getHeader("X-Forwarded-For")));
+        Runnable release = bulkRegistration.acquireImport();
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            BulkRegisterSummary summary = bulkRegistration.register(reader, format, result -> {
+                try {
+                    writeLine(out, result);
+                } catch (IOException e) {
+                    // Cliente desconectou: interrompe a importação
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writeLine(out, summary.asLine());
+        } finally {
+            release.run();
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(writer.writeValueAsBytes(value));
+        out.write(NEWLINE);
+        out.flush();
+    }
+}
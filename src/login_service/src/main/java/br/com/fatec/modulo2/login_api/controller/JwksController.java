@@ -0,0 +1,39 @@
+package br.com.fatec.modulo2.login_api.controller;
+
+import br.com.fatec.modulo2.login_api.keys.JwtKeyring;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publica as chaves públicas de verificação (RFC 7517)
+ *
+ * No modo HMAC o conjunto é vazio: o segredo nunca é exposto.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class JwksController {
+
+    /**
+     * Tempo que verificadores podem manter o JWKS em cache; bem menor que jwt.keys.publish-ahead
+     */
+    public static final Duration MAX_AGE = Duration.ofMinutes(1);
+
+    private final JwtKeyring keyring;
+
+    public JwksController(JwtKeyring keyring) {
+        this.keyring = keyring;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(MAX_AGE).cachePublic())
+                .body(keyring.jwks());
+    }
+}
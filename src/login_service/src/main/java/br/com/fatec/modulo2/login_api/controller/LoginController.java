@@ -1,27 +1,47 @@
 package br.com.fatec.modulo2.login_api.controller;
 
+import br.com.fatec.modulo2.login_api.audit.AuditEventType;
+import br.com.fatec.modulo2.login_api.audit.AuditLog;
 import br.com.fatec.modulo2.login_api.dto.LoginRequest;
 import br.com.fatec.modulo2.login_api.dto.LoginResponse;
+import br.com.fatec.modulo2.login_api.exception.TooManyRequestsException;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.ratelimit.LoginRateLimiter;
 import br.com.fatec.modulo2.login_api.service.AuthService;
-import br.com.fatec.modulo2.login_api.service.JwtService;
-
-
+import br.com.fatec.modulo2.login_api.service.SessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api")
 public class LoginController {
 
     private final AuthService authService;
-    private final JwtService jwtService;
+    private final SessionService sessionService;
+    private final LoginRateLimiter rateLimiter;
+    private final AuthMetrics metrics;
+    private final AuditLog audit;
 
-    public LoginController(AuthService authService, JwtService jwtService) {
+    public LoginController(
+            AuthService authService,
+            SessionService sessionService,
+            LoginRateLimiter rateLimiter,
+            AuthMetrics metrics,
+            AuditLog audit
+    ) {
         this.authService = authService;
-        this.jwtService = jwtService;
+        this.sessionService = sessionService;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+        this.audit = audit;
     }
 
     @GetMapping("/health")
@@ -38,30 +58,64 @@ public class LoginController {
      * Body: { "username": "admin", "password": "admin123" }
      *
      * Retorna:
-     * - 200 OK: { "token": "eyJhbGc...", "type": "Bearer" }
+     * - 200 OK: { "token": "eyJhbGc...", "type": "Bearer", "expiresIn": ..., "refreshToken": "..." }
      * - 401 UNAUTHORIZED: { "error": "Credenciais inválidas" }
      * - 400 BAD REQUEST: { "error": "Username e password são obrigatórios" }
+     * - 429 TOO MANY REQUESTS: limite por IP ou por username excedido (header Retry-After)
+     * - 503 SERVICE UNAVAILABLE: fila de hashing cheia (header Retry-After)
+     *
+     * O BCrypt roda no pool de hashing; a thread do Tomcat é liberada
+     * enquanto a senha é verificada.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(
+            @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest
+    ) {
         // Validação básica
         if (!request.isValid()) {
-            return ResponseEntity
+            return CompletableFuture.completedFuture(ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("error", "Username e password são obrigatórios"));
+                    .body(Map.of("error", "Username e password são obrigatórios")));
         }
 
-        // Autenticação
-        if (authService.authenticate(request.username(), request.password())) {
-            String token = jwtService.generateToken(request.username());
-            return ResponseEntity.ok(new LoginResponse(token));
+        // Lidos antes do processamento assíncrono: a auditoria grava depois
+        String username = request.username();
+        String remoteAddress = httpRequest.getRemoteAddr();
+        String forwardedFor = httpRequest.getHeader("X-Forwarded-For");
+
+        // Limite de tentativas antes de qualquer BCrypt
+        try {
+            rateLimiter.checkLogin(rateLimiter.clientIp(remoteAddress, forwardedFor), username);
+        } catch (TooManyRequestsException e) {
+            audit.record(AuditEventType.LOGIN_RATE_LIMITED, username, remoteAddress, forwardedFor);
+            throw e;
         }
 
-        // Credenciais inválidas
-        return ResponseEntity
-                .status(HttpStatus.UNAUTHORIZED)
-                .body(Map.of("error", "Credenciais inválidas"));
-    }
+        long start = System.nanoTime();
 
+        // Autenticação
+        return authService.authenticateAsync(request.username(), request.password())
+                .<ResponseEntity<?>>thenApply(authenticated -> {
+                    if (authenticated) {
+                        LoginResponse session = sessionService.open(request.username());
+                        metrics.loginSuccess().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        audit.record(AuditEventType.LOGIN_SUCCESS, username, remoteAddress, forwardedFor);
+                        return ResponseEntity.ok(session);
+                    }
 
-}
\ No newline at end of file
+                    // Credenciais inválidas
+                    metrics.loginFailure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    audit.record(AuditEventType.LOGIN_FAILURE, username, remoteAddress, forwardedFor);
+                    return ResponseEntity
+                            .status(HttpStatus.UNAUTHORIZED)
+                            .body(Map.of("error", "Credenciais inválidas"));
+                })
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        metrics.loginRejected().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        audit.record(AuditEventType.LOGIN_REJECTED, username, remoteAddress, forwardedFor);
+                    }
+                });
+    }
+}
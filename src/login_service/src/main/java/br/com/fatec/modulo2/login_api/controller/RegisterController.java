@@ -1,50 +1,95 @@
 package br.com.fatec.modulo2.login_api.controller;
 
+import br.com.fatec.modulo2.login_api.audit.AuditEventType;
+import br.com.fatec.modulo2.login_api.audit.AuditLog;
+import br.com.fatec.modulo2.login_api.config.AdminUsers;
 import br.com.fatec.modulo2.login_api.dto.RegisterRequest;
+import br.com.fatec.modulo2.login_api.exception.TooManyRequestsException;
+import br.com.fatec.modulo2.login_api.ratelimit.LoginRateLimiter;
 import br.com.fatec.modulo2.login_api.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api")
 public class RegisterController {
 
     private final AuthService authService;
+    private final LoginRateLimiter rateLimiter;
+    private final AuditLog audit;
+    private final AdminUsers admins;
 
-    public RegisterController(AuthService authService) {
+    public RegisterController(AuthService authService, LoginRateLimiter rateLimiter, AuditLog audit, AdminUsers admins) {
         this.authService = authService;
+        this.rateLimiter = rateLimiter;
+        this.audit = audit;
+        this.admins = admins;
     }
 
+    /**
+     * O BCrypt roda no pool de hashing; com a fila cheia retorna
+     * 503 SERVICE UNAVAILABLE com o header Retry-After. Acima do limite
+     * por IP retorna 429 TOO MANY REQUESTS, também com Retry-After. Nomes de
+     * {@link AdminUsers} recebem 409, como um usuário já existente.
+     */
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(
+            @RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest
+    ) {
         if (!request.isValid()) {
-            return ResponseEntity
+            return CompletableFuture.completedFuture(ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("error", "Username e password são obrigatórios"));
+                    .body(Map.of("error", "Username e password são obrigatórios")));
         }
 
-        if (authService.userExists(request.username())) {
-            return ResponseEntity
-                    .status(HttpStatus.CONFLICT)
-                    .body(Map.of("error", "Usuário já existe"));
-        }
+        String username = request.username();
+        String remoteAddress = httpRequest.getRemoteAddr();
+        String forwardedFor = httpRequest.getHeader("X-Forwarded-For");
 
-        boolean registered = authService.registerUser(request.username(), request.password());
+        try {
+            rateLimiter.checkRegister(rateLimiter.clientIp(remoteAddress, forwardedFor));
+        } catch (TooManyRequestsException e) {
+            audit.record(AuditEventType.REGISTER_RATE_LIMITED, username, remoteAddress, forwardedFor);
+            throw e;
+        }
 
-        if (registered) {
-            return ResponseEntity
-                    .status(HttpStatus.CREATED)
-                    .body(Map.of(
-                            "message", "Usuário registrado com sucesso",
-                            "username", request.username()
-                    ));
+        if (admins.isAdmin(username) || authService.userExists(username)) {
+            audit.record(AuditEventType.REGISTER_CONFLICT, username, remoteAddress, forwardedFor);
+            return CompletableFuture.completedFuture(ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Usuário já existe")));
         }
 
-        return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("error", "Erro ao registrar usuário"));
+        return authService.registerUserAsync(request.username(), request.password())
+                .<ResponseEntity<?>>thenApply(registered -> {
+                    if (registered) {
+                        audit.record(AuditEventType.REGISTER_SUCCESS, username, remoteAddress, forwardedFor);
+                        return ResponseEntity
+                                .status(HttpStatus.CREATED)
+                                .body(Map.of(
+                                        "message", "Usuário registrado com sucesso",
+                                        "username", request.username()
+                                ));
+                    }
+
+                    // Outra requisição cadastrou o mesmo usuário entre a verificação e o cadastro
+                    audit.record(AuditEventType.REGISTER_CONFLICT, username, remoteAddress, forwardedFor);
+                    return ResponseEntity
+                            .status(HttpStatus.CONFLICT)
+                            .body(Map.of("error", "Usuário já existe"));
+                })
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        audit.record(AuditEventType.REGISTER_REJECTED, username, remoteAddress, forwardedFor);
+                    }
+                });
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package br.com.fatec.modulo2.login_api.controller;
+
+import br.com.fatec.modulo2.login_api.dto.LoginResponse;
+import br.com.fatec.modulo2.login_api.dto.RefreshRequest;
+import br.com.fatec.modulo2.login_api.service.SessionService;
+import br.com.fatec.modulo2.login_api.service.TokenPrecheck;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api")
+public class TokenController {
+
+    private final SessionService sessionService;
+
+    public TokenController(SessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    /**
+     * Renova a sessão
+     * POST /refresh
+     * Body: { "refreshToken": "q8mX0Lr..." }
+     *
+     * Retorna:
+     * - 200 OK: novo access token e novo refresh token (o anterior deixa de valer)
+     * - 401 UNAUTHORIZED: { "error": "Refresh token inválido ou expirado" }
+     * - 400 BAD REQUEST: { "error": "refreshToken é obrigatório" }
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        if (!request.isValid()) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "refreshToken é obrigatório"));
+        }
+
+        LoginResponse session = sessionService.refresh(request.refreshToken());
+        if (session == null) {
+            return ResponseEntity
+                    .status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Refresh token inválido ou expirado"));
+        }
+        return ResponseEntity.ok(session);
+    }
+
+    /**
+     * Encerra a sessão (requer Bearer token)
+     * POST /logout
+     * Body (opcional): { "refreshToken": "q8mX0Lr..." }
+     *
+     * O access token é revogado até expirar e o refresh token, se for do mesmo
+     * usuário, é descartado.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(required = false) RefreshRequest request
+    ) {
+        int tokenStart = TokenPrecheck.bearerStart(authorization);
+        if (tokenStart < 0) {
+            return ResponseEntity
+                    .status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Token ausente"));
+        }
+        sessionService.close(
+                authorization.substring(tokenStart),
+                request == null ? null : request.refreshToken()
+        );
+        return ResponseEntity.ok(Map.of("message", "Sessão encerrada"));
+    }
+}
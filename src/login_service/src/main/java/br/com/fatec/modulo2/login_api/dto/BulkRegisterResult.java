@@ -0,0 +1,49 @@
+package br.com.fatec.modulo2.login_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resultado de um registro do cadastro em lote (uma linha do NDJSON de resposta)
+ *
+ * Exemplo:
+ * {"line": 42, "username": "maria", "status": "created"}
+ * {"line": 43, "status": "invalid", "error": "Username e password são obrigatórios"}
+ *
+ * status: created | exists | invalid | failed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkRegisterResult(
+        @JsonProperty("line")
+        long line,
+
+        @JsonProperty("username")
+        String username,
+
+        @JsonProperty("status")
+        String status,
+
+        @JsonProperty("error")
+        String error
+) {
+    public static final String CREATED = "created";
+    public static final String EXISTS = "exists";
+    public static final String INVALID = "invalid";
+    public static final String FAILED = "failed";
+
+    public static BulkRegisterResult created(long line, String username) {
+        return new BulkRegisterResult(line, username, CREATED, null);
+    }
+
+    public static BulkRegisterResult exists(long line, String username) {
+        return new BulkRegisterResult(line, username, EXISTS, null);
+    }
+
+    public static BulkRegisterResult invalid(long line, String username, String error) {
+        return new BulkRegisterResult(line, username, INVALID, error);
+    }
+
+    public static BulkRegisterResult failed(long line, String username, String error) {
+        return new BulkRegisterResult(line, username, FAILED, error);
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.fatec.modulo2.login_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Totais do cadastro em lote (última linha do NDJSON de resposta)
+ *
+ * Exemplo:
+ * {"summary": {"total": 1000, "created": 990, "exists": 7, "invalid": 3, "failed": 0}}
+ */
+public record BulkRegisterSummary(
+        @JsonProperty("total")
+        long total,
+
+        @JsonProperty("created")
+        long created,
+
+        @JsonProperty("exists")
+        long exists,
+
+        @JsonProperty("invalid")
+        long invalid,
+
+        @JsonProperty("failed")
+        long failed
+) {
+    /**
+     * Envelope da linha final, para diferenciá-la dos resultados
+     */
+    public record Line(@JsonProperty("summary") BulkRegisterSummary summary) {
+    }
+
+    public Line asLine() {
+        return new Line(this);
+    }
+}
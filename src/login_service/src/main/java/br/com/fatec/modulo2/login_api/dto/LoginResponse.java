@@ -1,5 +1,6 @@
 package br.com.fatec.modulo2.login_api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.Instant;
@@ -15,9 +16,14 @@ import java.time.ZoneId;
  * {
  *   "token": "eyJhbGciOiJIUzI1NiJ9...",
  *   "type": "Bearer",
- *   "expiresIn": 86400000,
- *   "issuedAt": "2024-12-01T10:30:00"
+ *   "expiresIn": 900000,
+ *   "issuedAt": "2024-12-01T10:30:00",
+ *   "refreshToken": "q8mX0Lr...",
+ *   "refreshExpiresIn": 604800000
  * }
+ *
+ * expiresIn e refreshExpiresIn vêm da configuração (jwt.expiration e
+ * jwt.refresh.expiration), em milissegundos.
  */
 public record LoginResponse(
         @JsonProperty("token")
@@ -30,21 +36,28 @@ public record LoginResponse(
         Long expiresIn,
 
         @JsonProperty("issuedAt")
-        String issuedAt
+        String issuedAt,
+
+        @JsonProperty("refreshToken")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String refreshToken,
+
+        @JsonProperty("refreshExpiresIn")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long refreshExpiresIn
 ) {
     /**
-     * Construtor simplificado - apenas token
-     * Define valores padrão para os outros campos
+     * Construtor com token e tempo de expiração, sem refresh token
      */
-    public LoginResponse(String token) {
-        this(token, "Bearer", 86400000L, getCurrentTimestamp());
+    public LoginResponse(String token, Long expiresIn) {
+        this(token, "Bearer", expiresIn, getCurrentTimestamp(), null, null);
     }
 
     /**
-     * Construtor com token e tempo de expiração customizado
+     * Construtor com access token e refresh token
      */
-    public LoginResponse(String token, Long expiresIn) {
-        this(token, "Bearer", expiresIn, getCurrentTimestamp());
+    public LoginResponse(String token, Long expiresIn, String refreshToken, Long refreshExpiresIn) {
+        this(token, "Bearer", expiresIn, getCurrentTimestamp(), refreshToken, refreshExpiresIn);
     }
 
     /**
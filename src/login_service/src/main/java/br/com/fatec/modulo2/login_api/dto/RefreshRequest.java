@@ -0,0 +1,20 @@
+package br.com.fatec.modulo2.login_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO para renovação de sessão e logout
+ *
+ * Exemplo de JSON esperado:
+ * {
+ *   "refreshToken": "q8mX0Lr..."
+ * }
+ */
+public record RefreshRequest(
+        @JsonProperty("refreshToken")
+        String refreshToken
+) {
+    public boolean isValid() {
+        return refreshToken != null && !refreshToken.isBlank();
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.fatec.modulo2.login_api.exception;
+
+/**
+ * Lançada quando o serviço recusa trabalho por estar no limite de capacidade
+ *
+ * Tratada em {@link br.com.fatec.modulo2.login_api.controller.ApiExceptionHandler}
+ * como 503 Service Unavailable com o header Retry-After.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.fatec.modulo2.login_api.exception;
+
+/**
+ * Lançada quando o cliente excede o limite de tentativas
+ *
+ * Tratada em {@link br.com.fatec.modulo2.login_api.controller.ApiExceptionHandler}
+ * como 429 Too Many Requests com o header Retry-After. Não captura stack
+ * trace: sob ataque ela é lançada milhares de vezes por segundo.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,32 +1,69 @@
 package br.com.fatec.modulo2.login_api.filter;
 
+import br.com.fatec.modulo2.login_api.audit.AuditEventType;
+import br.com.fatec.modulo2.login_api.audit.AuditLog;
+import br.com.fatec.modulo2.login_api.cache.VerifiedTokenCache;
+import br.com.fatec.modulo2.login_api.config.AdminUsers;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.revocation.RevocationIndex;
 import br.com.fatec.modulo2.login_api.service.JwtService;
+import br.com.fatec.modulo2.login_api.service.TokenPrecheck;
+import br.com.fatec.modulo2.login_api.service.TokenVerification;
+import br.com.fatec.modulo2.login_api.service.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
 
 /**
  * Filtro de autenticação JWT
  *
  * Intercepta todas as requisições e valida o token Bearer
  * Se o token for válido, autentica o usuário no contexto do Spring Security
+ * Tokens já verificados são reaproveitados do {@link VerifiedTokenCache}; a
+ * revogação ({@link RevocationIndex}) é consultada mesmo nesse caso
+ *
+ * O token é examinado dentro do próprio header ({@link TokenPrecheck}): lixo
+ * é recusado sem substring, sem consulta ao cache, sem criptografia e sem
+ * exceção. A autenticação usa listas de authorities compartilhadas (vazia ou
+ * ROLE_ADMIN, de {@link AdminUsers}) e não leva details (IP/sessão), que nada
+ * no serviço consulta.
+ *
+ * Cada resultado vai para a trilha de auditoria ({@link AuditLog}); tokens
+ * válidos só com audit.include-valid-tokens.
  */
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final RevocationIndex revocations;
+    private final AuthMetrics metrics;
+    private final AuditLog audit;
+    private final AdminUsers admins;
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            VerifiedTokenCache tokenCache,
+            RevocationIndex revocations,
+            AuthMetrics metrics,
+            AuditLog audit,
+            AdminUsers admins
+    ) {
         this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.revocations = revocations;
+        this.metrics = metrics;
+        this.audit = audit;
+        this.admins = admins;
     }
 
     @Override
@@ -38,36 +75,73 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        int tokenStart = TokenPrecheck.bearerStart(authHeader);
+        if (tokenStart < 0) {
+            metrics.filterNoHeader().increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Segmentos, alfabeto e "alg" conferidos no lugar, antes de extrair o token
+        if (!jwtService.isWellFormed(authHeader, tokenStart)) {
+            metrics.filterMalformed().increment();
+            audit(request, AuditEventType.TOKEN_MALFORMED, null);
             filterChain.doFilter(request, response);
             return;
         }
 
-        try {
-            // Extrai o token (remove "Bearer " do início)
-            String token = authHeader.substring(7);
-
-            if (jwtService.validateToken(token)) {
-                String username = jwtService.getUsernameFromToken(token);
-
-                // Cria a autenticação do Spring Security
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                username,
-                                null,
-                                new ArrayList<>()
-                        );
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        String token = authHeader.substring(tokenStart);
+
+        // Tokens já verificados são servidos do cache sem passar pelo JwtService
+        VerifiedToken verified = tokenCache.get(token);
+        if (verified == null) {
+            // Verifica assinatura/expiração e extrai os claims em uma única passada
+            TokenVerification verification = jwtService.checkWellFormed(token);
+            switch (verification.status()) {
+                case VALID -> {
+                    verified = verification.token();
+                    tokenCache.put(token, verified);
+                }
+                case EXPIRED -> {
+                    metrics.filterExpired().increment();
+                    audit(request, AuditEventType.TOKEN_EXPIRED, null);
+                }
+                case INVALID -> {
+                    metrics.filterInvalid().increment();
+                    audit(request, AuditEventType.TOKEN_INVALID, null);
+                }
             }
-        } catch (Exception e) {
-            // Token inválido ou expirado
-            logger.error("Erro ao processar token JWT: " + e.getMessage());
+        }
+
+        // Token revogado (logout) até o seu "exp"
+        if (verified != null && revocations.isRevoked(verified.id())) {
+            metrics.filterRevoked().increment();
+            audit(request, AuditEventType.TOKEN_REVOKED, verified.subject());
+            verified = null;
+        }
+
+        if (verified != null) {
+            metrics.filterValid().increment();
+            audit(request, AuditEventType.TOKEN_VALID, verified.subject());
+
+            // Cria a autenticação do Spring Security
+            UsernamePasswordAuthenticationToken authentication =
+                    UsernamePasswordAuthenticationToken.authenticated(
+                            verified.subject(),
+                            null,
+                            admins.authoritiesOf(verified.subject())
+                    );
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         }
 
         // Continua o filtro chain
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void audit(HttpServletRequest request, AuditEventType type, String subject) {
+        if (!audit.isRecorded(type)) {
+            return;
+        }
+        audit.record(type, subject, request.getRemoteAddr(), request.getHeader("X-Forwarded-For"));
+    }
+}
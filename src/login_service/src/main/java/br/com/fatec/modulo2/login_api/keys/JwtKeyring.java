@@ -0,0 +1,462 @@
+package br.com.fatec.modulo2.login_api.keys;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.Key;
+import java.security.KeyPair;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Conjunto de chaves usadas para assinar e verificar tokens JWT
+ *
+ * No modo HMAC há uma única chave simétrica (jwt.secret), sem "kid". Nos
+ * modos ES256 e EdDSA cada chave tem um "kid" (thumbprint RFC 7638), o token
+ * é assinado com a chave privada ativa e qualquer verificador pode validá-lo
+ * com as chaves públicas publicadas em /.well-known/jwks.json.
+ *
+ * Rotação: uma chave nova é publicada no JWKS {@code publishAhead} antes de
+ * passar a assinar, para que os verificadores (gateway) já a tenham em cache.
+ * A chave substituída continua aceita por {@code retention} (validade do token
+ * + margem) e depois é descartada.
+ *
+ * Réplicas: sem jwt.keys.path cada réplica gera e rotaciona o próprio
+ * chaveiro, e um token só é aceito pela réplica que o assinou (e pelo gateway
+ * só se o JWKS vier dela). Com o diretório compartilhado, cada rotação relê
+ * os arquivos: as chaves geradas por qualquer réplica são publicadas e aceitas
+ * por todas. Os arquivos guardam a chave privada e são criados só com
+ * permissão do dono (rw-------) em sistemas POSIX.
+ *
+ * Todo o estado fica em um {@link Snapshot} imutável trocado de forma atômica
+ * (campo volatile). A busca por "kid" no caminho de verificação é um único
+ * get em um mapa imutável: O(1), sem lock e sem alocação.
+ */
+public class JwtKeyring {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyring.class);
+
+    private static final String KEY_FILE_SUFFIX = ".jwk.json";
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /**
+     * Algoritmos de assinatura suportados (jwt.algorithm)
+     */
+    public enum Algorithm {
+        HMAC(null),
+        ES256(Jwts.SIG.ES256),
+        EdDSA(Jwts.SIG.EdDSA);
+
+        private final SignatureAlgorithm signature;
+
+        Algorithm(SignatureAlgorithm signature) {
+            this.signature = signature;
+        }
+
+        public boolean isAsymmetric() {
+            return signature != null;
+        }
+
+        private KeyPair generate() {
+            // EdDSA: Ed25519 (a curva usada por padrão nos JWKS)
+            return this == EdDSA
+                    ? Jwks.CRV.Ed25519.keyPair().build()
+                    : signature.keyPair().build();
+        }
+    }
+
+    private final Algorithm algorithm;
+    private final SecretKey hmacKey;
+    private final Path directory;
+    private final Duration rotationInterval;
+    private final Duration publishAhead;
+    private final Duration retention;
+    private final Clock clock;
+
+    private final Object rotationLock = new Object();
+    private volatile Snapshot snapshot;
+
+    private JwtKeyring(
+            Algorithm algorithm,
+            SecretKey hmacKey,
+            Path directory,
+            Duration rotationInterval,
+            Duration publishAhead,
+            Duration retention,
+            Clock clock
+    ) {
+        this.algorithm = algorithm;
+        this.hmacKey = hmacKey;
+        this.directory = directory;
+        this.rotationInterval = rotationInterval;
+        this.publishAhead = publishAhead;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /**
+     * Keyring simétrico: assina e verifica com a mesma chave HMAC
+     */
+    public static JwtKeyring hmac(String secret) {
+        JwtKeyring keyring = new JwtKeyring(Algorithm.HMAC, hmacKey(secret),
+                null, Duration.ZERO, Duration.ZERO, Duration.ZERO, Clock.systemUTC());
+        keyring.snapshot = Snapshot.EMPTY;
+        return keyring;
+    }
+
+    /**
+     * Keyring assimétrico com rotação
+     *
+     * @param algorithm        ES256 ou EdDSA
+     * @param legacySecret     Se informado, tokens sem "kid" (HMAC) continuam aceitos; útil na migração
+     * @param directory        Diretório onde as chaves são persistidas, ou null para manter só em memória
+     * @param rotationInterval Tempo de uso de cada chave para assinar
+     * @param publishAhead     Antecedência com que a próxima chave é publicada no JWKS
+     * @param retention        Por quanto tempo uma chave substituída ainda verifica tokens
+     * @param clock            Relógio
+     */
+    public static JwtKeyring asymmetric(
+            Algorithm algorithm,
+            String legacySecret,
+            Path directory,
+            Duration rotationInterval,
+            Duration publishAhead,
+            Duration retention,
+            Clock clock
+    ) {
+        if (!algorithm.isAsymmetric()) {
+            throw new IllegalArgumentException("Algoritmo não é assimétrico: " + algorithm);
+        }
+        if (publishAhead.compareTo(rotationInterval) >= 0) {
+            throw new IllegalArgumentException("publish-ahead deve ser menor que rotation-interval");
+        }
+
+        SecretKey legacy = legacySecret == null || legacySecret.isBlank() ? null : hmacKey(legacySecret);
+        JwtKeyring keyring = new JwtKeyring(algorithm, legacy, directory,
+                rotationInterval, publishAhead, retention, clock);
+        keyring.rotate();
+        return keyring;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Assina o token com a chave ativa, incluindo o "kid" no header
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        if (!algorithm.isAsymmetric()) {
+            return builder.signWith(hmacKey);
+        }
+        KeyEntry signing = snapshot.signing();
+        return builder
+                .header().keyId(signing.kid()).and()
+                .signWith(signing.keyPair().getPrivate(), algorithm.signature);
+    }
+
+    /**
+     * Chave que assina os tokens no modo HMAC, ou null nos modos assimétricos
+     */
+    public SecretKey hmacSigningKey() {
+        return algorithm.isAsymmetric() ? null : hmacKey;
+    }
+
+    /**
+     * Parser que escolhe a chave de verificação pelo "kid" do token
+     *
+     * O parser é imutável e pode ser reutilizado: cada chamada consulta o
+     * snapshot vigente, então chaves rotacionadas passam a valer sem recriá-lo.
+     */
+    public JwtParser newParser() {
+        return Jwts.parser()
+                .keyLocator(new LocatorAdapter<>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Valores de "alg" que algum token deste keyring pode ter
+     *
+     * HMAC: o jjwt escolhe HS256/384/512 pelo tamanho do segredo. Assimétrico:
+     * o algoritmo configurado, mais os HMAC se tokens antigos forem aceitos.
+     */
+    public List<String> acceptedAlgorithms() {
+        List<String> accepted = new ArrayList<>();
+        if (algorithm.isAsymmetric()) {
+            accepted.add(algorithm.signature.getId());
+        }
+        if (hmacKey != null) {
+            accepted.addAll(List.of(Jwts.SIG.HS256.getId(), Jwts.SIG.HS384.getId(), Jwts.SIG.HS512.getId()));
+        }
+        return List.copyOf(accepted);
+    }
+
+    /**
+     * Chave de verificação para o "kid" informado
+     *
+     * @param kid "kid" do header, ou null para tokens HMAC
+     * @return Chave, ou null se desconhecida
+     */
+    public Key verificationKey(String kid) {
+        if (kid == null) {
+            return hmacKey;
+        }
+        return snapshot.verification().get(kid);
+    }
+
+    /**
+     * Documento JWKS com as chaves públicas publicadas (pré-montado a cada rotação)
+     */
+    public Map<String, Object> jwks() {
+        return snapshot.jwks();
+    }
+
+    /**
+     * "kid" da chave que assina no momento, ou null no modo HMAC
+     */
+    public String activeKeyId() {
+        KeyEntry signing = snapshot.signing();
+        return signing == null ? null : signing.kid();
+    }
+
+    /**
+     * Gera a próxima chave quando chega a hora, ativa a chave publicada cujo
+     * horário chegou e descarta as chaves fora do período de retenção
+     *
+     * Chamado periodicamente (jwt.keys.check-interval); barato quando não há
+     * nada a fazer. No modo HMAC não faz nada.
+     */
+    public void rotate() {
+        if (!algorithm.isAsymmetric()) {
+            return;
+        }
+
+        synchronized (rotationLock) {
+            Instant now = clock.instant();
+            List<KeyEntry> keys = snapshot == null ? load() : merge(snapshot.keys(), load());
+
+            KeyEntry newest = keys.stream().max(Comparator.comparing(KeyEntry::activatesAt)).orElse(null);
+            if (newest == null) {
+                // Primeira chave: assina imediatamente
+                keys.add(generate(now, now));
+            } else if (!now.isBefore(newest.activatesAt().plus(rotationInterval).minus(publishAhead))) {
+                keys.add(generate(now, newest.activatesAt().plus(rotationInterval)));
+            }
+
+            keys.sort(Comparator.comparing(KeyEntry::activatesAt));
+            List<KeyEntry> retained = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                KeyEntry key = keys.get(i);
+                Instant supersededAt = i + 1 < keys.size() ? keys.get(i + 1).activatesAt() : null;
+                boolean superseded = supersededAt != null && !now.isBefore(supersededAt);
+                if (superseded && !now.isBefore(supersededAt.plus(retention))) {
+                    delete(key);
+                } else {
+                    retained.add(key);
+                }
+            }
+
+            Snapshot next = Snapshot.of(retained, now);
+            Snapshot previous = snapshot;
+            snapshot = next;
+            if (previous == null || !previous.signing().kid().equals(next.signing().kid())) {
+                log.info("Chave JWT ativa: {} ({}, {} chaves publicadas)",
+                        next.signing().kid(), algorithm, retained.size());
+            }
+        }
+    }
+
+    private KeyEntry generate(Instant createdAt, Instant activatesAt) {
+        KeyPair keyPair = algorithm.generate();
+        PrivateJwk<?, ?, ?> jwk = Jwks.builder()
+                .keyPair(keyPair)
+                .algorithm(algorithm.signature.getId())
+                .publicKeyUse("sig")
+                .idFromThumbprint()
+                .build();
+        KeyEntry entry = new KeyEntry(jwk.getId(), keyPair, jwk.toPublicJwk(), createdAt, activatesAt);
+        save(entry, jwk);
+        log.info("Nova chave JWT {} gerada, assina a partir de {}", entry.kid(), activatesAt);
+        return entry;
+    }
+
+    private void save(KeyEntry entry, PrivateJwk<?, ?, ?> jwk) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            if (isPosix()) {
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY));
+            } else {
+                Files.createDirectories(directory);
+            }
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("createdAt", entry.createdAt().toString());
+            document.put("activatesAt", entry.activatesAt().toString());
+            document.put("jwk", JSON.readValue(Jwks.UNSAFE_JSON(jwk), new TypeReference<Map<String, Object>>() { }));
+
+            Path file = directory.resolve(entry.kid() + KEY_FILE_SUFFIX);
+            Path tmp = directory.resolve(entry.kid() + KEY_FILE_SUFFIX + ".tmp");
+            // Criado já sem leitura para grupo e outros: a chave privada nunca fica exposta
+            Files.deleteIfExists(tmp);
+            if (isPosix()) {
+                Files.createFile(tmp, PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+            }
+            Files.write(tmp, JSON.writeValueAsBytes(document));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar chave JWT em " + directory, e);
+        }
+    }
+
+    private List<KeyEntry> load() {
+        List<KeyEntry> keys = new ArrayList<>();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return keys;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + KEY_FILE_SUFFIX)) {
+            for (Path file : files) {
+                Map<String, Object> document;
+                try {
+                    document = JSON.readValue(Files.readAllBytes(file), new TypeReference<>() { });
+                } catch (NoSuchFileException e) {
+                    // Descartada por outra réplica entre a listagem e a leitura
+                    continue;
+                }
+                Jwk<?> jwk = Jwks.parser().build().parse(JSON.writeValueAsString(document.get("jwk")));
+                if (!(jwk instanceof PrivateJwk<?, ?, ?> privateJwk)) {
+                    throw new IllegalStateException("Arquivo de chave sem chave privada: " + file);
+                }
+                keys.add(new KeyEntry(
+                        privateJwk.getId(),
+                        privateJwk.toKeyPair().toJavaKeyPair(),
+                        privateJwk.toPublicJwk(),
+                        Instant.parse((String) document.get("createdAt")),
+                        Instant.parse((String) document.get("activatesAt"))
+                ));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler chaves JWT de " + directory, e);
+        }
+        log.debug("{} chaves JWT carregadas de {}", keys.size(), directory);
+        return keys;
+    }
+
+    /**
+     * Chaves em memória mais as gravadas no diretório por outras réplicas
+     */
+    private static List<KeyEntry> merge(List<KeyEntry> current, List<KeyEntry> stored) {
+        Map<String, KeyEntry> byKid = new LinkedHashMap<>();
+        for (KeyEntry key : current) {
+            byKid.put(key.kid(), key);
+        }
+        for (KeyEntry key : stored) {
+            byKid.putIfAbsent(key.kid(), key);
+        }
+        return new ArrayList<>(byKid.values());
+    }
+
+    private boolean isPosix() {
+        return directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    private void delete(KeyEntry entry) {
+        log.info("Chave JWT {} fora do período de retenção, descartada", entry.kid());
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(directory.resolve(entry.kid() + KEY_FILE_SUFFIX));
+        } catch (IOException e) {
+            log.warn("Não foi possível remover a chave JWT {}", entry.kid(), e);
+        }
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record KeyEntry(
+            String kid,
+            KeyPair keyPair,
+            PublicJwk<?> publicJwk,
+            Instant createdAt,
+            Instant activatesAt
+    ) {
+    }
+
+    /**
+     * Estado imutável do keyring
+     *
+     * @param keys         Chaves retidas, em ordem de ativação
+     * @param signing      Chave ativa para assinatura
+     * @param verification "kid" -> chave pública (todas as chaves publicadas)
+     * @param jwks         Documento JWKS pronto para serializar
+     */
+    private record Snapshot(
+            List<KeyEntry> keys,
+            KeyEntry signing,
+            Map<String, Key> verification,
+            Map<String, Object> jwks
+    ) {
+        static final Snapshot EMPTY = new Snapshot(List.of(), null, Map.of(), Map.of("keys", List.of()));
+
+        static Snapshot of(List<KeyEntry> keys, Instant now) {
+            KeyEntry signing = null;
+            Map<String, Key> verification = new HashMap<>();
+            List<Map<String, Object>> published = new ArrayList<>();
+            for (KeyEntry key : keys) {
+                if (!key.activatesAt().isAfter(now)) {
+                    signing = key;
+                }
+                verification.put(key.kid(), key.keyPair().getPublic());
+                published.add(Map.copyOf(key.publicJwk()));
+            }
+            if (signing == null && !keys.isEmpty()) {
+                // Só há chaves futuras (relógio voltou): assina com a mais antiga
+                signing = keys.get(0);
+            }
+            return new Snapshot(List.copyOf(keys), signing, Map.copyOf(verification),
+                    Map.of("keys", List.copyOf(published)));
+        }
+    }
+}
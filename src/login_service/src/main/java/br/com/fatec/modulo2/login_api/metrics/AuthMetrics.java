@@ -0,0 +1,185 @@
+package br.com.fatec.modulo2.login_api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas dos caminhos críticos de autenticação
+ *
+ * Todos os timers e counters são registrados uma única vez na inicialização,
+ * com tags de valores fixos. No caminho da requisição só há chamadas a
+ * record/increment, sem montar strings nem buscar meters no registry.
+ */
+@Component
+public class AuthMetrics {
+
+    private final Timer loginSuccess;
+    private final Timer loginFailure;
+    private final Timer loginRejected;
+    private final Timer passwordMatch;
+    private final Timer passwordEncode;
+    private final Timer passwordDummyMatch;
+    private final Timer tokenSign;
+    private final Timer tokenVerify;
+
+    private final Counter filterNoHeader;
+    private final Counter filterMalformed;
+    private final Counter filterValid;
+    private final Counter filterInvalid;
+    private final Counter filterExpired;
+    private final Counter filterRevoked;
+
+    private final Counter rateLimitedIp;
+    private final Counter rateLimitedUser;
+
+    private final Counter passwordRehash;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.loginSuccess = loginTimer(registry, "success");
+        this.loginFailure = loginTimer(registry, "failure");
+        this.loginRejected = loginTimer(registry, "rejected");
+
+        this.passwordMatch = Timer.builder("auth.password.hash")
+                .description("Tempo de CPU do hashing de senhas")
+                .tag("operation", "match")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.passwordEncode = Timer.builder("auth.password.hash")
+                .description("Tempo de CPU do hashing de senhas")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(registry);
+        // Comparação contra o hash fictício para usuários inexistentes
+        this.passwordDummyMatch = Timer.builder("auth.password.hash")
+                .description("Tempo de CPU do hashing de senhas")
+                .tag("operation", "dummy_match")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        this.tokenSign = Timer.builder("jwt.token")
+                .description("Tempo de assinatura e verificação de tokens JWT")
+                .tag("operation", "sign")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.tokenVerify = Timer.builder("jwt.token")
+                .description("Tempo de assinatura e verificação de tokens JWT")
+                .tag("operation", "verify")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        this.filterNoHeader = filterCounter(registry, "no_header");
+        // Recusado pela checagem estrutural, sem chegar à verificação de assinatura
+        this.filterMalformed = filterCounter(registry, "malformed");
+        this.filterValid = filterCounter(registry, "valid");
+        this.filterInvalid = filterCounter(registry, "invalid");
+        this.filterExpired = filterCounter(registry, "expired");
+        this.filterRevoked = filterCounter(registry, "revoked");
+
+        this.rateLimitedIp = rateLimitCounter(registry, "ip");
+        this.rateLimitedUser = rateLimitCounter(registry, "user");
+
+        this.passwordRehash = Counter.builder("auth.password.rehash")
+                .description("Hashes regravados com a política atual após login bem-sucedido")
+                .register(registry);
+    }
+
+    /**
+     * Métricas descartáveis, para uso fora do contexto Spring (testes e benchmarks)
+     */
+    public static AuthMetrics noop() {
+        return new AuthMetrics(new SimpleMeterRegistry());
+    }
+
+    public Timer loginSuccess() {
+        return loginSuccess;
+    }
+
+    public Timer loginFailure() {
+        return loginFailure;
+    }
+
+    public Timer loginRejected() {
+        return loginRejected;
+    }
+
+    public Timer passwordMatch() {
+        return passwordMatch;
+    }
+
+    public Timer passwordEncode() {
+        return passwordEncode;
+    }
+
+    public Timer passwordDummyMatch() {
+        return passwordDummyMatch;
+    }
+
+    public Timer tokenSign() {
+        return tokenSign;
+    }
+
+    public Timer tokenVerify() {
+        return tokenVerify;
+    }
+
+    public Counter filterNoHeader() {
+        return filterNoHeader;
+    }
+
+    public Counter filterMalformed() {
+        return filterMalformed;
+    }
+
+    public Counter filterValid() {
+        return filterValid;
+    }
+
+    public Counter filterInvalid() {
+        return filterInvalid;
+    }
+
+    public Counter filterExpired() {
+        return filterExpired;
+    }
+
+    public Counter filterRevoked() {
+        return filterRevoked;
+    }
+
+    public Counter rateLimitedIp() {
+        return rateLimitedIp;
+    }
+
+    public Counter rateLimitedUser() {
+        return rateLimitedUser;
+    }
+
+    public Counter passwordRehash() {
+        return passwordRehash;
+    }
+
+    private static Timer loginTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("auth.login")
+                .description("Latência do login por resultado")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Counter filterCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("jwt.filter.requests")
+                .description("Requisições processadas pelo JwtAuthenticationFilter por resultado")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter rateLimitCounter(MeterRegistry registry, String key) {
+        return Counter.builder("auth.ratelimit.rejected")
+                .description("Tentativas recusadas pelo limite de login, por chave do bucket")
+                .tag("key", key)
+                .register(registry);
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.fatec.modulo2.login_api.metrics;
+
+import br.com.fatec.modulo2.login_api.audit.AuditLog;
+import br.com.fatec.modulo2.login_api.cache.VerifiedTokenCache;
+import br.com.fatec.modulo2.login_api.ratelimit.LoginRateLimiter;
+import br.com.fatec.modulo2.login_api.service.PasswordHashingExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expõe os contadores do cache de tokens, a ocupação do pool de hashing, o
+ * tamanho do limitador de login e a trilha de auditoria
+ *
+ * Os valores são lidos dos próprios componentes apenas quando o Prometheus
+ * faz o scrape; nada é registrado no caminho da requisição.
+ */
+@Component
+public class ResourceMetrics implements MeterBinder {
+
+    private final VerifiedTokenCache tokenCache;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final LoginRateLimiter rateLimiter;
+    private final AuditLog audit;
+
+    public ResourceMetrics(
+            VerifiedTokenCache tokenCache,
+            PasswordHashingExecutor hashingExecutor,
+            LoginRateLimiter rateLimiter,
+            AuditLog audit
+    ) {
+        this.tokenCache = tokenCache;
+        this.hashingExecutor = hashingExecutor;
+        this.rateLimiter = rateLimiter;
+        this.audit = audit;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.cache.requests", tokenCache, cache -> cache.stats().hits())
+                .description("Buscas no cache de tokens verificados")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("jwt.cache.requests", tokenCache, cache -> cache.stats().misses())
+                .description("Buscas no cache de tokens verificados")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("jwt.cache.evictions", tokenCache, cache -> cache.stats().evictions())
+                .description("Entradas removidas do cache de tokens (expiração ou limite)")
+                .register(registry);
+        Gauge.builder("jwt.cache.size", tokenCache, cache -> cache.stats().size())
+                .description("Entradas no cache de tokens verificados")
+                .register(registry);
+
+        Gauge.builder("auth.password.hashing.queue", hashingExecutor, PasswordHashingExecutor::getQueueSize)
+                .description("Tarefas de hashing aguardando thread")
+                .register(registry);
+        Gauge.builder("auth.password.hashing.active", hashingExecutor, PasswordHashingExecutor::getActiveCount)
+                .description("Threads executando hashing")
+                .register(registry);
+
+        Gauge.builder("auth.ratelimit.keys", rateLimiter, LoginRateLimiter::trackedKeys)
+                .description("Chaves (IPs e usernames) com bucket próprio no limitador de login")
+                .register(registry);
+
+        FunctionCounter.builder("audit.events", audit, AuditLog::written)
+                .description("Eventos de auditoria")
+                .tag("result", "written")
+                .register(registry);
+        FunctionCounter.builder("audit.events", audit, AuditLog::dropped)
+                .description("Eventos de auditoria")
+                .tag("result", "dropped")
+                .register(registry);
+        Gauge.builder("audit.queue", audit, AuditLog::pending)
+                .description("Eventos de auditoria aguardando gravação")
+                .register(registry);
+    }
+}
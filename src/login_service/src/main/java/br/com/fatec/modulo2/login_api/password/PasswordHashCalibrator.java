@@ -0,0 +1,80 @@
+package br.com.fatec.modulo2.login_api.password;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Escolhe o custo do hash de senhas medindo este hardware
+ *
+ * Um hash é medido com custo baixo e o resultado extrapolado: no BCrypt cada
+ * ponto de custo dobra o tempo, no PBKDF2 e no Argon2 o tempo cresce
+ * linearmente com as iterações. O custo escolhido é o mais próximo do tempo
+ * alvo dentro da faixa segura do algoritmo, então a CPU gasta por login em
+ * cada núcleo passa a ser um parâmetro de operação (security.password.hash.target-time).
+ */
+public final class PasswordHashCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashCalibrator.class);
+
+    // O JIT precisa de algumas centenas de ms de hashing antes da medição valer
+    private static final long WARMUP_NANOS = 300_000_000L;
+    private static final int MEASURED_RUNS = 3;
+
+    private static final int BCRYPT_PROBE_STRENGTH = 8;
+    private static final int PBKDF2_PROBE_ITERATIONS = 20_000;
+    private static final int PBKDF2_ITERATIONS_STEP = 10_000;
+
+    private PasswordHashCalibrator() {
+    }
+
+    /**
+     * Política com o custo mais próximo de {@code target} para o algoritmo
+     */
+    public static PasswordHasher.Policy calibrate(PasswordHasher.Algorithm algorithm, int argon2MemoryKib, Duration target) {
+        PasswordHasher.Policy probe = switch (algorithm) {
+            case BCRYPT -> PasswordHasher.Policy.bcrypt(BCRYPT_PROBE_STRENGTH);
+            case PBKDF2 -> PasswordHasher.Policy.pbkdf2(PBKDF2_PROBE_ITERATIONS);
+            case ARGON2 -> PasswordHasher.Policy.argon2(argon2MemoryKib, 1);
+        };
+        long probeNanos = measure(new PasswordHasher(probe));
+        double ratio = (double) target.toNanos() / probeNanos;
+
+        long cost = switch (algorithm) {
+            case BCRYPT -> BCRYPT_PROBE_STRENGTH + Math.round(Math.log(ratio) / Math.log(2));
+            case PBKDF2 -> Math.round(PBKDF2_PROBE_ITERATIONS * ratio / PBKDF2_ITERATIONS_STEP) * PBKDF2_ITERATIONS_STEP;
+            case ARGON2 -> Math.round(ratio);
+        };
+        int clamped = algorithm.clamp((int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, cost)));
+        PasswordHasher.Policy policy = new PasswordHasher.Policy(algorithm, clamped, probe.memoryKib());
+
+        log.info("Hash de senhas calibrado: {} (alvo {} ms, medido {} µs no custo {}, estimado {} ms)",
+                policy.version(), target.toMillis(), probeNanos / 1_000, probe.cost(),
+                Math.round(estimateNanos(algorithm, probe.cost(), probeNanos, clamped) / 1_000_000.0));
+        return policy;
+    }
+
+    /**
+     * Menor tempo de um hash entre algumas execuções (descarta ruído de GC/escalonamento)
+     */
+    static long measure(PasswordHasher hasher) {
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            hasher.encode("calibracao");
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            hasher.encode("calibracao");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Math.max(best, 1);
+    }
+
+    private static double estimateNanos(PasswordHasher.Algorithm algorithm, int probeCost, long probeNanos, int cost) {
+        return algorithm == PasswordHasher.Algorithm.BCRYPT
+                ? probeNanos * Math.pow(2, cost - probeCost)
+                : (double) probeNanos * cost / probeCost;
+    }
+}
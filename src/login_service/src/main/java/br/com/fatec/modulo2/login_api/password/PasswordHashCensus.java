@@ -0,0 +1,67 @@
+package br.com.fatec.modulo2.login_api.password;
+
+import br.com.fatec.modulo2.login_api.store.UserStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quantos usuários estão em cada versão de hash (auth.password.hash.versions)
+ *
+ * Mostra o andamento da migração depois de trocar algoritmo ou custo: as
+ * versões antigas diminuem à medida que os usuários fazem login. A contagem
+ * percorre o store inteiro, então roda em segundo plano a cada
+ * security.password.hash.census-interval e nunca no scrape.
+ */
+@Component
+public class PasswordHashCensus implements MeterBinder {
+
+    private final UserStore users;
+
+    private volatile Map<String, Long> counts = Map.of();
+    private volatile MultiGauge gauge;
+
+    public PasswordHashCensus(UserStore users) {
+        this.users = users;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge = MultiGauge.builder("auth.password.hash.versions")
+                .description("Usuários por algoritmo e custo do hash armazenado")
+                .register(registry);
+        publish();
+    }
+
+    @Scheduled(fixedDelayString = "${security.password.hash.census-interval:PT5M}")
+    public void recount() {
+        Map<String, Long> next = new HashMap<>();
+        users.forEachUsername(username ->
+                next.merge(PasswordHasher.version(users.findPasswordHash(username)), 1L, Long::sum));
+        counts = Map.copyOf(next);
+        publish();
+    }
+
+    public Map<String, Long> counts() {
+        return counts;
+    }
+
+    private void publish() {
+        MultiGauge current = gauge;
+        if (current == null) {
+            return;
+        }
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        counts.forEach((version, count) -> rows.add(MultiGauge.Row.of(Tags.of("version", version), count)));
+        // Versões que sumiram do store deixam de ser publicadas
+        current.register(rows, true);
+    }
+}
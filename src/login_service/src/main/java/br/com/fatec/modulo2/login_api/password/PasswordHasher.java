@@ -0,0 +1,238 @@
+package br.com.fatec.modulo2.login_api.password;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash de senhas com algoritmo e custo versionados no próprio hash
+ *
+ * Segue o formato do DelegatingPasswordEncoder do Spring Security: o hash
+ * armazenado começa com o identificador do algoritmo ({@code {bcrypt}},
+ * {@code {argon2}}, {@code {pbkdf2-600000}}). BCrypt e Argon2 já trazem os
+ * parâmetros no próprio hash; no PBKDF2 o número de iterações vai no
+ * identificador. Hashes BCrypt antigos, sem prefixo, continuam aceitos.
+ *
+ * Qualquer versão é verificada, mas novos hashes usam apenas a
+ * {@link Policy} atual. {@link #needsRehash} indica os hashes de outra versão
+ * (mais caros ou mais baratos), que o AuthService regrava no próximo login.
+ */
+public final class PasswordHasher {
+
+    public enum Algorithm {
+        // Custo: log2 das rodadas
+        BCRYPT(10, 10, 16),
+        // Custo: iterações de HMAC-SHA256
+        PBKDF2(600_000, 600_000, 10_000_000),
+        // Custo: passagens sobre a memória (memória fixa em argon2-memory-kib)
+        ARGON2(2, 2, 20);
+
+        private final int defaultCost;
+        private final int minCost;
+        private final int maxCost;
+
+        Algorithm(int defaultCost, int minCost, int maxCost) {
+            this.defaultCost = defaultCost;
+            this.minCost = minCost;
+            this.maxCost = maxCost;
+        }
+
+        public int defaultCost() {
+            return defaultCost;
+        }
+
+        /**
+         * Limita o custo à faixa segura do algoritmo
+         */
+        public int clamp(int cost) {
+            return Math.max(minCost, Math.min(maxCost, cost));
+        }
+    }
+
+    /**
+     * Algoritmo e custo usados para novos hashes
+     *
+     * @param memoryKib Memória do Argon2 em KiB (ignorada nos demais)
+     */
+    public record Policy(Algorithm algorithm, int cost, int memoryKib) {
+
+        public static final int DEFAULT_ARGON2_MEMORY_KIB = 19_456;
+
+        public static Policy bcrypt(int strength) {
+            return new Policy(Algorithm.BCRYPT, strength, 0);
+        }
+
+        public static Policy pbkdf2(int iterations) {
+            return new Policy(Algorithm.PBKDF2, iterations, 0);
+        }
+
+        public static Policy argon2(int memoryKib, int iterations) {
+            return new Policy(Algorithm.ARGON2, iterations, memoryKib);
+        }
+
+        /**
+         * Versão que {@link PasswordHasher#version} retorna para hashes desta política
+         */
+        public String version() {
+            return switch (algorithm) {
+                case BCRYPT -> "bcrypt-" + cost;
+                case PBKDF2 -> PBKDF2_ID + "-" + cost;
+                case ARGON2 -> "argon2-m" + memoryKib + "-t" + cost + "-p" + ARGON2_PARALLELISM;
+            };
+        }
+    }
+
+    public static final String UNKNOWN_VERSION = "unknown";
+
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final String ARGON2_ID = "argon2";
+    private static final String PBKDF2_ID = "pbkdf2";
+
+    private static final int SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final int ARGON2_PARALLELISM = 1;
+
+    private final Policy policy;
+    private final String version;
+    private final String prefix;
+    private final PasswordEncoder encoder;
+
+    // BCrypt e Argon2 leem os parâmetros do hash: uma instância verifica qualquer custo
+    private final BCryptPasswordEncoder bcrypt;
+    private final Argon2PasswordEncoder argon2;
+    private final ConcurrentHashMap<Integer, Pbkdf2PasswordEncoder> pbkdf2 = new ConcurrentHashMap<>();
+
+    public PasswordHasher(Policy policy) {
+        this.policy = policy;
+        this.version = policy.version();
+        this.bcrypt = new BCryptPasswordEncoder(policy.algorithm() == Algorithm.BCRYPT ? policy.cost() : 10);
+        this.argon2 = policy.algorithm() == Algorithm.ARGON2
+                ? new Argon2PasswordEncoder(SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM,
+                        policy.memoryKib(), policy.cost())
+                : Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+
+        switch (policy.algorithm()) {
+            case BCRYPT -> {
+                this.prefix = "{" + BCRYPT_ID + "}";
+                this.encoder = bcrypt;
+            }
+            case ARGON2 -> {
+                this.prefix = "{" + ARGON2_ID + "}";
+                this.encoder = argon2;
+            }
+            default -> {
+                this.prefix = "{" + PBKDF2_ID + "-" + policy.cost() + "}";
+                this.encoder = pbkdf2(policy.cost());
+            }
+        }
+    }
+
+    public Policy policy() {
+        return policy;
+    }
+
+    /**
+     * Gera o hash com a política atual, já com o prefixo do algoritmo
+     */
+    public String encode(CharSequence rawPassword) {
+        return prefix + encoder.encode(rawPassword);
+    }
+
+    /**
+     * Verifica a senha contra um hash de qualquer versão suportada
+     */
+    public boolean matches(CharSequence rawPassword, String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        String id = id(storedHash);
+        if (id == null) {
+            return storedHash.startsWith("$2") && bcrypt.matches(rawPassword, storedHash);
+        }
+        String hash = storedHash.substring(id.length() + 2);
+        if (id.equals(BCRYPT_ID)) {
+            return bcrypt.matches(rawPassword, hash);
+        }
+        if (id.equals(ARGON2_ID)) {
+            return argon2.matches(rawPassword, hash);
+        }
+        int iterations = pbkdf2Iterations(id);
+        return iterations > 0 && pbkdf2(iterations).matches(rawPassword, hash);
+    }
+
+    /**
+     * Se o hash é de uma versão diferente da política atual
+     */
+    public boolean needsRehash(String storedHash) {
+        return !version.equals(version(storedHash));
+    }
+
+    /**
+     * Algoritmo e custo do hash armazenado (ex.: "bcrypt-10", "pbkdf2-600000")
+     */
+    public static String version(String storedHash) {
+        if (storedHash == null) {
+            return UNKNOWN_VERSION;
+        }
+        String id = id(storedHash);
+        if (id == null) {
+            return bcryptVersion(storedHash);
+        }
+        String hash = storedHash.substring(id.length() + 2);
+        if (id.equals(BCRYPT_ID)) {
+            return bcryptVersion(hash);
+        }
+        if (id.equals(ARGON2_ID)) {
+            return argon2Version(hash);
+        }
+        return pbkdf2Iterations(id) > 0 ? id : UNKNOWN_VERSION;
+    }
+
+    private Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return pbkdf2.computeIfAbsent(iterations, n -> new Pbkdf2PasswordEncoder(
+                "", SALT_LENGTH, n, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+    }
+
+    private static String id(String storedHash) {
+        if (!storedHash.startsWith("{")) {
+            return null;
+        }
+        int end = storedHash.indexOf('}');
+        return end < 0 ? null : storedHash.substring(1, end);
+    }
+
+    private static int pbkdf2Iterations(String id) {
+        if (!id.startsWith(PBKDF2_ID + "-")) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(id, PBKDF2_ID.length() + 1, id.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // $2a$10$<salt+hash>
+    private static String bcryptVersion(String hash) {
+        if (hash.length() < 7 || !hash.startsWith("$2") || hash.charAt(6) != '$') {
+            return UNKNOWN_VERSION;
+        }
+        try {
+            return "bcrypt-" + Integer.parseInt(hash, 4, 6, 10);
+        } catch (NumberFormatException e) {
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    // $argon2id$v=19$m=19456,t=2,p=1$<salt>$<hash>
+    private static String argon2Version(String hash) {
+        String[] parts = hash.split("\\$");
+        if (parts.length < 4 || !parts[3].startsWith("m=")) {
+            return UNKNOWN_VERSION;
+        }
+        return "argon2-" + parts[3].replace("=", "").replace(',', '-');
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.fatec.modulo2.login_api.ratelimit;
+
+import br.com.fatec.modulo2.login_api.cluster.ClusterAttemptCounter;
+import br.com.fatec.modulo2.login_api.cluster.ClusterBackend;
+import br.com.fatec.modulo2.login_api.exception.TooManyRequestsException;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita tentativas de login por IP do cliente e por username, antes de
+ * qualquer BCrypt
+ *
+ * Cada tentativa consome um token do bucket do IP e, no login, do bucket do
+ * username. Sem token, a requisição é recusada com 429 + Retry-After sem
+ * custo de CPU além de dois CAS.
+ *
+ * O IP vem do endereço remoto da conexão. Com
+ * security.login.rate-limit.trust-forwarded-for (desligado por padrão) vem do
+ * último valor de X-Forwarded-For, o endereço que o gateway viu; os anteriores
+ * são fornecidos pelo cliente e ignorados. Só ative quando a porta do serviço
+ * não for acessível sem passar pelo gateway: quem chega direto escolhe o
+ * header e ganha um bucket novo a cada requisição.
+ *
+ * Os buckets são por réplica. Com cluster.enabled, cada tentativa também
+ * passa por um {@link ClusterAttemptCounter} por IP e por username, com o
+ * limite somado de todas as réplicas (security.login.rate-limit.cluster.*).
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final boolean trustForwardedFor;
+    private final TokenBucketLimiter perIp;
+    private final TokenBucketLimiter perUser;
+    private final ClusterAttemptCounter clusterPerIp;
+    private final ClusterAttemptCounter clusterPerUser;
+    private final AuthMetrics metrics;
+
+    public LoginRateLimiter(
+            @Value("${security.login.rate-limit.enabled:true}") boolean enabled,
+            @Value("${security.login.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor,
+            @Value("${security.login.rate-limit.per-ip.capacity:20}") int ipCapacity,
+            @Value("${security.login.rate-limit.per-ip.refill-period:PT3S}") Duration ipRefillPeriod,
+            @Value("${security.login.rate-limit.per-user.capacity:5}") int userCapacity,
+            @Value("${security.login.rate-limit.per-user.refill-period:PT12S}") Duration userRefillPeriod,
+            @Value("${security.login.rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${security.login.rate-limit.cluster.per-ip:40}") int clusterIpAttempts,
+            @Value("${security.login.rate-limit.cluster.per-user:10}") int clusterUserAttempts,
+            @Value("${security.login.rate-limit.cluster.window:PT1M}") Duration clusterWindow,
+            ObjectProvider<ClusterBackend> clusterBackend,
+            AuthMetrics metrics
+    ) {
+        this.enabled = enabled;
+        this.trustForwardedFor = trustForwardedFor;
+        this.perIp = new TokenBucketLimiter(ipCapacity, ipRefillPeriod, maxKeys);
+        this.perUser = new TokenBucketLimiter(userCapacity, userRefillPeriod, maxKeys);
+        ClusterBackend backend = clusterBackend.getIfAvailable();
+        this.clusterPerIp = backend == null ? null
+                : new ClusterAttemptCounter(backend, "ip", clusterIpAttempts, clusterWindow, maxKeys);
+        this.clusterPerUser = backend == null ? null
+                : new ClusterAttemptCounter(backend, "user", clusterUserAttempts, clusterWindow, maxKeys);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Consome uma tentativa de login do IP e do username
+     *
+     * @throws TooManyRequestsException se algum dos limites foi excedido
+     */
+    public void checkLogin(String clientIp, String username) {
+        if (!enabled) {
+            return;
+        }
+        check(perIp, clusterPerIp, clientIp, "ip");
+        // Usernames diferem só por caixa/espaços não devem ganhar buckets separados
+        check(perUser, clusterPerUser, username.trim().toLowerCase(Locale.ROOT), "user");
+    }
+
+    /**
+     * Consome uma tentativa de registro do IP (também custa um BCrypt)
+     *
+     * @throws TooManyRequestsException se o limite foi excedido
+     */
+    public void checkRegister(String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        check(perIp, clusterPerIp, clientIp, "ip");
+    }
+
+    /**
+     * IP do cliente a partir do endereço remoto e do X-Forwarded-For
+     */
+    public String clientIp(String remoteAddress, String forwardedFor) {
+        if (trustForwardedFor && forwardedFor != null && !forwardedFor.isBlank()) {
+            int comma = forwardedFor.lastIndexOf(',');
+            return forwardedFor.substring(comma + 1).trim();
+        }
+        return remoteAddress == null ? "desconhecido" : remoteAddress;
+    }
+
+    public int trackedKeys() {
+        return perIp.size() + perUser.size();
+    }
+
+    @Scheduled(
+            initialDelayString = "${security.login.rate-limit.cleanup-interval:PT1M}",
+            fixedDelayString = "${security.login.rate-limit.cleanup-interval:PT1M}"
+    )
+    public void cleanup() {
+        perIp.cleanup();
+        perUser.cleanup();
+    }
+
+    /**
+     * Envia as tentativas desta réplica ao backend do cluster e lê os totais
+     */
+    @Scheduled(
+            initialDelayString = "${cluster.sync-interval:PT0.25S}",
+            fixedDelayString = "${cluster.sync-interval:PT0.25S}"
+    )
+    public void syncCluster() {
+        if (clusterPerIp != null) {
+            clusterPerIp.sync();
+            clusterPerUser.sync();
+        }
+    }
+
+    private void check(TokenBucketLimiter limiter, ClusterAttemptCounter shared, String key, String scope) {
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos == 0 && shared != null) {
+            waitNanos = shared.tryAcquire(key);
+        }
+        if (waitNanos > 0) {
+            if (scope.equals("ip")) {
+                metrics.rateLimitedIp().increment();
+            } else {
+                metrics.rateLimitedUser().increment();
+            }
+            // Arredonda para cima: Retry-After é em segundos inteiros
+            long retryAfter = (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+            throw new TooManyRequestsException("Limite de tentativas excedido por " + scope, retryAfter);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.fatec.modulo2.login_api.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets por chave, sem lock
+ *
+ * Cada bucket é um único {@link AtomicLong} com o "theoretical arrival time"
+ * do GCRA (equivalente a um token bucket de capacidade {@code capacity} que
+ * recebe um token a cada {@code refillPeriod}). Consumir um token é um CAS;
+ * não há thread de reabastecimento nem alocação por tentativa.
+ *
+ * Memória limitada: com {@code maxKeys} chaves rastreadas, chaves novas
+ * dividem {@value #OVERFLOW_STRIPES} buckets de transbordo, escolhidos pelo
+ * hash da chave. Uma enxurrada de chaves forjadas (IPs ou usernames
+ * aleatórios) não cresce o mapa, mas cai em todas as faixas: enquanto durar,
+ * chaves novas recebem 429; as já rastreadas seguem no próprio bucket. As
+ * faixas só poupam chaves novas de uma enxurrada concentrada em poucas chaves.
+ * Buckets cheios (ociosos) não guardam informação e são removidos por
+ * {@link #cleanup()}.
+ */
+public class TokenBucketLimiter {
+
+    static final int OVERFLOW_STRIPES = 64;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong[] overflow = new AtomicLong[OVERFLOW_STRIPES];
+
+    /**
+     * @param capacity     Tentativas permitidas em rajada
+     * @param refillPeriod Intervalo para recuperar uma tentativa
+     * @param maxKeys      Quantidade máxima de chaves rastreadas individualmente
+     */
+    public TokenBucketLimiter(int capacity, Duration refillPeriod, int maxKeys) {
+        this(capacity, refillPeriod, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, Duration refillPeriod, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("Capacidade e período de reposição devem ser positivos");
+        }
+        this.emissionIntervalNanos = refillPeriod.toNanos();
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        for (int i = 0; i < OVERFLOW_STRIPES; i++) {
+            overflow[i] = new AtomicLong(now);
+        }
+    }
+
+    /**
+     * Tenta consumir um token do bucket da chave
+     *
+     * @return 0 se permitido; senão, nanossegundos até o próximo token
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = bucket(key, now);
+
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Remove os buckets cheios: equivalem a uma chave nunca vista
+     */
+    public void cleanup() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    /**
+     * Quantidade de chaves rastreadas individualmente
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            return overflow[overflowStripe(key)];
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /**
+     * Faixa de transbordo da chave, de 0 a {@value #OVERFLOW_STRIPES} - 1
+     */
+    public static int overflowStripe(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (OVERFLOW_STRIPES - 1);
+    }
+}
@@ -0,0 +1,223 @@
+package br.com.fatec.modulo2.login_api.reactive;
+
+import br.com.fatec.modulo2.login_api.audit.AuditEventType;
+import br.com.fatec.modulo2.login_api.audit.AuditLog;
+import br.com.fatec.modulo2.login_api.config.AdminUsers;
+import br.com.fatec.modulo2.login_api.dto.LoginRequest;
+import br.com.fatec.modulo2.login_api.dto.RefreshRequest;
+import br.com.fatec.modulo2.login_api.dto.RegisterRequest;
+import br.com.fatec.modulo2.login_api.exception.ServiceBusyException;
+import br.com.fatec.modulo2.login_api.exception.TooManyRequestsException;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.ratelimit.LoginRateLimiter;
+import br.com.fatec.modulo2.login_api.service.AuthService;
+import br.com.fatec.modulo2.login_api.service.SessionService;
+import br.com.fatec.modulo2.login_api.service.TokenPrecheck;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handlers reativos de health, login, registro e sessão (refresh/logout)
+ *
+ * O BCrypt nunca roda no event loop: vai para o PasswordHashingExecutor
+ * (pool limitado) e o resultado volta como Mono. Com a fila cheia a resposta
+ * é 503 com Retry-After, como na variante servlet; acima do limite de
+ * tentativas ({@link LoginRateLimiter}) é 429, antes de qualquer hashing.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class AuthHandler {
+
+    private final AuthService authService;
+    private final SessionService sessionService;
+    private final LoginRateLimiter rateLimiter;
+    private final AuthMetrics metrics;
+    private final AuditLog audit;
+    private final AdminUsers admins;
+
+    public AuthHandler(
+            AuthService authService,
+            SessionService sessionService,
+            LoginRateLimiter rateLimiter,
+            AuthMetrics metrics,
+            AuditLog audit,
+            AdminUsers admins
+    ) {
+        this.authService = authService;
+        this.sessionService = sessionService;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+        this.audit = audit;
+        this.admins = admins;
+    }
+
+    public Mono<ServerResponse> health(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(Map.of(
+                "status", "UP",
+                "service", "login-service"
+        ));
+    }
+
+    /**
+     * POST /api/login — mesmas respostas do LoginController
+     */
+    public Mono<ServerResponse> login(ServerRequest request) {
+        return request.bodyToMono(LoginRequest.class)
+                .flatMap(body -> {
+                    if (!body.isValid()) {
+                        return badRequest();
+                    }
+
+                    String username = body.username();
+                    String remoteAddress = remoteAddress(request);
+                    String forwardedFor = request.headers().firstHeader("X-Forwarded-For");
+
+                    // Limite de tentativas antes de qualquer BCrypt
+                    try {
+                        rateLimiter.checkLogin(rateLimiter.clientIp(remoteAddress, forwardedFor), username);
+                    } catch (TooManyRequestsException e) {
+                        audit.record(AuditEventType.LOGIN_RATE_LIMITED, username, remoteAddress, forwardedFor);
+                        return tooManyRequests(e);
+                    }
+
+                    long start = System.nanoTime();
+                    return Mono.fromFuture(() -> authService.authenticateAsync(body.username(), body.password()))
+                            .flatMap(authenticated -> {
+                                if (authenticated) {
+                                    metrics.loginSuccess().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                                    audit.record(AuditEventType.LOGIN_SUCCESS, username, remoteAddress, forwardedFor);
+                                    return ServerResponse.ok().bodyValue(sessionService.open(body.username()));
+                                }
+
+                                metrics.loginFailure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                                audit.record(AuditEventType.LOGIN_FAILURE, username, remoteAddress, forwardedFor);
+                                return ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                                        .bodyValue(Map.of("error", "Credenciais inválidas"));
+                            })
+                            .onErrorResume(ServiceBusyException.class, e -> {
+                                metrics.loginRejected().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                                audit.record(AuditEventType.LOGIN_REJECTED, username, remoteAddress, forwardedFor);
+                                return serviceBusy(e);
+                            });
+                })
+                .switchIfEmpty(badRequest());
+    }
+
+    /**
+     * POST /api/register — mesmas respostas do RegisterController
+     */
+    public Mono<ServerResponse> register(ServerRequest request) {
+        return request.bodyToMono(RegisterRequest.class)
+                .flatMap(body -> {
+                    if (!body.isValid()) {
+                        return badRequest();
+                    }
+
+                    String username = body.username();
+                    String remoteAddress = remoteAddress(request);
+                    String forwardedFor = request.headers().firstHeader("X-Forwarded-For");
+
+                    try {
+                        rateLimiter.checkRegister(rateLimiter.clientIp(remoteAddress, forwardedFor));
+                    } catch (TooManyRequestsException e) {
+                        audit.record(AuditEventType.REGISTER_RATE_LIMITED, username, remoteAddress, forwardedFor);
+                        return tooManyRequests(e);
+                    }
+
+                    if (admins.isAdmin(username) || authService.userExists(username)) {
+                        audit.record(AuditEventType.REGISTER_CONFLICT, username, remoteAddress, forwardedFor);
+                        return conflict();
+                    }
+
+                    return Mono.fromFuture(() -> authService.registerUserAsync(username, body.password()))
+                            .flatMap(registered -> {
+                                AuditEventType outcome = registered
+                                        ? AuditEventType.REGISTER_SUCCESS
+                                        : AuditEventType.REGISTER_CONFLICT;
+                                audit.record(outcome, username, remoteAddress, forwardedFor);
+                                return registered
+                                        ? ServerResponse.status(HttpStatus.CREATED).bodyValue(Map.of(
+                                                "message", "Usuário registrado com sucesso",
+                                                "username", username
+                                        ))
+                                        : conflict();
+                            })
+                            .onErrorResume(ServiceBusyException.class, e -> {
+                                audit.record(AuditEventType.REGISTER_REJECTED, username, remoteAddress, forwardedFor);
+                                return serviceBusy(e);
+                            });
+                })
+                .switchIfEmpty(badRequest());
+    }
+
+    /**
+     * POST /api/refresh — mesmas respostas do TokenController
+     */
+    public Mono<ServerResponse> refresh(ServerRequest request) {
+        return request.bodyToMono(RefreshRequest.class)
+                .filter(RefreshRequest::isValid)
+                .flatMap(body -> Mono.justOrEmpty(sessionService.refresh(body.refreshToken()))
+                        .flatMap(session -> ServerResponse.ok().bodyValue(session))
+                        .switchIfEmpty(ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                                .bodyValue(Map.of("error", "Refresh token inválido ou expirado"))))
+                .switchIfEmpty(ServerResponse.status(HttpStatus.BAD_REQUEST)
+                        .bodyValue(Map.of("error", "refreshToken é obrigatório")));
+    }
+
+    /**
+     * POST /api/logout — mesmas respostas do TokenController
+     */
+    public Mono<ServerResponse> logout(ServerRequest request) {
+        String authorization = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        int tokenStart = TokenPrecheck.bearerStart(authorization);
+        if (tokenStart < 0) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).bodyValue(Map.of("error", "Token ausente"));
+        }
+        String accessToken = authorization.substring(tokenStart);
+        return request.bodyToMono(RefreshRequest.class)
+                .map(RefreshRequest::refreshToken)
+                .defaultIfEmpty("")
+                .flatMap(refreshToken -> {
+                    sessionService.close(accessToken, refreshToken.isEmpty() ? null : refreshToken);
+                    return ServerResponse.ok().bodyValue(Map.of("message", "Sessão encerrada"));
+                });
+    }
+
+    private Mono<ServerResponse> badRequest() {
+        return ServerResponse.status(HttpStatus.BAD_REQUEST)
+                .bodyValue(Map.of("error", "Username e password são obrigatórios"));
+    }
+
+    private Mono<ServerResponse> conflict() {
+        return ServerResponse.status(HttpStatus.CONFLICT)
+                .bodyValue(Map.of("error", "Usuário já existe"));
+    }
+
+    private Mono<ServerResponse> tooManyRequests(TooManyRequestsException e) {
+        return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .bodyValue(Map.of("error", "Muitas tentativas, tente novamente mais tarde"));
+    }
+
+    static String remoteAddress(ServerRequest request) {
+        return request.remoteAddress()
+                .map(address -> address.getAddress() != null
+                        ? address.getAddress().getHostAddress()
+                        : address.getHostString())
+                .orElse(null);
+    }
+
+    private Mono<ServerResponse> serviceBusy(ServiceBusyException e) {
+        return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .bodyValue(Map.of("error", "Serviço sobrecarregado, tente novamente"));
+    }
+}
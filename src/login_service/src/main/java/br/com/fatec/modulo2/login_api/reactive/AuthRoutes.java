@@ -0,0 +1,47 @@
+package br.com.fatec.modulo2.login_api.reactive;
+
+import br.com.fatec.modulo2.login_api.controller.JwksController;
+import br.com.fatec.modulo2.login_api.keys.JwtKeyring;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PUT;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Rotas da variante reativa (LOGIN_WEB_STACK=reactive)
+ *
+ * Mesmos caminhos dos controllers LoginController, RegisterController,
+ * BulkRegisterController, TokenController, UserController e JwksController.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class AuthRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> authRouter(
+            AuthHandler authHandler,
+            BulkRegisterHandler bulkRegisterHandler,
+            UserHandler userHandler,
+            JwtKeyring keyring
+    ) {
+        return route(GET("/api/health"), authHandler::health)
+                .andRoute(POST("/api/login"), authHandler::login)
+                .andRoute(POST("/api/register"), authHandler::register)
+                .andRoute(POST("/api/register/bulk"), bulkRegisterHandler::registerBulk)
+                .andRoute(POST("/api/refresh"), authHandler::refresh)
+                .andRoute(POST("/api/logout"), authHandler::logout)
+                .andRoute(GET("/api/user/profile"), userHandler::getProfile)
+                .andRoute(GET("/api/user/secret"), userHandler::getSecretData)
+                .andRoute(PUT("/api/user/update"), userHandler::updateProfile)
+                .andRoute(GET("/.well-known/jwks.json"), request -> ServerResponse.ok()
+                        .cacheControl(CacheControl.maxAge(JwksController.MAX_AGE).cachePublic())
+                        .bodyValue(keyring.jwks()));
+    }
+}
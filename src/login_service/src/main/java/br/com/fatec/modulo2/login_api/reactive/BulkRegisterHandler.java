@@ -0,0 +1,68 @@
+package br.com.fatec.modulo2.login_api.reactive;
+
+import br.com.fatec.modulo2.login_api.exception.ServiceBusyException;
+import br.com.fatec.modulo2.login_api.exception.TooManyRequestsException;
+import br.com.fatec.modulo2.login_api.ratelimit.LoginRateLimiter;
+import br.com.fatec.modulo2.login_api.service.BulkRegistrationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * POST /api/register/bulk — mesmas respostas do BulkRegisterController
+ *
+ * O corpo chega como fluxo de linhas e a resposta sai como NDJSON com
+ * backpressure: se o cliente lê devagar, a leitura do arquivo e o hashing
+ * desaceleram junto, sem acumular resultados em memória.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class BulkRegisterHandler {
+
+    private final BulkRegistrationService bulkRegistration;
+    private final LoginRateLimiter rateLimiter;
+
+    public BulkRegisterHandler(BulkRegistrationService bulkRegistration, LoginRateLimiter rateLimiter) {
+        this.bulkRegistration = bulkRegistration;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public Mono<ServerResponse> registerBulk(ServerRequest request) {
+        BulkRegistrationService.Format format = BulkRegistrationService.Format.detect(
+                request.headers().contentType().map(MediaType::toString).orElse(null));
+        Runnable release;
+        try {
+            rateLimiter.checkRegister(rateLimiter.clientIp(
+                    AuthHandler.remoteAddress(request), request.headers().firstHeader("X-Forwarded-For")));
+            release = bulkRegistration.acquireImport();
+        } catch (TooManyRequestsException e) {
+            return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .bodyValue(Map.of("error", "Muitas tentativas, tente novamente mais tarde"));
+        } catch (ServiceBusyException e) {
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .bodyValue(Map.of("error", e.getMessage()));
+        }
+        BulkRegistrationService.Totals totals = new BulkRegistrationService.Totals();
+
+        // A vaga é devolvida no fim, em erro ou se o cliente desconectar
+        Flux<Object> body = bulkRegistration.register(request.bodyToFlux(String.class), format)
+                .doOnNext(totals::add)
+                .cast(Object.class)
+                .concatWith(Mono.fromSupplier(() -> totals.summary().asLine()))
+                .doFinally(signal -> release.run());
+
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body, Object.class);
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.fatec.modulo2.login_api.reactive;
+
+import br.com.fatec.modulo2.login_api.audit.AuditEventType;
+import br.com.fatec.modulo2.login_api.audit.AuditLog;
+import br.com.fatec.modulo2.login_api.cache.VerifiedTokenCache;
+import br.com.fatec.modulo2.login_api.config.AdminUsers;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.revocation.RevocationIndex;
+import br.com.fatec.modulo2.login_api.service.JwtService;
+import br.com.fatec.modulo2.login_api.service.TokenPrecheck;
+import br.com.fatec.modulo2.login_api.service.TokenVerification;
+import br.com.fatec.modulo2.login_api.service.VerifiedToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Equivalente reativo do JwtAuthenticationFilter
+ *
+ * A verificação do token é CPU pura (HMAC de poucos microssegundos) e roda
+ * direto no event loop; o usuário autenticado vai para o contexto do Reactor
+ * via {@link ReactiveSecurityContextHolder}, não para um ThreadLocal.
+ *
+ * Não é um bean: é registrado apenas na SecurityWebFilterChain, para não
+ * rodar duas vezes.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final RevocationIndex revocations;
+    private final AuthMetrics metrics;
+    private final AuditLog audit;
+    private final AdminUsers admins;
+
+    public JwtAuthenticationWebFilter(
+            JwtService jwtService,
+            VerifiedTokenCache tokenCache,
+            RevocationIndex revocations,
+            AuthMetrics metrics,
+            AuditLog audit,
+            AdminUsers admins
+    ) {
+        this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.revocations = revocations;
+        this.metrics = metrics;
+        this.audit = audit;
+        this.admins = admins;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        int tokenStart = TokenPrecheck.bearerStart(authHeader);
+        if (tokenStart < 0) {
+            metrics.filterNoHeader().increment();
+            return chain.filter(exchange);
+        }
+
+        if (!jwtService.isWellFormed(authHeader, tokenStart)) {
+            metrics.filterMalformed().increment();
+            audit(exchange, AuditEventType.TOKEN_MALFORMED, null);
+            return chain.filter(exchange);
+        }
+
+        String token = authHeader.substring(tokenStart);
+
+        VerifiedToken verified = tokenCache.get(token);
+        if (verified == null) {
+            TokenVerification verification = jwtService.checkWellFormed(token);
+            switch (verification.status()) {
+                case VALID -> {
+                    verified = verification.token();
+                    tokenCache.put(token, verified);
+                }
+                case EXPIRED -> {
+                    metrics.filterExpired().increment();
+                    audit(exchange, AuditEventType.TOKEN_EXPIRED, null);
+                }
+                case INVALID -> {
+                    metrics.filterInvalid().increment();
+                    audit(exchange, AuditEventType.TOKEN_INVALID, null);
+                }
+            }
+        }
+
+        if (verified != null && revocations.isRevoked(verified.id())) {
+            metrics.filterRevoked().increment();
+            audit(exchange, AuditEventType.TOKEN_REVOKED, verified.subject());
+            verified = null;
+        }
+
+        if (verified == null) {
+            return chain.filter(exchange);
+        }
+
+        metrics.filterValid().increment();
+        audit(exchange, AuditEventType.TOKEN_VALID, verified.subject());
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                verified.subject(),
+                null,
+                admins.authoritiesOf(verified.subject())
+        );
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    private void audit(ServerWebExchange exchange, AuditEventType type, String subject) {
+        if (!audit.isRecorded(type)) {
+            return;
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        String remoteAddress = remote == null ? null
+                : remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+        audit.record(type, subject, remoteAddress, exchange.getRequest().getHeaders().getFirst("X-Forwarded-For"));
+    }
+}
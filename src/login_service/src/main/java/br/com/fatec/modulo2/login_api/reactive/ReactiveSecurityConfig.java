@@ -0,0 +1,70 @@
+package br.com.fatec.modulo2.login_api.reactive;
+
+import br.com.fatec.modulo2.login_api.audit.AuditLog;
+import br.com.fatec.modulo2.login_api.cache.VerifiedTokenCache;
+import br.com.fatec.modulo2.login_api.config.AdminUsers;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.revocation.RevocationIndex;
+import br.com.fatec.modulo2.login_api.service.JwtService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Configuração do Spring Security para a variante reativa (WebFlux)
+ *
+ * Mesmas regras do SecurityConfig servlet: rotas públicas de login/registro/health,
+ * demais exigem token, sem sessão.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            JwtService jwtService,
+            VerifiedTokenCache tokenCache,
+            RevocationIndex revocations,
+            AuthMetrics metrics,
+            AuditLog audit,
+            AdminUsers admins
+    ) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/api/login", "/api/register", "/api/refresh", "/api/health").permitAll()
+                        // Chaves públicas para verificadores (gateway)
+                        .pathMatchers("/.well-known/jwks.json").permitAll()
+                        // Actuator: a porta 8081 só é acessível pela rede interna
+                        .pathMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        // Cadastro em lote: um token qualquer sairia de um auto-registro
+                        .pathMatchers("/api/register/bulk").hasRole(AdminUsers.ROLE)
+                        .anyExchange().authenticated()
+                )
+                // Stateless - o contexto vem do token a cada requisição
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                // Sem token: 403, como na variante servlet
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint((exchange, e) -> Mono.fromRunnable(
+                                () -> exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN)))
+                )
+                .addFilterAt(
+                        new JwtAuthenticationWebFilter(jwtService, tokenCache, revocations, metrics, audit, admins),
+                        SecurityWebFiltersOrder.AUTHENTICATION
+                )
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.fatec.modulo2.login_api.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Servidor da variante reativa: Reactor Netty
+ *
+ * O Tomcat continua no classpath por causa da variante servlet, e a
+ * autoconfiguração do Spring Boot prefere o Tomcat também para WebFlux. Com
+ * a fábrica declarada aqui a variante reativa roda de fato no event loop do
+ * Netty; as propriedades server.* continuam valendo pelos customizers do Boot.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
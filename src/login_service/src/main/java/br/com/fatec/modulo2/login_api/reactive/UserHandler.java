@@ -0,0 +1,56 @@
+package br.com.fatec.modulo2.login_api.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Handlers reativos das rotas protegidas /api/user/*
+ *
+ * O usuário vem do {@link ReactiveSecurityContextHolder} (contexto do Reactor),
+ * preenchido pelo {@link JwtAuthenticationWebFilter}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UserHandler {
+
+    public Mono<ServerResponse> getProfile(ServerRequest request) {
+        return username().flatMap(username -> ServerResponse.ok().bodyValue(Map.of(
+                "username", username,
+                "message", "Perfil do usuário autenticado",
+                "authenticated", true
+        )));
+    }
+
+    public Mono<ServerResponse> getSecretData(ServerRequest request) {
+        return username().flatMap(username -> ServerResponse.ok().bodyValue(Map.of(
+                "username", username,
+                "secretData", "Dados super secretos acessíveis apenas com token válido!",
+                "timestamp", System.currentTimeMillis()
+        )));
+    }
+
+    public Mono<ServerResponse> updateProfile(ServerRequest request) {
+        return username().zipWith(request.bodyToMono(new ParameterizedTypeReference<Map<String, String>>() {
+                }))
+                .flatMap(tuple -> ServerResponse.ok().bodyValue(Map.of(
+                        "message", "Dados atualizados com sucesso",
+                        "username", tuple.getT1(),
+                        "updatedFields", tuple.getT2().keySet()
+                )));
+    }
+
+    private static Mono<String> username() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Authentication::getName);
+    }
+}
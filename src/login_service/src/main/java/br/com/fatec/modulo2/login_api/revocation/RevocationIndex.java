@@ -0,0 +1,129 @@
+package br.com.fatec.modulo2.login_api.revocation;
+
+import br.com.fatec.modulo2.login_api.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Índice em memória de tokens de acesso revogados, pelo "jti"
+ *
+ * Cada entrada vale até o "exp" do token: depois disso o token já seria
+ * recusado pela expiração, e a entrada é descartada na limpeza periódica.
+ *
+ * A consulta roda em toda requisição autenticada. Um filtro de Bloom na
+ * frente responde "não revogado" para quase todos os tokens sem tocar no
+ * mapa; só os positivos (revogados ou falsos positivos) consultam o
+ * {@link ConcurrentHashMap}. Revogações são raras e serializadas; a limpeza
+ * reconstrói o filtro só com as entradas vivas.
+ *
+ * Com várias réplicas, {@link #replicateTo} registra quem propaga as
+ * revogações locais; as recebidas de outras réplicas entram por
+ * {@link #applyReplicated}, sem serem propagadas de novo.
+ */
+@Component
+public class RevocationIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final int expectedEntries;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile BloomFilter filter;
+    private volatile BiConsumer<String, Instant> replicator = (jti, expiresAt) -> {
+    };
+
+    @Autowired
+    public RevocationIndex(@Value("${jwt.revocation.expected-entries:100000}") int expectedEntries) {
+        this(expectedEntries, Clock.systemUTC());
+    }
+
+    RevocationIndex(int expectedEntries, Clock clock) {
+        this.expectedEntries = expectedEntries;
+        this.clock = clock;
+        this.filter = BloomFilter.create(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Revoga o token até a sua expiração
+     *
+     * @param jti       "jti" do token
+     * @param expiresAt "exp" do token
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (add(jti, expiresAt)) {
+            replicator.accept(jti, expiresAt);
+        }
+    }
+
+    /**
+     * Aplica uma revogação feita em outra réplica (idempotente)
+     */
+    public void applyReplicated(String jti, Instant expiresAt) {
+        add(jti, expiresAt);
+    }
+
+    /**
+     * Define quem propaga as revogações feitas nesta réplica
+     */
+    public void replicateTo(BiConsumer<String, Instant> replicator) {
+        this.replicator = replicator;
+    }
+
+    /**
+     * @param jti "jti" do token (tokens sem "jti" nunca são revogados)
+     * @return true se o token foi revogado e ainda não expirou
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAtMillis = revoked.get(jti);
+        return expiresAtMillis != null && clock.millis() < expiresAtMillis;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private boolean add(String jti, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (clock.millis() >= expiresAtMillis) {
+            return false;
+        }
+        synchronized (writeLock) {
+            revoked.put(jti, expiresAtMillis);
+            filter.put(jti);
+        }
+        return true;
+    }
+
+    /**
+     * Descarta entradas expiradas e reconstrói o filtro de Bloom
+     *
+     * O filtro não permite remoção; sem a reconstrução a taxa de falsos
+     * positivos subiria com o tempo.
+     */
+    @Scheduled(
+            initialDelayString = "${jwt.revocation.purge-interval:PT1M}",
+            fixedDelayString = "${jwt.revocation.purge-interval:PT1M}"
+    )
+    public void purge() {
+        synchronized (writeLock) {
+            long now = clock.millis();
+            revoked.values().removeIf(expiresAtMillis -> now >= expiresAtMillis);
+
+            BloomFilter rebuilt = BloomFilter.create(Math.max(expectedEntries, revoked.size()), FALSE_POSITIVE_RATE);
+            revoked.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+        }
+    }
+}
@@ -1,44 +1,106 @@
 package br.com.fatec.modulo2.login_api.service;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.password.PasswordHasher;
+import br.com.fatec.modulo2.login_api.store.UserStore;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Autenticação e cadastro de usuários
+ *
+ * Todo login custa exatamente um hash, exista o usuário ou não: para um
+ * username desconhecido a senha é comparada com um hash fictício (mesmo custo
+ * da política atual) e o resultado descartado. Assim o tempo de resposta não
+ * revela quais usuários existem, e a capacidade de login pode ser planejada
+ * como "tentativas x custo de um hash". Essas comparações aparecem em
+ * auth.password.hash{operation=dummy_match}.
+ *
+ * Limite: o hash fictício usa sempre a política atual. Depois de uma troca de
+ * custo (ou de uma nova calibração), usuários com hash antigo que ainda não
+ * fizeram login custam o custo antigo, e a diferença de tempo para um
+ * username desconhecido revela que eles existem até o rehash no login.
+ *
+ * O algoritmo e o custo vêm do {@link PasswordHasher} (calibrado na
+ * inicialização). Um login bem-sucedido com hash de outra versão regrava o
+ * hash com a política atual, o que custa um hash extra apenas nesse login.
+ */
 @Service
 public class AuthService {
 
-    private final BCryptPasswordEncoder passwordEncoder;
-
-    // Em produção: use JPA/Hibernate com banco de dados
-    private final Map<String, String> users;
-
-    public AuthService() {
-        this.passwordEncoder = new BCryptPasswordEncoder();
-        this.users = new HashMap<>();
+    private final PasswordHasher passwordHasher;
+    private final String dummyHash;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final AuthMetrics metrics;
+
+    // Implementação escolhida por users.store.type (ver UserStoreConfig)
+    private final UserStore users;
+
+    @Autowired
+    public AuthService(
+            UserStore users,
+            PasswordHasher passwordHasher,
+            PasswordHashingExecutor hashingExecutor,
+            AuthMetrics metrics
+    ) {
+        this.passwordHasher = passwordHasher;
+        this.users = users;
+        this.hashingExecutor = hashingExecutor;
+        this.metrics = metrics;
+        this.dummyHash = passwordHasher.encode(randomPassword());
+
+        // Usuários de exemplo (não sobrescreve usuários já persistidos)
+        seedUser("admin", "admin123");
+
+        seedUser("user", "user123");
+
+        seedUser("test", "test123");
+    }
 
+    /**
+     * BCrypt com a força padrão, sem calibração
+     */
+    public AuthService(UserStore users, PasswordHashingExecutor hashingExecutor, AuthMetrics metrics) {
+        this(users, new PasswordHasher(PasswordHasher.Policy.bcrypt(PasswordHasher.Algorithm.BCRYPT.defaultCost())),
+                hashingExecutor, metrics);
+    }
 
-        // Usuários de exemplo
-        users.put("admin", passwordEncoder.encode("admin123"));
+    public boolean authenticate(String username, String password) {
+        String hashedPassword = users.findPasswordHash(username);
 
-        users.put("user", passwordEncoder.encode("user123"));
+        // Usuário inexistente: paga o mesmo hash e recusa
+        if (hashedPassword == null) {
+            dummyMatch(password);
+            return false;
+        }
 
-        users.put("test", passwordEncoder.encode("test123"));
+        return verify(username, password, hashedPassword);
     }
 
-    public boolean authenticate(String username, String password) {
-        // Verifica se o usuário existe
-        if (!users.containsKey(username)) {
-            return false;
+    /**
+     * Versão assíncrona de {@link #authenticate}: o hash roda no
+     * {@link PasswordHashingExecutor}, liberando a thread da requisição
+     *
+     * @return Future com o resultado; falha com ServiceBusyException se a fila estiver cheia
+     */
+    public CompletableFuture<Boolean> authenticateAsync(String username, String password) {
+        String hashedPassword = users.findPasswordHash(username);
+
+        if (hashedPassword == null) {
+            return hashingExecutor.submit(() -> dummyMatch(password));
         }
 
-        String hashedPassword = users.get(username);
-        return passwordEncoder.matches(password, hashedPassword);
+        return hashingExecutor.submit(() -> verify(username, password, hashedPassword));
     }
 
     public boolean userExists(String username) {
-        return users.containsKey(username);
+        return users.exists(username);
     }
 
     public boolean registerUser(String username, String password) {
@@ -46,9 +108,83 @@ public class AuthService {
             return false;
         }
 
-        String hashedPassword = passwordEncoder.encode(password);
-        users.put(username, hashedPassword);
+        String hashedPassword = encode(password);
+
+        // Put-if-absent atômico: se outra requisição cadastrou o mesmo
+        // usuário enquanto o hash era calculado, esta perde a corrida
+        return users.putIfAbsent(username, hashedPassword);
+    }
 
+    /**
+     * Versão assíncrona de {@link #registerUser}: o hash roda no
+     * {@link PasswordHashingExecutor}, liberando a thread da requisição
+     *
+     * @return Future com true se cadastrado, false se o usuário já existe
+     */
+    public CompletableFuture<Boolean> registerUserAsync(String username, String password) {
+        if (userExists(username)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return hashingExecutor.submit(() -> encode(password))
+                .thenApply(hashedPassword -> users.putIfAbsent(username, hashedPassword));
+    }
+
+    /**
+     * Hash da senha com a política atual, na thread chamadora (cadastro em lote)
+     */
+    public String hashPassword(String password) {
+        return encode(password);
+    }
+
+    /**
+     * Cadastra em lote usuários cuja senha já passou por {@link #hashPassword}
+     *
+     * @param hashedUsers Pares username → hash
+     * @return Para cada posição, true se cadastrado, false se o usuário já existia
+     */
+    public boolean[] registerHashed(List<Map.Entry<String, String>> hashedUsers) {
+        return users.putAllIfAbsent(hashedUsers);
+    }
+
+    private boolean verify(String username, String password, String hashedPassword) {
+        if (!matches(password, hashedPassword)) {
+            return false;
+        }
+        if (passwordHasher.needsRehash(hashedPassword)) {
+            // Perde para uma troca de senha concorrente: o hash novo prevalece
+            if (users.replace(username, hashedPassword, encode(password))) {
+                metrics.passwordRehash().increment();
+            }
+        }
         return true;
     }
-}
\ No newline at end of file
+
+    private boolean matches(String password, String hashedPassword) {
+        return metrics.passwordMatch().record(() -> passwordHasher.matches(password, hashedPassword));
+    }
+
+    /**
+     * Compara com o hash fictício; sempre false
+     */
+    private boolean dummyMatch(String password) {
+        metrics.passwordDummyMatch().record(() -> passwordHasher.matches(password, dummyHash));
+        return false;
+    }
+
+    private String encode(String password) {
+        return metrics.passwordEncode().record(() -> passwordHasher.encode(password));
+    }
+
+    private static String randomPassword() {
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private void seedUser(String username, String password) {
+        if (!users.exists(username)) {
+            users.putIfAbsent(username, passwordHasher.encode(password));
+        }
+    }
+}
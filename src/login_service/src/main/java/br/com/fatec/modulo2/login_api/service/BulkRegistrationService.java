@@ -0,0 +1,265 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import br.com.fatec.modulo2.login_api.dto.BulkRegisterResult;
+import br.com.fatec.modulo2.login_api.dto.BulkRegisterSummary;
+import br.com.fatec.modulo2.login_api.dto.RegisterRequest;
+import br.com.fatec.modulo2.login_api.exception.ServiceBusyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Cadastro em lote a partir de um arquivo NDJSON ou CSV
+ *
+ * O arquivo é processado como fluxo, linha a linha, com backpressure: no
+ * máximo {@code parallelism} senhas estão em hashing ao mesmo tempo (uma por
+ * núcleo por padrão) e no máximo {@code batch-size} hashes aguardam a
+ * gravação, então a memória usada não depende do tamanho do arquivo. Os
+ * hashes prontos são gravados no store em lotes ({@code putAllIfAbsent}, um
+ * fsync por lote no armazenamento em arquivo) e os resultados saem na ordem
+ * das linhas assim que cada lote é gravado.
+ *
+ * O hashing roda em um pool próprio, separado do PasswordHashingExecutor:
+ * uma importação grande disputa CPU com os logins, mas não ocupa a fila deles
+ * nem faz logins receberem 503. Pela API só correm users.bulk.max-concurrent-imports
+ * importações ao mesmo tempo ({@link #acquireImport()}); as demais recebem 503.
+ *
+ * Formatos (uma conta por linha):
+ * - NDJSON: {"username": "maria", "password": "senha123"}
+ * - CSV: username,password — cabeçalho opcional, sem aspas; a senha é todo o
+ *   texto após a primeira vírgula
+ */
+@Service
+public class BulkRegistrationService implements DisposableBean {
+
+    public enum Format {
+        NDJSON,
+        CSV;
+
+        /**
+         * Formato pelo content type ou extensão do arquivo; NDJSON se não reconhecer
+         */
+        public static Format detect(String contentTypeOrFileName) {
+            if (contentTypeOrFileName == null) {
+                return NDJSON;
+            }
+            String value = contentTypeOrFileName.toLowerCase();
+            return value.contains("csv") ? CSV : NDJSON;
+        }
+    }
+
+    private static final String CSV_HEADER = "username,password";
+    private static final long IMPORT_BUSY_RETRY_AFTER_SECONDS = 30;
+
+    private final AuthService authService;
+    private final ObjectMapper objectMapper;
+    private final int parallelism;
+    private final int batchSize;
+    private final Duration maxBatchDelay;
+    private final Scheduler hashingScheduler;
+    private final Semaphore imports;
+
+    @Autowired
+    public BulkRegistrationService(
+            AuthService authService,
+            ObjectMapper objectMapper,
+            @Value("${users.bulk.threads:0}") int threads,
+            @Value("${users.bulk.batch-size:256}") int batchSize,
+            @Value("${users.bulk.max-batch-delay:PT0.5S}") Duration maxBatchDelay,
+            @Value("${users.bulk.max-concurrent-imports:1}") int maxConcurrentImports
+    ) {
+        this.authService = authService;
+        this.objectMapper = objectMapper;
+        this.parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.maxBatchDelay = maxBatchDelay;
+        this.hashingScheduler = Schedulers.newParallel("bulk-hashing", parallelism, true);
+        this.imports = new Semaphore(maxConcurrentImports);
+    }
+
+    /**
+     * Reserva uma das importações simultâneas permitidas pela API
+     *
+     * @return Libera a vaga; pode ser chamado mais de uma vez (fim, erro ou cancelamento)
+     * @throws ServiceBusyException se todas as vagas estiverem em uso
+     */
+    public Runnable acquireImport() {
+        if (!imports.tryAcquire()) {
+            throw new ServiceBusyException("Importação em lote já em andamento", IMPORT_BUSY_RETRY_AFTER_SECONDS);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                imports.release();
+            }
+        };
+    }
+
+    /**
+     * Processa as linhas e emite um resultado por conta, na ordem das linhas
+     *
+     * Linhas em branco e o cabeçalho do CSV são ignorados (mas contam na numeração).
+     */
+    public Flux<BulkRegisterResult> register(Flux<String> lines, Format format) {
+        return lines.index()
+                .filter(indexed -> !isSkipped(indexed.getT1(), indexed.getT2(), format))
+                .map(indexed -> parse(indexed.getT1() + 1, indexed.getT2(), format))
+                .flatMapSequential(this::hash, parallelism, 1)
+                .bufferTimeout(batchSize, maxBatchDelay, true)
+                .concatMapIterable(this::store);
+    }
+
+    /**
+     * Versão bloqueante de {@link #register(Flux, Format)} (controller servlet e importação offline)
+     *
+     * @param results Recebe cada resultado, sempre da mesma thread por vez
+     * @return Totais da importação
+     */
+    public BulkRegisterSummary register(BufferedReader reader, Format format, Consumer<BulkRegisterResult> results) {
+        Totals totals = new Totals();
+        Flux.fromStream(reader::lines)
+                .transform(lines -> register(lines, format))
+                .doOnNext(result -> {
+                    totals.add(result);
+                    results.accept(result);
+                })
+                .blockLast();
+        return totals.summary();
+    }
+
+    /**
+     * Acumula os totais de um fluxo de resultados (variante reativa)
+     */
+    public static final class Totals {
+
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong exists = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+
+        public void add(BulkRegisterResult result) {
+            switch (result.status()) {
+                case BulkRegisterResult.CREATED -> created.incrementAndGet();
+                case BulkRegisterResult.EXISTS -> exists.incrementAndGet();
+                case BulkRegisterResult.INVALID -> invalid.incrementAndGet();
+                default -> failed.incrementAndGet();
+            }
+        }
+
+        public BulkRegisterSummary summary() {
+            long c = created.get();
+            long e = exists.get();
+            long i = invalid.get();
+            long f = failed.get();
+            return new BulkRegisterSummary(c + e + i + f, c, e, i, f);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        hashingScheduler.dispose();
+    }
+
+    /**
+     * Linha lida do arquivo: conta válida (hash a calcular) ou resultado já decidido
+     */
+    private record Entry(long line, String username, String password, String hash, BulkRegisterResult result) {
+
+        Entry withHash(String hash) {
+            return new Entry(line, username, null, hash, null);
+        }
+    }
+
+    private static boolean isSkipped(long index, String text, Format format) {
+        return text.isBlank() || (format == Format.CSV && index == 0 && text.trim().equalsIgnoreCase(CSV_HEADER));
+    }
+
+    private Entry parse(long line, String text, Format format) {
+        RegisterRequest request;
+        if (format == Format.CSV) {
+            int comma = text.indexOf(',');
+            request = comma < 0
+                    ? new RegisterRequest(text, null)
+                    : new RegisterRequest(text.substring(0, comma), text.substring(comma + 1));
+        } else {
+            try {
+                request = objectMapper.readValue(text, RegisterRequest.class);
+            } catch (JsonProcessingException e) {
+                return new Entry(line, null, null, null,
+                        BulkRegisterResult.invalid(line, null, "JSON inválido"));
+            }
+        }
+
+        if (!request.isValid()) {
+            return new Entry(line, request.username(), null, null,
+                    BulkRegisterResult.invalid(line, request.username(), "Username e password são obrigatórios"));
+        }
+        return new Entry(line, request.username(), request.password(), null, null);
+    }
+
+    private Mono<Entry> hash(Entry entry) {
+        if (entry.result() != null) {
+            return Mono.just(entry);
+        }
+        // Evita o hash de quem já está cadastrado (consulta O(1) no filtro de existência)
+        if (authService.userExists(entry.username())) {
+            return Mono.just(new Entry(entry.line(), entry.username(), null, null,
+                    BulkRegisterResult.exists(entry.line(), entry.username())));
+        }
+        return Mono.fromCallable(() -> entry.withHash(authService.hashPassword(entry.password())))
+                .subscribeOn(hashingScheduler)
+                .onErrorResume(e -> Mono.just(new Entry(entry.line(), entry.username(), null, null,
+                        BulkRegisterResult.failed(entry.line(), entry.username(), "Erro ao gerar hash da senha"))));
+    }
+
+    private List<BulkRegisterResult> store(List<Entry> batch) {
+        List<Map.Entry<String, String>> hashed = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            if (entry.result() == null) {
+                hashed.add(Map.entry(entry.username(), entry.hash()));
+            }
+        }
+
+        boolean[] inserted;
+        String error = null;
+        try {
+            inserted = authService.registerHashed(hashed);
+        } catch (RuntimeException e) {
+            inserted = new boolean[hashed.size()];
+            error = "Erro ao gravar usuário";
+        }
+
+        List<BulkRegisterResult> results = new ArrayList<>(batch.size());
+        int position = 0;
+        for (Entry entry : batch) {
+            if (entry.result() != null) {
+                results.add(entry.result());
+            } else if (error != null) {
+                results.add(BulkRegisterResult.failed(entry.line(), entry.username(), error));
+                position++;
+            } else {
+                results.add(inserted[position++]
+                        ? BulkRegisterResult.created(entry.line(), entry.username())
+                        : BulkRegisterResult.exists(entry.line(), entry.username()));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,290 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Emissão de tokens HMAC sem o builder do jjwt
+ *
+ * Os tokens do login só variam em jti, sub/username, iat e exp. O header
+ * codificado é calculado uma vez; o payload é escrito direto em bytes num
+ * buffer da thread, codificado em base64url no próprio buffer e assinado com
+ * um {@link Mac} da thread, sem mapas de claims nem Jackson.
+ *
+ * O resultado é um JWS compacto comum: o parser do jjwt o verifica como
+ * qualquer outro token (mesmo "alg" que o jjwt escolheria para a chave e os
+ * mesmos claims, com iat/exp em segundos).
+ *
+ * Buffers e Mac ficam num ThreadLocal nas threads de plataforma (pool de
+ * hashing, onde o login termina). Virtual threads são criadas por requisição,
+ * então usam um pequeno pool compartilhado em vez do ThreadLocal.
+ */
+public final class HmacTokenMinter {
+
+    /**
+     * JCA -> "alg" do JWS; o jjwt escolhe pelo tamanho da chave (Keys.hmacShaKeyFor)
+     */
+    private static final Map<String, String> ALGORITHMS = Map.of(
+            "HmacSHA256", "HS256",
+            "HmacSHA384", "HS384",
+            "HmacSHA512", "HS512"
+    );
+
+    private static final byte[] BASE64URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] JTI = ascii("{\"jti\":\"");
+    private static final byte[] SUB = ascii("\",\"sub\":\"");
+    private static final byte[] USERNAME = ascii("\",\"username\":\"");
+    private static final byte[] TYPE_IAT = ascii("\",\"type\":\"Bearer\",\"iat\":");
+    private static final byte[] EXP = ascii(",\"exp\":");
+
+    private static final int VIRTUAL_POOL_SIZE = 64;
+
+    private final SecretKey key;
+    private final String jcaAlgorithm;
+    private final byte[] encodedHeader;
+    private final int macLength;
+
+    private final ThreadLocal<Buffers> platformBuffers = ThreadLocal.withInitial(this::newBuffers);
+    private final ArrayBlockingQueue<Buffers> virtualBuffers = new ArrayBlockingQueue<>(VIRTUAL_POOL_SIZE);
+
+    /**
+     * @param key Chave HMAC (SecretKey de Keys.hmacShaKeyFor)
+     * @throws IllegalArgumentException se o algoritmo da chave não for HmacSHA256/384/512
+     */
+    public HmacTokenMinter(SecretKey key) {
+        String alg = ALGORITHMS.get(key.getAlgorithm());
+        if (alg == null) {
+            throw new IllegalArgumentException("Chave HMAC não suportada: " + key.getAlgorithm());
+        }
+        this.key = key;
+        this.jcaAlgorithm = key.getAlgorithm();
+        this.macLength = newMac().getMacLength();
+
+        byte[] header = ascii("{\"alg\":\"" + alg + "\"}");
+        byte[] encoded = new byte[encodedLength(header.length) + 1];
+        int length = encode(header, header.length, encoded, 0);
+        encoded[length] = '.';
+        this.encodedHeader = encoded;
+    }
+
+    /**
+     * "alg" do header dos tokens emitidos
+     */
+    public String algorithm() {
+        return ALGORITHMS.get(jcaAlgorithm);
+    }
+
+    /**
+     * Emite um token assinado
+     *
+     * @param id              jti
+     * @param subject         sub (também repetido no claim "username")
+     * @param issuedAtSeconds iat, em segundos desde a época
+     * @param expiresAtSeconds exp, em segundos desde a época
+     */
+    public String mint(String id, String subject, long issuedAtSeconds, long expiresAtSeconds) {
+        boolean virtual = Thread.currentThread().isVirtual();
+        Buffers buffers = virtual ? borrow() : platformBuffers.get();
+        try {
+            return buffers.mint(id, subject, issuedAtSeconds, expiresAtSeconds);
+        } finally {
+            if (virtual) {
+                virtualBuffers.offer(buffers);
+            }
+        }
+    }
+
+    private Buffers borrow() {
+        Buffers buffers = virtualBuffers.poll();
+        return buffers != null ? buffers : newBuffers();
+    }
+
+    private Buffers newBuffers() {
+        return new Buffers(newMac());
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(jcaAlgorithm);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC indisponível: " + jcaAlgorithm, e);
+        }
+    }
+
+    /**
+     * Estado de uma thread: Mac e buffers reaproveitados entre tokens
+     */
+    private final class Buffers {
+
+        private final Mac mac;
+        private final byte[] signature;
+        private byte[] payload = new byte[256];
+        private byte[] token = new byte[512];
+
+        private Buffers(Mac mac) {
+            this.mac = mac;
+            this.signature = new byte[macLength];
+        }
+
+        String mint(String id, String subject, long issuedAtSeconds, long expiresAtSeconds) {
+            int payloadLength = writePayload(id, subject, issuedAtSeconds, expiresAtSeconds);
+
+            int headerLength = encodedHeader.length;
+            int capacity = headerLength + encodedLength(payloadLength) + 1 + encodedLength(macLength);
+            if (token.length < capacity) {
+                token = new byte[Math.max(capacity, token.length * 2)];
+            }
+            System.arraycopy(encodedHeader, 0, token, 0, headerLength);
+            int length = headerLength + encode(payload, payloadLength, token, headerLength);
+
+            try {
+                mac.update(token, 0, length);
+                mac.doFinal(signature, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+
+            token[length++] = '.';
+            length += encode(signature, macLength, token, length);
+            return new String(token, 0, length, StandardCharsets.US_ASCII);
+        }
+
+        /**
+         * {"jti":..,"sub":..,"username":..,"type":"Bearer","iat":..,"exp":..} em UTF-8
+         */
+        private int writePayload(String id, String subject, long issuedAtSeconds, long expiresAtSeconds) {
+            // Pior caso por char: \\u00XX (6 bytes)
+            int worstCase = JTI.length + SUB.length + USERNAME.length + TYPE_IAT.length + EXP.length
+                    + 6 * (id.length() + 2 * subject.length()) + 2 * 20 + 1;
+            if (payload.length < worstCase) {
+                payload = new byte[Math.max(worstCase, payload.length * 2)];
+            }
+
+            int position = put(JTI, 0);
+            position = putString(id, position);
+            position = put(SUB, position);
+            position = putString(subject, position);
+            position = put(USERNAME, position);
+            position = putString(subject, position);
+            position = put(TYPE_IAT, position);
+            position = putLong(issuedAtSeconds, position);
+            position = put(EXP, position);
+            position = putLong(expiresAtSeconds, position);
+            payload[position++] = '}';
+            return position;
+        }
+
+        private int put(byte[] bytes, int position) {
+            System.arraycopy(bytes, 0, payload, position, bytes.length);
+            return position + bytes.length;
+        }
+
+        /**
+         * Conteúdo de uma string JSON (sem as aspas), escapado e em UTF-8
+         */
+        private int putString(String value, int position) {
+            byte[] out = payload;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    if (c == '"' || c == '\\') {
+                        out[position++] = '\\';
+                        out[position++] = (byte) c;
+                    } else if (c < 0x20) {
+                        out[position++] = '\\';
+                        out[position++] = 'u';
+                        out[position++] = '0';
+                        out[position++] = '0';
+                        out[position++] = hex(c >> 4);
+                        out[position++] = hex(c & 0xF);
+                    } else {
+                        out[position++] = (byte) c;
+                    }
+                } else if (c < 0x800) {
+                    out[position++] = (byte) (0xC0 | (c >> 6));
+                    out[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    // Surrogate sem par vira U+FFFD, como no String.getBytes(UTF_8)
+                    char encoded = Character.isSurrogate(c) ? '\uFFFD' : c;
+                    out[position++] = (byte) (0xE0 | (encoded >> 12));
+                    out[position++] = (byte) (0x80 | ((encoded >> 6) & 0x3F));
+                    out[position++] = (byte) (0x80 | (encoded & 0x3F));
+                }
+            }
+            return position;
+        }
+
+        private int putLong(long value, int position) {
+            if (value < 0) {
+                payload[position++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (long rest = value / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            for (int i = position + digits - 1; i >= position; i--) {
+                payload[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            return position + digits;
+        }
+    }
+
+    private static byte hex(int nibble) {
+        return (byte) (nibble < 10 ? '0' + nibble : 'a' + nibble - 10);
+    }
+
+    private static int encodedLength(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    /**
+     * base64url sem padding de src[0, length) em dst a partir de offset
+     *
+     * @return Quantidade de bytes escritos
+     */
+    static int encode(byte[] src, int length, byte[] dst, int offset) {
+        int out = offset;
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[out++] = BASE64URL[bits >>> 18];
+            dst[out++] = BASE64URL[(bits >>> 12) & 0x3F];
+            dst[out++] = BASE64URL[(bits >>> 6) & 0x3F];
+            dst[out++] = BASE64URL[bits & 0x3F];
+        }
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xFF) << 16;
+            dst[out++] = BASE64URL[bits >>> 18];
+            dst[out++] = BASE64URL[(bits >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+            dst[out++] = BASE64URL[bits >>> 18];
+            dst[out++] = BASE64URL[(bits >>> 12) & 0x3F];
+            dst[out++] = BASE64URL[(bits >>> 6) & 0x3F];
+        }
+        return out - offset;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
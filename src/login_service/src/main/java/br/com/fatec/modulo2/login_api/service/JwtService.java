@@ -1,28 +1,74 @@
 package br.com.fatec.modulo2.login_api.service;
 
+import br.com.fatec.modulo2.login_api.keys.JwtKeyring;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Serviço responsável pela geração e validação de tokens JWT
+ *
+ * As chaves vêm do {@link JwtKeyring} (HMAC, ou ES256/EdDSA com rotação e
+ * "kid" no header). O parser é construído uma única vez e escolhe a chave de
+ * verificação pelo "kid" a cada token; é imutável e thread-safe.
+ *
+ * No modo HMAC os tokens são emitidos pelo {@link HmacTokenMinter}, sem o
+ * builder do jjwt; nos modos assimétricos, pelo builder.
  */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    /**
+     * Claims registrados que já são expostos diretamente em {@link VerifiedToken}
+     */
+    private static final Set<String> REGISTERED_CLAIMS = Set.of(
+            Claims.ID, Claims.SUBJECT, Claims.EXPIRATION, Claims.ISSUED_AT
+    );
+
+    private final Long expiration;
+    private final JwtKeyring keyring;
+    private final JwtParser parser;
+    private final TokenPrecheck precheck;
+    private final HmacTokenMinter minter;
+    private final AuthMetrics metrics;
+
+    @Autowired
+    public JwtService(
+            JwtKeyring keyring,
+            @Value("${jwt.expiration}") Long expiration,
+            AuthMetrics metrics
+    ) {
+        this.expiration = expiration;
+        this.metrics = metrics;
+        this.keyring = keyring;
+        this.parser = keyring.newParser();
+        this.precheck = new TokenPrecheck(keyring.acceptedAlgorithms());
+        SecretKey hmacKey = keyring.hmacSigningKey();
+        this.minter = hmacKey == null ? null : new HmacTokenMinter(hmacKey);
+    }
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    /**
+     * Serviço com uma única chave HMAC derivada do segredo
+     */
+    public JwtService(String secret, Long expiration, AuthMetrics metrics) {
+        this(JwtKeyring.hmac(secret), expiration, metrics);
+    }
 
     /**
      * Gera um token JWT para o usuário
@@ -31,6 +77,16 @@ public class JwtService {
      * @return Token JWT assinado
      */
     public String generateToken(String username) {
+        return metrics.tokenSign().record(() -> buildToken(username));
+    }
+
+    private String buildToken(String username) {
+        if (minter != null) {
+            long now = System.currentTimeMillis();
+            return minter.mint(UUID.randomUUID().toString(), username,
+                    now / 1000, (now + expiration) / 1000);
+        }
+
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
@@ -39,15 +95,105 @@ public class JwtService {
         claims.put("username", username);
         claims.put("type", "Bearer");
 
-        SecretKey key = getSigningKey();
-
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())     // jti: identifica o token na revogação
                 .subject(username)                    // Subject: identificador do usuário
                 .claims(claims)                       // Claims customizados
                 .issuedAt(now)                        // Data de criação
-                .expiration(expiryDate)               // Data de expiração
-                .signWith(key)                        // Assina com a chave secreta
-                .compact();
+                .expiration(expiryDate);              // Data de expiração
+
+        // Assina com a chave ativa do keyring ("kid" no header se assimétrica)
+        return keyring.sign(builder).compact();
+    }
+
+    /**
+     * Validade dos tokens emitidos, em milissegundos
+     */
+    public long getExpiration() {
+        return expiration;
+    }
+
+    /**
+     * Checagem estrutural do token, sem criptografia nem alocação
+     *
+     * @param value String que contém o token (ex.: o header Authorization)
+     * @param from  Offset onde o token começa; vai até o fim da string
+     * @return false se o token certamente é inválido
+     * @see TokenPrecheck
+     */
+    public boolean isWellFormed(String value, int from) {
+        return precheck.isWellFormed(value, from);
+    }
+
+    /**
+     * Verifica o token (assinatura e expiração) e extrai seus dados em uma
+     * única passada
+     *
+     * @param token Token JWT
+     * @return Dados do token verificado, ou null se o token for inválido ou expirado
+     */
+    public VerifiedToken verify(String token) {
+        return check(token).token();
+    }
+
+    /**
+     * Igual a {@link #verify}, mas informa o motivo da rejeição (inválido ou expirado)
+     *
+     * @param token Token JWT
+     * @return Resultado da verificação
+     */
+    public TokenVerification check(String token) {
+        return check(token, true);
+    }
+
+    /**
+     * Igual a {@link #check}, para tokens que já passaram por {@link #isWellFormed}
+     * (filtros JWT): não repete a checagem estrutural
+     *
+     * @param token Token JWT já conferido por {@link #isWellFormed}
+     * @return Resultado da verificação
+     */
+    public TokenVerification checkWellFormed(String token) {
+        return check(token, false);
+    }
+
+    private TokenVerification check(String token, boolean precheckFirst) {
+        long start = System.nanoTime();
+        try {
+            return parse(token, precheckFirst);
+        } finally {
+            metrics.tokenVerify().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private TokenVerification parse(String token, boolean precheckFirst) {
+        if (precheckFirst && !precheck.isWellFormed(token)) {
+            return TokenVerification.INVALID;
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            return TokenVerification.EXPIRED;
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenVerification.INVALID;
+        }
+
+        Map<String, Object> custom = new HashMap<>();
+        claims.forEach((name, value) -> {
+            if (value != null && !REGISTERED_CLAIMS.contains(name)) {
+                custom.put(name, value);
+            }
+        });
+
+        return TokenVerification.valid(new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                toInstant(claims.getExpiration()),
+                toInstant(claims.getIssuedAt()),
+                custom
+        ));
     }
 
     /**
@@ -57,16 +203,7 @@ public class JwtService {
      * @return true se o token é válido
      */
     public boolean validateToken(String token) {
-        try {
-            SecretKey key = getSigningKey();
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token) != null;
     }
 
     /**
@@ -76,14 +213,7 @@ public class JwtService {
      * @return Username contido no token
      */
     public String getUsernameFromToken(String token) {
-        SecretKey key = getSigningKey();
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+        return parseClaims(token).getSubject();
     }
 
     /**
@@ -94,14 +224,7 @@ public class JwtService {
      */
     public boolean isTokenExpired(String token) {
         try {
-            SecretKey key = getSigningKey();
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            return claims.getExpiration().before(new Date());
+            return parseClaims(token).getExpiration().before(new Date());
         } catch (Exception e) {
             return true;
         }
@@ -114,22 +237,14 @@ public class JwtService {
      * @return Data de expiração
      */
     public Date getExpirationDateFromToken(String token) {
-        SecretKey key = getSigningKey();
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parseClaims(token).getExpiration();
+    }
 
-        return claims.getExpiration();
+    private Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    /**
-     * Cria a chave de assinatura a partir do secret
-     *
-     * @return Chave secreta
-     */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
     }
-}
\ No newline at end of file
+}
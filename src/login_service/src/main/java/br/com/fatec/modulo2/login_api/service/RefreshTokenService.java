@@ -0,0 +1,131 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emissão e consumo de refresh tokens opacos
+ *
+ * O refresh token é um valor aleatório de 256 bits, sem significado fora
+ * deste serviço: revogá-lo é só removê-lo do mapa. Cada token vale uma única
+ * vez ({@link #consume} o remove de forma atômica) e a renovação emite um
+ * novo, então um token vazado e já usado não serve mais.
+ *
+ * A quantidade de tokens em memória é limitada por jwt.refresh.max-entries;
+ * no limite, os expirados saem primeiro e, se preciso, sessões arbitrárias
+ * (que voltam a exigir login).
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final double EVICTION_FRACTION = 0.1;
+
+    private final long expiration;
+    private final int maxEntries;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+    private final ConcurrentHashMap<String, Entry> tokens = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RefreshTokenService(
+            @Value("${jwt.refresh.expiration:604800000}") long expiration,
+            @Value("${jwt.refresh.max-entries:100000}") int maxEntries
+    ) {
+        this(expiration, maxEntries, Clock.systemUTC());
+    }
+
+    RefreshTokenService(long expiration, int maxEntries, Clock clock) {
+        this.expiration = expiration;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Emite um refresh token para o usuário
+     */
+    public String issue(String username) {
+        if (tokens.size() >= maxEntries) {
+            evict();
+        }
+
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = encoder.encodeToString(bytes);
+        tokens.put(token, new Entry(username, clock.millis() + expiration));
+        return token;
+    }
+
+    /**
+     * Consome o refresh token
+     *
+     * @return Usuário dono do token, ou null se inválido, expirado ou já usado
+     */
+    public String consume(String token) {
+        Entry entry = tokens.remove(token);
+        if (entry == null || clock.millis() >= entry.expiresAtMillis()) {
+            return null;
+        }
+        return entry.username();
+    }
+
+    /**
+     * Revoga o refresh token (logout), se ele pertencer ao usuário
+     *
+     * @return false se o token não existe ou é de outro usuário (nada é removido)
+     */
+    public boolean revoke(String token, String username) {
+        boolean[] revoked = {false};
+        tokens.computeIfPresent(token, (key, entry) -> {
+            if (!entry.username().equals(username)) {
+                return entry;
+            }
+            revoked[0] = true;
+            return null;
+        });
+        return revoked[0];
+    }
+
+    /**
+     * Validade do refresh token, em milissegundos
+     */
+    public long getExpiration() {
+        return expiration;
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    @Scheduled(
+            initialDelayString = "${jwt.revocation.purge-interval:PT1M}",
+            fixedDelayString = "${jwt.revocation.purge-interval:PT1M}"
+    )
+    public void purge() {
+        long now = clock.millis();
+        tokens.values().removeIf(entry -> now >= entry.expiresAtMillis());
+    }
+
+    private synchronized void evict() {
+        purge();
+        int target = maxEntries - Math.max(1, (int) (maxEntries * EVICTION_FRACTION));
+        Iterator<String> iterator = tokens.keySet().iterator();
+        while (tokens.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Entry(String username, long expiresAtMillis) {
+    }
+}
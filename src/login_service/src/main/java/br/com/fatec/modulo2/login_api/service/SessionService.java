@@ -0,0 +1,69 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import br.com.fatec.modulo2.login_api.dto.LoginResponse;
+import br.com.fatec.modulo2.login_api.revocation.RevocationIndex;
+import org.springframework.stereotype.Service;
+
+/**
+ * Abre, renova e encerra sessões: access token JWT curto + refresh token opaco
+ *
+ * Usado pelos controllers servlet e pelos handlers reativos, para que as duas
+ * variantes respondam igual.
+ */
+@Service
+public class SessionService {
+
+    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokens;
+    private final RevocationIndex revocations;
+
+    public SessionService(JwtService jwtService, RefreshTokenService refreshTokens, RevocationIndex revocations) {
+        this.jwtService = jwtService;
+        this.refreshTokens = refreshTokens;
+        this.revocations = revocations;
+    }
+
+    /**
+     * Emite access token e refresh token para um usuário recém-autenticado
+     */
+    public LoginResponse open(String username) {
+        return new LoginResponse(
+                jwtService.generateToken(username),
+                jwtService.getExpiration(),
+                refreshTokens.issue(username),
+                refreshTokens.getExpiration()
+        );
+    }
+
+    /**
+     * Troca um refresh token por um novo par de tokens
+     *
+     * @return Novos tokens, ou null se o refresh token for inválido, expirado ou já usado
+     */
+    public LoginResponse refresh(String refreshToken) {
+        String username = refreshTokens.consume(refreshToken);
+        return username == null ? null : open(username);
+    }
+
+    /**
+     * Encerra a sessão: revoga o access token até a sua expiração e descarta o refresh token
+     *
+     * O refresh token só é descartado se for do mesmo usuário do access token;
+     * um token de outra sessão informado no corpo é ignorado.
+     *
+     * @param accessToken  Access token da requisição (já verificado pelo filtro)
+     * @param refreshToken Refresh token da sessão, se informado
+     */
+    public void close(String accessToken, String refreshToken) {
+        VerifiedToken verified = jwtService.verify(accessToken);
+        if (verified == null) {
+            return;
+        }
+        if (verified.id() != null) {
+            revocations.revoke(verified.id(), verified.expiresAt());
+        }
+        if (refreshToken != null) {
+            refreshTokens.revoke(refreshToken, verified.subject());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Checagens estruturais baratas de um token JWS compacto, antes de qualquer
+ * criptografia
+ *
+ * Recusa o que nunca poderia ser um token nosso: tamanho fora do limite,
+ * número de segmentos diferente de 3, segmento vazio, caractere fora do
+ * alfabeto base64url ou "alg" do header fora dos algoritmos aceitos pelo
+ * keyring (o que também recusa "alg":"none").
+ *
+ * O token é lido no lugar, a partir de um offset do header Authorization: o
+ * header JWT é decodificado byte a byte direto para uma pequena máquina de
+ * estados que procura o "alg". Não aloca nem lança exceção; um flood de
+ * tokens inválidos custa uma varredura da string.
+ *
+ * Passar aqui não significa que o token é válido: assinatura e expiração
+ * continuam com o parser do jjwt.
+ */
+public final class TokenPrecheck {
+
+    /**
+     * Maior token aceito (o Tomcat já limita o header inteiro a 8 KB)
+     */
+    static final int MAX_TOKEN_LENGTH = 8192;
+
+    /**
+     * Maior header JWT codificado aceito; os nossos têm algumas dezenas de caracteres
+     */
+    static final int MAX_HEADER_LENGTH = 512;
+
+    /**
+     * Valor do "alg" empacotado em um long: 8 bytes bastam para HS256, ES256, EdDSA...
+     */
+    private static final int MAX_ALG_LENGTH = Long.BYTES;
+
+    private static final byte[] BASE64URL = new byte[128];
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private static final byte[] ALG_KEY = "\"alg\"".getBytes(StandardCharsets.US_ASCII);
+
+    // Estados da busca do "alg" no header decodificado
+    private static final int SEARCH = 0;
+    private static final int COLON = 1;
+    private static final int OPEN_QUOTE = 2;
+    private static final int VALUE = 3;
+    private static final int DONE = 4;
+    private static final int REJECTED = 5;
+
+    private final long[] acceptedAlgorithms;
+
+    /**
+     * @param acceptedAlgorithms Valores de "alg" aceitos (ex.: HS256, ES256)
+     */
+    public TokenPrecheck(Collection<String> acceptedAlgorithms) {
+        this.acceptedAlgorithms = acceptedAlgorithms.stream()
+                .mapToLong(TokenPrecheck::pack)
+                .toArray();
+    }
+
+    /**
+     * Início do token em um header "Authorization: Bearer &lt;token&gt;"
+     *
+     * @return Offset do token, ou -1 se o header não for Bearer
+     */
+    public static int bearerStart(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return -1;
+        }
+        return 7;
+    }
+
+    /**
+     * Token inteiro em uma string
+     */
+    public boolean isWellFormed(String token) {
+        return isWellFormed(token, 0);
+    }
+
+    /**
+     * Token de {@code from} até o fim da string (ex.: o header Authorization)
+     */
+    public boolean isWellFormed(String value, int from) {
+        if (value == null) {
+            return false;
+        }
+        int end = value.length();
+        int length = end - from;
+        if (length <= 0 || length > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = from; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    return false;
+                }
+            } else if (c >= 128 || BASE64URL[c] < 0) {
+                return false;
+            }
+        }
+
+        // header.payload.assinatura, nenhum vazio
+        if (secondDot < 0 || firstDot == from || secondDot == firstDot + 1 || secondDot == end - 1) {
+            return false;
+        }
+        if (firstDot - from > MAX_HEADER_LENGTH) {
+            return false;
+        }
+        return hasAcceptedAlgorithm(value, from, firstDot);
+    }
+
+    /**
+     * Decodifica o header base64url e procura "alg":"&lt;valor aceito&gt;"
+     */
+    private boolean hasAcceptedAlgorithm(String value, int from, int to) {
+        int state = SEARCH;
+        int matched = 0;
+        long alg = 0;
+        int algLength = 0;
+
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to && state != DONE && state != REJECTED; i++) {
+            bits = (bits << 6) | BASE64URL[value.charAt(i)];
+            bitCount += 6;
+            if (bitCount < 8) {
+                continue;
+            }
+            bitCount -= 8;
+            int b = (bits >>> bitCount) & 0xFF;
+
+            switch (state) {
+                case SEARCH -> {
+                    if (b == ALG_KEY[matched]) {
+                        matched++;
+                        if (matched == ALG_KEY.length) {
+                            state = COLON;
+                            matched = 0;
+                        }
+                    } else {
+                        // Só a aspa se repete no padrão: recomeça nela ou do zero
+                        matched = b == '"' ? 1 : 0;
+                    }
+                }
+                case COLON -> {
+                    if (b == ':') {
+                        state = OPEN_QUOTE;
+                    } else if (!isWhitespace(b)) {
+                        // "alg" era um valor, não a chave; segue procurando
+                        state = SEARCH;
+                        matched = b == '"' ? 1 : 0;
+                    }
+                }
+                case OPEN_QUOTE -> {
+                    if (b == '"') {
+                        state = VALUE;
+                    } else if (!isWhitespace(b)) {
+                        state = REJECTED;
+                    }
+                }
+                case VALUE -> {
+                    if (b == '"') {
+                        state = DONE;
+                    } else if (algLength == MAX_ALG_LENGTH || b == '\\') {
+                        state = REJECTED;
+                    } else {
+                        alg = (alg << 8) | b;
+                        algLength++;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        if (state != DONE) {
+            return false;
+        }
+        for (long accepted : acceptedAlgorithms) {
+            if (accepted == alg) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static long pack(String algorithm) {
+        byte[] bytes = algorithm.getBytes(StandardCharsets.US_ASCII);
+        if (bytes.length == 0 || bytes.length > MAX_ALG_LENGTH) {
+            throw new IllegalArgumentException("Algoritmo JWT não suportado: " + algorithm);
+        }
+        long packed = 0;
+        for (byte b : bytes) {
+            packed = (packed << 8) | (b & 0xFF);
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.fatec.modulo2.login_api.service;
+
+/**
+ * Resultado da verificação de um token JWT, incluindo o motivo da rejeição
+ *
+ * Os resultados de rejeição são constantes compartilhadas; só tokens
+ * válidos alocam uma instância.
+ *
+ * @param status Resultado da verificação
+ * @param token  Dados do token (apenas quando {@link Status#VALID})
+ */
+public record TokenVerification(Status status, VerifiedToken token) {
+
+    public static final TokenVerification INVALID = new TokenVerification(Status.INVALID, null);
+    public static final TokenVerification EXPIRED = new TokenVerification(Status.EXPIRED, null);
+
+    public enum Status {
+        VALID,
+        INVALID,
+        EXPIRED
+    }
+
+    public static TokenVerification valid(VerifiedToken token) {
+        return new TokenVerification(Status.VALID, token);
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+}
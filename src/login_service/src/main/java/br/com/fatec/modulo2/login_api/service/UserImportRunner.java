@@ -0,0 +1,80 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import br.com.fatec.modulo2.login_api.dto.BulkRegisterResult;
+import br.com.fatec.modulo2.login_api.dto.BulkRegisterSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Importação offline de usuários, sem passar pela API
+ *
+ * Ativada por users.import.file; usa o mesmo {@link BulkRegistrationService}
+ * do endpoint e grava no store configurado (use users.store.type=file para
+ * persistir). Contas recusadas vão para o log; ao final o processo termina
+ * com código 0, ou 1 se alguma conta falhou.
+ *
+ * java -jar login-service.jar --spring.main.web-application-type=none \
+ *     --users.store.type=file --users.import.file=usuarios.csv
+ */
+@Component
+@ConditionalOnProperty(name = "users.import.file")
+public class UserImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportRunner.class);
+
+    private final BulkRegistrationService bulkRegistration;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final boolean exit;
+
+    public UserImportRunner(
+            BulkRegistrationService bulkRegistration,
+            ConfigurableApplicationContext context,
+            @Value("${users.import.file}") String file,
+            @Value("${users.import.exit:true}") boolean exit
+    ) {
+        this.bulkRegistration = bulkRegistration;
+        this.context = context;
+        this.file = Path.of(file);
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        BulkRegistrationService.Format format = BulkRegistrationService.Format.detect(file.getFileName().toString());
+        log.info("Importando usuários de {} ({})", file, format);
+
+        long start = System.nanoTime();
+        BulkRegisterSummary summary;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            summary = bulkRegistration.register(reader, format, result -> {
+                if (!BulkRegisterResult.CREATED.equals(result.status())) {
+                    log.warn("Linha {} ({}): {}{}", result.line(), result.username(), result.status(),
+                            result.error() == null ? "" : " - " + result.error());
+                }
+            });
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Importação concluída em {} ms: {} linhas, {} cadastrados, {} já existiam, {} inválidos, {} falhas",
+                millis, summary.total(), summary.created(), summary.exists(), summary.invalid(), summary.failed());
+
+        if (exit) {
+            int code = summary.failed() > 0 ? 1 : 0;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Resultado de uma verificação de token JWT bem-sucedida
+ *
+ * O token é verificado (assinatura + expiração) e parseado uma única vez;
+ * os dados necessários pelo restante da requisição ficam aqui.
+ *
+ * @param id        Identificador único do token (claim "jti"), usado na revogação
+ * @param subject   Subject do token (username)
+ * @param expiresAt Data de expiração (claim "exp")
+ * @param issuedAt  Data de emissão (claim "iat")
+ * @param claims    Claims customizados (sem os claims registrados)
+ */
+public record VerifiedToken(
+        String id,
+        String subject,
+        Instant expiresAt,
+        Instant issuedAt,
+        Map<String, Object> claims
+) {
+    public VerifiedToken {
+        claims = claims == null ? Map.of() : Map.copyOf(claims);
+    }
+
+    /**
+     * Verifica se o token já expirou no instante informado
+     */
+    public boolean isExpiredAt(Instant instant) {
+        return expiresAt != null && !expiresAt.isAfter(instant);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.fatec.modulo2.login_api.store;
+
+import br.com.fatec.modulo2.login_api.cluster.ClusterBackend;
+import br.com.fatec.modulo2.login_api.cluster.NearCache;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * Armazenamento de credenciais compartilhado entre réplicas
+ *
+ * Os usuários ficam no {@link ClusterBackend} (chave "users:&lt;username&gt;");
+ * cada réplica lê por um {@link NearCache}, então logins repetidos e nomes
+ * inexistentes repetidos não saem do nó. Cadastro e troca de hash são
+ * atômicos no backend; a réplica que gravou descarta a própria entrada na
+ * hora, sem depender da entrega pelo backend, e publica o username no canal
+ * de invalidação: as outras réplicas descartam a entrada (inclusive um "não existe" em cache) e
+ * releem na próxima consulta. Se a mensagem se perder, a entrada vence pelo
+ * TTL do near-cache.
+ *
+ * Não fica atrás do {@link ExistenceFilteredUserStore}: o filtro de Bloom é
+ * local e não veria cadastros feitos em outra réplica. As ausências em cache
+ * cumprem esse papel.
+ */
+public class ClusterUserStore implements UserStore, Closeable {
+
+    static final String KEY_PREFIX = "users:";
+    static final String COUNT_KEY = "users-count";
+    static final String INVALIDATION_CHANNEL = "users-invalidation";
+
+    private final ClusterBackend backend;
+    private final NearCache cache;
+    private final ClusterBackend.Subscription subscription;
+
+    public ClusterUserStore(ClusterBackend backend, NearCache cache) {
+        this.backend = backend;
+        this.cache = cache;
+        this.subscription = backend.subscribe(INVALIDATION_CHANNEL, cache::invalidate);
+    }
+
+    @Override
+    public String findPasswordHash(String username) {
+        return cache.get(username, name -> backend.get(KEY_PREFIX + name));
+    }
+
+    @Override
+    public boolean putIfAbsent(String username, String passwordHash) {
+        if (!backend.setIfAbsent(KEY_PREFIX + username, passwordHash, null)) {
+            return false;
+        }
+        backend.incrementBy(COUNT_KEY, 1, null);
+        cache.invalidate(username);
+        backend.publish(INVALIDATION_CHANNEL, username);
+        return true;
+    }
+
+    @Override
+    public boolean replace(String username, String expectedHash, String newHash) {
+        if (!backend.compareAndSet(KEY_PREFIX + username, expectedHash, newHash)) {
+            return false;
+        }
+        cache.invalidate(username);
+        backend.publish(INVALIDATION_CHANNEL, username);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return (int) backend.incrementBy(COUNT_KEY, 0, null);
+    }
+
+    @Override
+    public void forEachUsername(Consumer<String> action) {
+        backend.scan(KEY_PREFIX, (key, hash) -> action.accept(key.substring(KEY_PREFIX.length())));
+    }
+
+    @Override
+    public void close() {
+        subscription.close();
+    }
+}
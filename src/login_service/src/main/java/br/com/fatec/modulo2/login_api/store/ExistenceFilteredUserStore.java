@@ -0,0 +1,127 @@
+package br.com.fatec.modulo2.login_api.store;
+
+import br.com.fatec.modulo2.login_api.util.BloomFilter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Decorador que responde "usuário não existe" sem consultar o armazenamento
+ *
+ * Um filtro de Bloom com todos os usernames fica na frente do store: se o
+ * filtro diz que o nome nunca foi cadastrado, {@link #exists} e
+ * {@link #findPasswordHash} retornam sem tocar no store. Com 1% de falsos
+ * positivos o filtro gasta ~1,2 byte por usuário (~1,2 MB por milhão), e a
+ * consulta é O(1) e não aloca.
+ *
+ * O filtro é montado a partir do store na inicialização e atualizado a cada
+ * cadastro, depois que o store confirma: a escrita no store (com fsync, no
+ * armazenamento em arquivo) roda fora do lock, e só a atualização do filtro
+ * é serializada. Até o nome entrar no filtro, outras requisições veem o
+ * usuário como inexistente, como se tivessem chegado antes do cadastro;
+ * quem cadastrou só recebe a resposta depois. Quando os cadastros passam da
+ * capacidade prevista, o filtro é reconstruído com o dobro do tamanho para
+ * manter a taxa de falsos positivos; a reconstrução lê o store, então não
+ * perde nomes confirmados durante ela.
+ */
+public class ExistenceFilteredUserStore implements UserStore, Closeable {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final UserStore delegate;
+    private final Object writeLock = new Object();
+
+    private volatile BloomFilter filter;
+    private int capacity;
+    private int inserted;
+
+    public ExistenceFilteredUserStore(UserStore delegate, int expectedUsers) {
+        this.delegate = delegate;
+        synchronized (writeLock) {
+            rebuild(Math.max(expectedUsers, delegate.size() * 2));
+        }
+    }
+
+    @Override
+    public String findPasswordHash(String username) {
+        return filter.mightContain(username) ? delegate.findPasswordHash(username) : null;
+    }
+
+    @Override
+    public boolean exists(String username) {
+        return filter.mightContain(username) && delegate.exists(username);
+    }
+
+    @Override
+    public boolean putIfAbsent(String username, String passwordHash) {
+        if (!delegate.putIfAbsent(username, passwordHash)) {
+            return false;
+        }
+        synchronized (writeLock) {
+            if (inserted >= capacity) {
+                rebuild(capacity * 2);
+            }
+            inserted++;
+            filter.put(username);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean[] putAllIfAbsent(List<Map.Entry<String, String>> users) {
+        boolean[] added = delegate.putAllIfAbsent(users);
+        synchronized (writeLock) {
+            if (inserted + users.size() > capacity) {
+                rebuild(Math.max(capacity * 2, (inserted + users.size()) * 2));
+            }
+            for (int i = 0; i < added.length; i++) {
+                if (added[i]) {
+                    inserted++;
+                    filter.put(users.get(i).getKey());
+                }
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public boolean replace(String username, String expectedHash, String newHash) {
+        // Não muda o conjunto de usernames: o filtro continua válido
+        return delegate.replace(username, expectedHash, newHash);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void forEachUsername(Consumer<String> action) {
+        delegate.forEachUsername(action);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Tamanho do filtro em bytes
+     */
+    public long filterBytes() {
+        return filter.bitSize() / 8L;
+    }
+
+    private void rebuild(int newCapacity) {
+        BloomFilter rebuilt = BloomFilter.create(newCapacity, FALSE_POSITIVE_RATE);
+        delegate.forEachUsername(rebuilt::put);
+        capacity = newCapacity;
+        inserted = delegate.size();
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,402 @@
+package br.com.fatec.modulo2.login_api.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Armazenamento de credenciais persistido em disco
+ *
+ * Os usuários ficam em um {@link ConcurrentHashMap} (leituras sem lock) e toda
+ * alteração é gravada em um log append-only ({@code users.log}). Quando o log
+ * passa do limite configurado, o estado completo é gravado em um snapshot
+ * ({@code users.snapshot}, substituído de forma atômica) e o log é truncado.
+ *
+ * Na inicialização o snapshot e o log são mapeados em memória (mmap) e
+ * reaplicados em sequência. Um registro incompleto no fim do log (queda no
+ * meio de uma escrita) é detectado pelo CRC e descartado. Uma escrita que
+ * falha com a aplicação no ar é desfeita truncando o log de volta à posição
+ * anterior a ela. O mapa só recebe a alteração depois que o registro está no
+ * log: ninguém faz login com um usuário que ainda pode se perder numa queda.
+ *
+ * Formato de cada registro: [int tamanho][int crc32c][byte op][payload], com payload
+ * [short len][username][short len][hash] em OP_PUT e [int n] seguido de n pares
+ * username/hash em OP_PUT_BATCH: o lote é um registro só, aplicado inteiro ou descartado.
+ */
+public class FileUserStore implements UserStore, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileUserStore.class);
+
+    static final String SNAPSHOT_FILE = "users.snapshot";
+    static final String LOG_FILE = "users.log";
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_PUT_BATCH = 2;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final Path logPath;
+    private final Path snapshotPath;
+    private final boolean fsync;
+    private final long compactThresholdBytes;
+
+    private final ConcurrentHashMap<String, String> users = new ConcurrentHashMap<>();
+
+    // Serializa as escritas no log e no mapa; leituras nunca passam por aqui
+    private final Object writeLock = new Object();
+    private FileChannel logChannel;
+
+    public FileUserStore(Path directory, boolean fsync, long compactThresholdBytes) {
+        this.directory = directory;
+        this.logPath = directory.resolve(LOG_FILE);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.fsync = fsync;
+        this.compactThresholdBytes = compactThresholdBytes;
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+            this.logChannel = FileChannel.open(logPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir armazenamento de usuários em " + directory, e);
+        }
+    }
+
+    @Override
+    public String findPasswordHash(String username) {
+        return users.get(username);
+    }
+
+    @Override
+    public boolean exists(String username) {
+        return users.containsKey(username);
+    }
+
+    @Override
+    public boolean putIfAbsent(String username, String passwordHash) {
+        synchronized (writeLock) {
+            if (users.containsKey(username)) {
+                return false;
+            }
+            try {
+                append(encode(OP_PUT, username, passwordHash));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar usuário no log", e);
+            }
+            users.put(username, passwordHash);
+            compactIfNeeded();
+            return true;
+        }
+    }
+
+    /**
+     * Grava o lote inteiro no log como um único registro, com um único fsync (group commit)
+     */
+    @Override
+    public boolean[] putAllIfAbsent(List<Map.Entry<String, String>> batch) {
+        boolean[] inserted = new boolean[batch.size()];
+        synchronized (writeLock) {
+            List<Map.Entry<String, String>> accepted = new ArrayList<>(batch.size());
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < inserted.length; i++) {
+                Map.Entry<String, String> user = batch.get(i);
+                if (!users.containsKey(user.getKey()) && seen.add(user.getKey())) {
+                    inserted[i] = true;
+                    accepted.add(user);
+                }
+            }
+            if (accepted.isEmpty()) {
+                return inserted;
+            }
+            try {
+                // Se falhar, nada do lote é confirmado: append já tirou o registro do log
+                append(encodeBatch(accepted));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar lote de usuários no log", e);
+            }
+            for (Map.Entry<String, String> user : accepted) {
+                users.put(user.getKey(), user.getValue());
+            }
+            compactIfNeeded();
+            return inserted;
+        }
+    }
+
+    @Override
+    public boolean replace(String username, String expectedHash, String newHash) {
+        synchronized (writeLock) {
+            if (!expectedHash.equals(users.get(username))) {
+                return false;
+            }
+            try {
+                // Na recuperação o último registro do usuário prevalece
+                append(encode(OP_PUT, username, newHash));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar hash do usuário no log", e);
+            }
+            users.put(username, newHash);
+            compactIfNeeded();
+            return true;
+        }
+    }
+
+    @Override
+    public int size() {
+        return users.size();
+    }
+
+    @Override
+    public void forEachUsername(Consumer<String> action) {
+        users.keySet().forEach(action);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            logChannel.close();
+        }
+    }
+
+    /**
+     * Grava o estado atual em um novo snapshot e trunca o log
+     */
+    public void compact() {
+        synchronized (writeLock) {
+            try {
+                writeSnapshot();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao compactar armazenamento de usuários", e);
+            }
+        }
+    }
+
+    /**
+     * Chamado depois de uma escrita já confirmada no log: uma falha aqui não
+     * desfaz a escrita, só adia a compactação para a próxima
+     */
+    private void compactIfNeeded() {
+        try {
+            if (logChannel.size() >= compactThresholdBytes) {
+                writeSnapshot();
+            }
+        } catch (IOException e) {
+            log.warn("Não foi possível compactar o log de usuários", e);
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, String> entry : users.entrySet()) {
+                writeFully(channel, encode(OP_PUT, entry.getKey(), entry.getValue()));
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // O rename só sobrevive a uma queda depois do fsync do diretório
+        forceDirectory();
+
+        // Se cair aqui, o log é reaplicado sobre o snapshot novo: a operação é idempotente
+        logChannel.truncate(0);
+        logChannel.force(true);
+    }
+
+    private void forceDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Windows não abre diretórios como arquivo: não há fsync de diretório
+            if (!System.getProperty("os.name").startsWith("Windows")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Grava um registro no fim do log; se a escrita ou o fsync falhar, trunca
+     * o log de volta para o registro não reaparecer na recuperação
+     */
+    private void append(ByteBuffer record) throws IOException {
+        long position = logChannel.size();
+        try {
+            writeFully(logChannel, record);
+            if (fsync) {
+                logChannel.force(false);
+            }
+        } catch (IOException e) {
+            try {
+                logChannel.truncate(position);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+    }
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+
+        if (Files.exists(snapshotPath)) {
+            long valid = replay(snapshotPath);
+            if (valid != Files.size(snapshotPath)) {
+                throw new IllegalStateException("Snapshot de usuários corrompido: " + snapshotPath);
+            }
+        }
+
+        if (Files.exists(logPath)) {
+            long valid = replay(logPath);
+            long size = Files.size(logPath);
+            if (valid != size) {
+                log.warn("Descartando {} bytes incompletos no fim de {}", size - valid, logPath);
+                try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                    channel.force(true);
+                }
+            }
+        }
+
+        log.info("{} usuários recuperados de {} em {} ms",
+                users.size(), directory, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reaplica os registros do arquivo
+     *
+     * @return Posição do fim do último registro válido
+     */
+    private long replay(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return 0;
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Arquivo de usuários maior que 2 GB: " + file);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32C crc = new CRC32C();
+
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                int recordStart = buffer.position();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    return recordStart;
+                }
+
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    return recordStart;
+                }
+
+                apply(payload);
+                buffer.position(buffer.position() + length);
+            }
+            return buffer.position();
+        }
+    }
+
+    private void apply(ByteBuffer payload) {
+        byte op = payload.get();
+        int count = op == OP_PUT_BATCH ? payload.getInt() : 1;
+        for (int i = 0; i < count; i++) {
+            String username = readString(payload);
+            String hash = readString(payload);
+            if (op == OP_PUT || op == OP_PUT_BATCH) {
+                users.put(username, hash);
+            }
+        }
+    }
+
+    private static ByteBuffer encode(byte op, String username, String passwordHash) {
+        byte[] user = utf8(username);
+        byte[] hash = utf8(passwordHash);
+
+        ByteBuffer buffer = allocateRecord(1 + Short.BYTES + user.length + Short.BYTES + hash.length);
+        buffer.put(op);
+        buffer.putShort((short) user.length).put(user);
+        buffer.putShort((short) hash.length).put(hash);
+        return seal(buffer);
+    }
+
+    private static ByteBuffer encodeBatch(List<Map.Entry<String, String>> batch) {
+        List<byte[]> fields = new ArrayList<>(batch.size() * 2);
+        int length = 1 + Integer.BYTES;
+        for (Map.Entry<String, String> user : batch) {
+            byte[] username = utf8(user.getKey());
+            byte[] hash = utf8(user.getValue());
+            fields.add(username);
+            fields.add(hash);
+            length += Short.BYTES + username.length + Short.BYTES + hash.length;
+        }
+
+        ByteBuffer buffer = allocateRecord(length);
+        buffer.put(OP_PUT_BATCH);
+        buffer.putInt(batch.size());
+        for (byte[] field : fields) {
+            buffer.putShort((short) field.length).put(field);
+        }
+        return seal(buffer);
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Username ou hash excede o tamanho máximo");
+        }
+        return bytes;
+    }
+
+    private static ByteBuffer allocateRecord(int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        buffer.putInt(length);
+        buffer.putInt(0);
+        return buffer;
+    }
+
+    /**
+     * Preenche o CRC do payload e deixa o registro pronto para escrita
+     */
+    private static ByteBuffer seal(ByteBuffer buffer) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), RECORD_HEADER_SIZE, buffer.position() - RECORD_HEADER_SIZE);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.flip();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
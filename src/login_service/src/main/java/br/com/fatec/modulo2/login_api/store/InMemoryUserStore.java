@@ -0,0 +1,46 @@
+package br.com.fatec.modulo2.login_api.store;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Armazenamento de credenciais em memória
+ *
+ * Baseado em {@link ConcurrentHashMap}: leituras sem lock e escritas com
+ * lock por bin, então o throughput escala com o número de núcleos.
+ * Os dados são perdidos ao reiniciar o serviço.
+ */
+public class InMemoryUserStore implements UserStore {
+
+    private final ConcurrentHashMap<String, String> users = new ConcurrentHashMap<>();
+
+    @Override
+    public String findPasswordHash(String username) {
+        return users.get(username);
+    }
+
+    @Override
+    public boolean exists(String username) {
+        return users.containsKey(username);
+    }
+
+    @Override
+    public boolean putIfAbsent(String username, String passwordHash) {
+        return users.putIfAbsent(username, passwordHash) == null;
+    }
+
+    @Override
+    public boolean replace(String username, String expectedHash, String newHash) {
+        return users.replace(username, expectedHash, newHash);
+    }
+
+    @Override
+    public int size() {
+        return users.size();
+    }
+
+    @Override
+    public void forEachUsername(Consumer<String> action) {
+        users.keySet().forEach(action);
+    }
+}
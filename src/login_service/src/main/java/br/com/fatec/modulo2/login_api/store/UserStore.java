@@ -0,0 +1,77 @@
+package br.com.fatec.modulo2.login_api.store;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Armazenamento de credenciais (username → hash da senha)
+ *
+ * Implementações devem ser thread-safe: leituras podem ocorrer em paralelo
+ * em todos os núcleos sem lock global, e o cadastro é atômico
+ * (put-if-absent), eliminando a corrida entre "existe?" e "cadastra".
+ */
+public interface UserStore {
+
+    /**
+     * Obtém o hash da senha do usuário
+     *
+     * @param username Nome de usuário
+     * @return Hash armazenado, ou null se o usuário não existe
+     */
+    String findPasswordHash(String username);
+
+    /**
+     * Verifica se o usuário existe
+     */
+    default boolean exists(String username) {
+        return findPasswordHash(username) != null;
+    }
+
+    /**
+     * Cadastra o usuário apenas se ele ainda não existir (operação atômica)
+     *
+     * @param username     Nome de usuário
+     * @param passwordHash Hash da senha
+     * @return true se o usuário foi cadastrado, false se já existia
+     */
+    boolean putIfAbsent(String username, String passwordHash);
+
+    /**
+     * Cadastra vários usuários de uma vez, cada um apenas se ainda não existir
+     *
+     * Implementações persistentes gravam o lote com uma única sincronização
+     * em disco; a padrão apenas repete {@link #putIfAbsent}.
+     *
+     * @param users Pares username → hash da senha
+     * @return Para cada posição, true se o usuário foi cadastrado
+     */
+    default boolean[] putAllIfAbsent(List<Map.Entry<String, String>> users) {
+        boolean[] inserted = new boolean[users.size()];
+        for (int i = 0; i < inserted.length; i++) {
+            Map.Entry<String, String> user = users.get(i);
+            inserted[i] = putIfAbsent(user.getKey(), user.getValue());
+        }
+        return inserted;
+    }
+
+    /**
+     * Troca o hash do usuário apenas se ele ainda for {@code expectedHash} (operação atômica)
+     *
+     * Usado para regravar o hash com a política atual após um login: se a
+     * senha mudou nesse meio tempo, a troca não acontece.
+     *
+     * @return true se o hash foi substituído
+     */
+    boolean replace(String username, String expectedHash, String newHash);
+
+    /**
+     * Quantidade de usuários cadastrados
+     */
+    int size();
+
+    /**
+     * Percorre os usernames cadastrados (visão fracamente consistente)
+     */
+    void forEachUsername(Consumer<String> action);
+}
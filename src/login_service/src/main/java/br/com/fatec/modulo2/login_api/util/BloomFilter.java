@@ -0,0 +1,94 @@
+package br.com.fatec.modulo2.login_api.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para strings, seguro para uso concorrente sem lock
+ *
+ * Responde "certamente ausente" ou "talvez presente". Os k índices vêm de
+ * double hashing sobre {@link String#hashCode()} (que a própria String guarda
+ * em cache), então a consulta não aloca nada e custa k leituras de memória.
+ *
+ * Não há remoção: para descartar elementos, monte um filtro novo.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final int numBits;
+    private final int numHashes;
+
+    private BloomFilter(int numBits, int numHashes) {
+        this.words = new AtomicLongArray((numBits + 63) >>> 6);
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * Cria um filtro dimensionado para a quantidade esperada de elementos
+     *
+     * @param expectedInsertions Quantidade esperada de elementos
+     * @param falsePositiveRate  Taxa de falsos positivos aceita nesse volume (ex.: 0.01)
+     */
+    public static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Parâmetros inválidos para o filtro de Bloom");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int numBits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        int numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * ln2));
+        return new BloomFilter(numBits, numHashes);
+    }
+
+    public void put(String value) {
+        int h1 = mix(value.hashCode());
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            int index = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(index);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    /**
+     * @return false se o valor certamente não foi inserido
+     */
+    public boolean mightContain(String value) {
+        int h1 = mix(value.hashCode());
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int bitSize() {
+        return numBits;
+    }
+
+    public int hashFunctions() {
+        return numHashes;
+    }
+
+    /**
+     * Finalizador do MurmurHash3: espalha os bits do hashCode
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -3,7 +3,8 @@ package br.com.fatec.modulo2.login_api;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Sem auditoria: o padrão gravaria segmentos em ./data/audit a cada execução
+@SpringBootTest(properties = "audit.enabled=false")
 class LoginApiApplicationTests {
 
 	@Test
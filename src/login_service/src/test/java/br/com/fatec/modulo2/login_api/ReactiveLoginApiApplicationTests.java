@@ -0,0 +1,99 @@
+package br.com.fatec.modulo2.login_api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Variante reativa (LOGIN_WEB_STACK=reactive) de ponta a ponta
+ *
+ * O application.yml resolve spring.main.web-application-type a partir de
+ * LOGIN_WEB_STACK; é essa variável que escolhe a stack, e o primeiro teste
+ * confere que o servidor é mesmo o Netty.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"LOGIN_WEB_STACK=reactive", "audit.enabled=false", "security.admin-users=ops"}
+)
+class ReactiveLoginApiApplicationTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void runsOnNetty() {
+        ReactiveWebServerApplicationContext reactive =
+                assertInstanceOf(ReactiveWebServerApplicationContext.class, context);
+        assertInstanceOf(NettyWebServer.class, reactive.getWebServer());
+    }
+
+    @Test
+    void loginThenAccessProtectedRoute() {
+        Map<?, ?> login = client.post().uri("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", "admin", "password", "admin123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+
+        client.get().uri("/api/user/profile")
+                .header("Authorization", "Bearer " + login.get("token"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo("admin");
+    }
+
+    @Test
+    void rejectsInvalidCredentialsAndMissingToken() {
+        client.post().uri("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", "admin", "password", "errada"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        client.get().uri("/api/user/profile")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void adminNamesCannotSelfRegister() {
+        client.post().uri("/api/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", "ops", "password", "qualquer"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        // A conta "admin" pré-cadastrada não é administradora
+        Map<?, ?> login = client.post().uri("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", "admin", "password", "admin123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+
+        client.post().uri("/api/register/bulk")
+                .header("Authorization", "Bearer " + login.get("token"))
+                .contentType(MediaType.valueOf("text/csv"))
+                .bodyValue("maria,segredo123\n")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+}
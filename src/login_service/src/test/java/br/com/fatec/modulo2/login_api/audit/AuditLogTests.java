@@ -0,0 +1,192 @@
+package br.com.fatec.modulo2.login_api.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fila, segmentos e leitor da trilha de auditoria, gravando num diretório temporário
+ */
+class AuditLogTests {
+
+    private static final long T0 = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void ringBufferRefusesWhenFullAndDrainsInOrder() {
+        AuditRingBuffer ring = new AuditRingBuffer(3);
+        assertEquals(4, ring.capacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(T0 + i, AuditEventType.LOGIN_FAILURE, "user-" + i, "10.0.0.1", null));
+        }
+        assertFalse(ring.offer(T0, AuditEventType.LOGIN_FAILURE, "extra", "10.0.0.1", null));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, ring.drain((ts, type, subject, remote, xff) -> drained.add(subject), 2));
+        assertTrue(ring.offer(T0, AuditEventType.LOGIN_SUCCESS, "user-4", "10.0.0.1", null));
+        assertEquals(3, ring.drain((ts, type, subject, remote, xff) -> drained.add(subject), 100));
+
+        assertEquals(List.of("user-0", "user-1", "user-2", "user-3", "user-4"), drained);
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void blockBackpressureWaitsForTheWriterInsteadOfDropping() throws Exception {
+        AuditLog audit = new AuditLog(dir, 4, AuditLog.Backpressure.BLOCK, 1 << 20, 4, false,
+                Duration.ofMillis(1), false);
+        int threads = 8;
+        int perThread = 2_000;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String subject = "user-" + t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        audit.record(AuditEventType.LOGIN_FAILURE, subject, "10.0.0.1", null);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        audit.destroy();
+
+        assertEquals(0, audit.dropped());
+        assertEquals(threads * perThread, audit.written());
+        List<AuditRecord> records = new ArrayList<>();
+        new AuditLogReader(dir).query(null, record -> true, records::add);
+        assertEquals(threads * perThread, records.size());
+    }
+
+    @Test
+    void validTokensAreLeftOutUnlessEnabled() {
+        AuditLog audit = new AuditLog(dir, 16, AuditLog.Backpressure.DROP, 1 << 20, 4, false,
+                Duration.ofMillis(1), false);
+        audit.record(AuditEventType.TOKEN_VALID, "admin", "10.0.0.1", null);
+        audit.record(AuditEventType.TOKEN_REVOKED, "admin", "10.0.0.1", null);
+        audit.destroy();
+
+        List<AuditRecord> records = new ArrayList<>();
+        new AuditLogReader(dir).query(null, record -> true, records::add);
+        assertEquals(List.of(AuditEventType.TOKEN_REVOKED), records.stream().map(AuditRecord::type).toList());
+        assertFalse(AuditLog.disabled().isRecorded(AuditEventType.LOGIN_FAILURE));
+    }
+
+    @Test
+    void rotatesKeepsNewestSegmentsAndQueriesFromInstant() throws IOException {
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, 1_024, 3, false)) {
+            for (int i = 0; i < 200; i++) {
+                writer.append(T0 + i * 1_000L, AuditEventType.LOGIN_FAILURE, "user-" + i, "10.0.0.1", null);
+                writer.commit();
+            }
+        }
+
+        List<Path> segments = AuditSegments.list(dir);
+        assertTrue(segments.size() <= 3, "segmentos: " + segments);
+        assertTrue(AuditSegments.index(segments.getFirst()) > 1, "os mais antigos deveriam ter sido apagados");
+
+        List<String> all = new ArrayList<>();
+        new AuditLogReader(dir).query(null, record -> true, record -> all.add(record.subject()));
+        assertEquals("user-199", all.getLast());
+        int first = Integer.parseInt(all.getFirst().substring("user-".length()));
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals("user-" + (first + i), all.get(i));
+        }
+
+        List<String> recent = new ArrayList<>();
+        new AuditLogReader(dir).query(Instant.ofEpochMilli(T0 + 195_000), record -> true,
+                record -> recent.add(record.subject()));
+        assertEquals(List.of("user-195", "user-196", "user-197", "user-198", "user-199"), recent);
+    }
+
+    @Test
+    void tornTailIsIgnoredAndNextStartUsesANewSegment() throws IOException {
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, 1 << 20, 4, true)) {
+            writer.append(T0, AuditEventType.LOGIN_SUCCESS, "maria", "10.0.0.1", null);
+            writer.append(T0 + 1, AuditEventType.LOGIN_FAILURE, "joao", "10.0.0.2", null);
+            writer.commit();
+        }
+        // Queda no meio de uma escrita: cabeçalho de um registro sem o corpo
+        Path crashed = AuditSegments.list(dir).getLast();
+        Files.write(crashed, new byte[]{0, 40, 1, 2, 3, 4, 0, 0}, StandardOpenOption.APPEND);
+
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, 1 << 20, 4, true)) {
+            writer.append(T0 + 2, AuditEventType.REGISTER_SUCCESS, "ana", "10.0.0.3", null);
+            writer.commit();
+        }
+
+        List<String> subjects = new ArrayList<>();
+        new AuditLogReader(dir).query(null, record -> true, record -> subjects.add(record.subject()));
+        assertEquals(List.of("maria", "joao", "ana"), subjects);
+        assertEquals(2, AuditSegments.list(dir).size());
+    }
+
+    @Test
+    void followSeesEventsWrittenAfterItStartsAcrossRotation() throws Exception {
+        AuditLog audit = new AuditLog(dir, 64, AuditLog.Backpressure.DROP, 1_024, 100, false,
+                Duration.ofMillis(1), false);
+        List<String> seen = new CopyOnWriteArrayList<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread follower = Thread.ofVirtual().start(() ->
+                new AuditLogReader(dir).follow(null, record -> record.type() == AuditEventType.LOGIN_FAILURE,
+                        record -> seen.add(record.subject()), running::get));
+        try {
+            for (int i = 0; i < 100; i++) {
+                audit.record(AuditEventType.LOGIN_FAILURE, "user-" + i, "10.0.0.1", null);
+                audit.record(AuditEventType.LOGIN_SUCCESS, "outro", "10.0.0.1", null);
+                Thread.sleep(1);
+            }
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (seen.size() < 100 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+        } finally {
+            running.set(false);
+            follower.join();
+            audit.destroy();
+        }
+
+        assertEquals(100, seen.size());
+        assertEquals("user-0", seen.getFirst());
+        assertEquals("user-99", seen.getLast());
+        assertTrue(AuditSegments.list(dir).size() > 1, "deveria ter rotacionado");
+    }
+
+    @Test
+    void truncatesFieldsOnCharacterBoundaryAndUsesLastForwardedAddress() throws IOException {
+        String subject = "ç".repeat(200);
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, 1 << 20, 4, false)) {
+            writer.append(T0, AuditEventType.LOGIN_RATE_LIMITED, subject, "172.18.0.5", "203.0.113.9, 10.0.0.7");
+            writer.append(T0, AuditEventType.LOGIN_RATE_LIMITED, null, "172.18.0.5", " ");
+        }
+
+        List<AuditRecord> records = new ArrayList<>();
+        new AuditLogReader(dir).query(null, record -> true, records::add);
+        AuditRecord first = records.getFirst();
+        assertEquals("ç".repeat(127), first.subject());
+        assertTrue(first.subject().getBytes(StandardCharsets.UTF_8).length <= AuditSegments.MAX_FIELD_BYTES);
+        assertEquals("10.0.0.7", first.clientIp());
+        assertEquals("", records.get(1).subject());
+        assertEquals("172.18.0.5", records.get(1).clientIp());
+    }
+}
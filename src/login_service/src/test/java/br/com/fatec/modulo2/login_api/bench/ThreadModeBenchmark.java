@@ -0,0 +1,257 @@
+package br.com.fatec.modulo2.login_api.bench;
+
+import br.com.fatec.modulo2.login_api.LoginApiApplication;
+import br.com.fatec.modulo2.login_api.service.JwtService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compara o Tomcat com threads de plataforma e com virtual threads
+ *
+ * Para cada modo sobe o login-service em uma porta aleatória e abre N conexões
+ * keep-alive simultâneas (uma virtual thread por conexão no cliente), cada uma
+ * chamando GET /api/user/profile em loop durante a janela de medição. O
+ * cliente roda em outra JVM ({@link Client}), com o mesmo classpath: cada
+ * processo usa um descritor por conexão, e 10k conexões cabem em ulimit -n
+ * de 20000 (num processo só seriam ~20k).
+ *
+ * Não é executado pelo surefire. Para rodar:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     br.com.fatec.modulo2.login_api.bench.ThreadModeBenchmark 1000,10000 15
+ * </pre>
+ */
+public class ThreadModeBenchmark {
+
+    private static final String SECRET = "chave-de-benchmark-com-pelo-menos-256-bits-para-hs256";
+
+    public static void main(String[] args) throws Exception {
+        int[] connections = Arrays.stream((args.length > 0 ? args[0] : "1000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+
+        System.out.printf("%-9s %8s %12s %10s %10s %10s %8s%n",
+                "modo", "conexões", "req/s", "p50 (ms)", "p99 (ms)", "p999 (ms)", "erros");
+
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                String token = context.getBean(JwtService.class).generateToken("benchmark");
+
+                for (int n : connections) {
+                    // Aquecimento curto antes de cada medição
+                    runClient(port, token, Math.min(n, 200), 3);
+                    String result = runClient(port, token, n, seconds);
+                    System.out.printf("%-9s %8d %s%n", virtual ? "virtual" : "platform", n, result);
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(LoginApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000",
+                        "jwt.secret=" + SECRET,
+                        "audit.enabled=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+    }
+
+    /**
+     * Roda o {@link Client} em outra JVM e devolve a linha de resultado
+     */
+    private static String runClient(int port, String token, int connections, int seconds) throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process client = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                Client.class.getName(), String.valueOf(port), token,
+                String.valueOf(connections), String.valueOf(seconds))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        String output = new String(client.getInputStream().readAllBytes(), StandardCharsets.UTF_8).stripTrailing();
+        if (client.waitFor() != 0) {
+            throw new IllegalStateException("Cliente terminou com código " + client.exitValue());
+        }
+        return output;
+    }
+
+    /**
+     * Gerador de carga: conecta, mede e imprime uma linha com req/s,
+     * p50/p99/p999 (ms) e erros
+     */
+    public static final class Client {
+
+        public static void main(String[] args) throws Exception {
+            int port = Integer.parseInt(args[0]);
+            String token = args[1];
+            int connections = Integer.parseInt(args[2]);
+            int seconds = Integer.parseInt(args[3]);
+
+            Result result = run(port, token, connections, seconds);
+            System.out.printf("%12.0f %10.2f %10.2f %10.2f %8d%n",
+                    result.count() / (double) seconds,
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(0.999),
+                    result.errors());
+        }
+    }
+
+    private static Result run(int port, String token, int connections, int seconds) throws Exception {
+        byte[] request = ("GET /api/user/profile HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Authorization: Bearer " + token + "\r\n"
+                + "\r\n").getBytes(StandardCharsets.US_ASCII);
+
+        CountDownLatch ready = new CountDownLatch(connections);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>(connections);
+        int[] errors = new int[1];
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                futures.add(clients.submit(() -> {
+                    LongList latencies = new LongList();
+                    try (Socket socket = new Socket()) {
+                        socket.connect(new InetSocketAddress("localhost", port), 30_000);
+                        socket.setTcpNoDelay(true);
+                        OutputStream out = socket.getOutputStream();
+                        InputStream in = new BufferedInputStream(socket.getInputStream());
+                        ready.countDown();
+                        start.await();
+
+                        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+                        while (System.nanoTime() < deadline) {
+                            long begin = System.nanoTime();
+                            out.write(request);
+                            out.flush();
+                            if (readResponse(in) != 200) {
+                                synchronized (errors) {
+                                    errors[0]++;
+                                }
+                            }
+                            latencies.add(System.nanoTime() - begin);
+                        }
+                    } catch (IOException e) {
+                        ready.countDown();
+                        synchronized (errors) {
+                            errors[0]++;
+                        }
+                    }
+                    return latencies.toArray();
+                }));
+            }
+
+            ready.await();
+            start.countDown();
+
+            LongList all = new LongList();
+            for (Future<long[]> future : futures) {
+                for (long latency : future.get()) {
+                    all.add(latency);
+                }
+            }
+            long[] sorted = all.toArray();
+            Arrays.sort(sorted);
+            return new Result(sorted, errors[0]);
+        }
+    }
+
+    /**
+     * Lê uma resposta HTTP/1.1 com Content-Length ou chunked e retorna o status
+     */
+    private static int readResponse(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        if (statusLine == null) {
+            throw new IOException("Conexão fechada pelo servidor");
+        }
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+
+        int contentLength = -1;
+        boolean chunked = false;
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            String lower = line.toLowerCase();
+            if (lower.startsWith("content-length:")) {
+                contentLength = Integer.parseInt(line.substring(15).trim());
+            } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+                chunked = true;
+            }
+        }
+
+        if (chunked) {
+            int size;
+            while ((size = Integer.parseInt(readLine(in).trim(), 16)) > 0) {
+                in.skipNBytes(size + 2);
+            }
+            readLine(in);
+        } else if (contentLength > 0) {
+            in.skipNBytes(contentLength);
+        }
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                int length = line.length();
+                return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+            }
+            line.append((char) c);
+        }
+        return line.isEmpty() ? null : line.toString();
+    }
+
+    private record Result(long[] sortedLatencies, int errors) {
+
+        long count() {
+            return sortedLatencies.length;
+        }
+
+        double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(p * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    private static final class LongList {
+
+        private long[] values = new long[256];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
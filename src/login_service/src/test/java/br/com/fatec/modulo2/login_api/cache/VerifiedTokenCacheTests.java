@@ -0,0 +1,116 @@
+package br.com.fatec.modulo2.login_api.cache;
+
+import br.com.fatec.modulo2.login_api.service.VerifiedToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTests {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void servesEntryUntilTokenExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, 1024, clock);
+        cache.put("token", tokenExpiringIn(1_000));
+
+        assertNotNull(cache.get("token"));
+
+        clock.advance(1_000);
+        assertNull(cache.get("token"));
+
+        VerifiedTokenCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.evictions());
+        assertEquals(0, stats.size());
+    }
+
+    @Test
+    void staysWithinConfiguredCapacity() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, 1024, clock);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("token-" + i, tokenExpiringIn(60_000));
+        }
+
+        assertTrue(cache.stats().size() <= 100);
+        assertTrue(cache.stats().evictions() >= 900);
+    }
+
+    @Test
+    void concurrentInsertsStayNearCapacity() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, 1024, clock);
+        int threads = 8;
+        VerifiedToken verified = tokenExpiringIn(60_000);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        cache.put("token-" + thread + "-" + i, verified);
+                        // Com a limpeza em outra thread, quem encontra o cache cheio não insere
+                        assertTrue(cache.stats().size() <= 100 + threads);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    @Test
+    void skipsOversizedTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, 8, clock);
+        cache.put("token-muito-longo", tokenExpiringIn(60_000));
+
+        assertNull(cache.get("token-muito-longo"));
+    }
+
+    private VerifiedToken tokenExpiringIn(long millis) {
+        Instant now = clock.instant();
+        return new VerifiedToken("jti", "admin", now.plusMillis(millis), now, Map.of());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.fatec.modulo2.login_api.cluster;
+
+import br.com.fatec.modulo2.login_api.revocation.RevocationIndex;
+import br.com.fatec.modulo2.login_api.store.ClusterUserStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Duas ou mais "réplicas" no mesmo processo, compartilhando um {@link EmbeddedClusterBackend}
+ */
+class ClusterStateTests {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger remoteReads = new AtomicInteger();
+
+    private final EmbeddedClusterBackend backend = new EmbeddedClusterBackend(clock) {
+        @Override
+        public String get(String key) {
+            remoteReads.incrementAndGet();
+            return super.get(key);
+        }
+    };
+
+    @Test
+    void userRegisteredOnOneNodeInvalidatesCachedMissOnAnother() {
+        ClusterUserStore nodeA = userStore(backend);
+        ClusterUserStore nodeB = userStore(backend);
+
+        assertNull(nodeB.findPasswordHash("admin"));
+        assertTrue(nodeA.putIfAbsent("admin", "hash-1"));
+        assertFalse(nodeB.putIfAbsent("admin", "hash-2"));
+
+        assertEquals("hash-1", nodeB.findPasswordHash("admin"));
+        assertTrue(nodeB.replace("admin", "hash-1", "hash-3"));
+        assertEquals("hash-3", nodeA.findPasswordHash("admin"));
+        assertEquals(1, nodeA.size());
+
+        List<String> usernames = new ArrayList<>();
+        nodeB.forEachUsername(usernames::add);
+        assertEquals(List.of("admin"), usernames);
+    }
+
+    @Test
+    void repeatedReadsStayOnTheNode() {
+        ClusterUserStore node = userStore(backend);
+        node.putIfAbsent("admin", "hash-admin");
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals("hash-admin", node.findPasswordHash("admin"));
+            assertNull(node.findPasswordHash("desconhecido"));
+        }
+        assertEquals(2, remoteReads.get());
+    }
+
+    @Test
+    void writerSeesItsOwnWriteWithoutTheInvalidationMessage() {
+        EmbeddedClusterBackend silent = new EmbeddedClusterBackend(clock) {
+            @Override
+            public void publish(String channel, String message) {
+                // Mensagem perdida
+            }
+        };
+        ClusterUserStore node = userStore(silent);
+
+        assertNull(node.findPasswordHash("admin"));
+        assertTrue(node.putIfAbsent("admin", "hash-1"));
+        assertEquals("hash-1", node.findPasswordHash("admin"));
+
+        assertTrue(node.replace("admin", "hash-1", "hash-2"));
+        assertEquals("hash-2", node.findPasswordHash("admin"));
+    }
+
+    @Test
+    void lostInvalidationIsBoundedByNearCacheTtl() {
+        ClusterUserStore node = userStore(backend);
+        assertNull(node.findPasswordHash("admin"));
+
+        // Gravado sem publicar a invalidação (mensagem perdida)
+        backend.setIfAbsent("users:admin", "hash-admin", null);
+        nanos.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertNull(node.findPasswordHash("admin"));
+
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals("hash-admin", node.findPasswordHash("admin"));
+    }
+
+    @Test
+    void loadStartedBeforeInvalidationIsNotCached() {
+        NearCache cache = new NearCache(100, Duration.ofSeconds(5), nanos::get);
+
+        // A invalidação chega enquanto o valor antigo é lido do backend
+        assertEquals("antigo", cache.get("admin", key -> {
+            cache.invalidate(key);
+            return "antigo";
+        }));
+        assertEquals("novo", cache.get("admin", key -> "novo"));
+    }
+
+    @Test
+    void revocationsReachOtherNodesAndLateJoiners() {
+        RevocationIndex indexA = new RevocationIndex(1_000);
+        RevocationIndex indexB = new RevocationIndex(1_000);
+        new ClusterRevocations(backend, indexA);
+        new ClusterRevocations(backend, indexB);
+
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        indexA.revoke("jti-1", expiresAt);
+        assertTrue(indexB.isRevoked("jti-1"));
+
+        // Réplica que sobe depois do logout lê as revogações do backend
+        RevocationIndex late = new RevocationIndex(1_000);
+        new ClusterRevocations(backend, late);
+        assertTrue(late.isRevoked("jti-1"));
+        assertFalse(late.isRevoked("jti-2"));
+    }
+
+    @Test
+    void attemptLimitIsSharedAfterSync() {
+        ClusterAttemptCounter nodeA = new ClusterAttemptCounter(backend, "user", 4, Duration.ofMinutes(1), 100, clock);
+        ClusterAttemptCounter nodeB = new ClusterAttemptCounter(backend, "user", 4, Duration.ofMinutes(1), 100, clock);
+
+        assertEquals(0, nodeA.tryAcquire("admin"));
+        assertEquals(0, nodeA.tryAcquire("admin"));
+        assertEquals(0, nodeB.tryAcquire("admin"));
+        nodeA.sync();
+        nodeB.sync();
+
+        assertEquals(0, nodeB.tryAcquire("admin"));
+        long wait = nodeB.tryAcquire("admin");
+        assertEquals(Duration.ofMinutes(1).toNanos(), wait);
+        nodeB.sync();
+        nodeA.sync();
+        assertTrue(nodeA.tryAcquire("admin") > 0);
+        assertEquals(0, nodeA.tryAcquire("outro"));
+
+        // Janela nova: contagem zerada
+        clock.advance(60_000);
+        assertEquals(0, nodeA.tryAcquire("admin"));
+        nodeA.sync();
+        assertEquals(1, nodeA.size());
+    }
+
+    private ClusterUserStore userStore(ClusterBackend backend) {
+        return new ClusterUserStore(backend, new NearCache(1_000, Duration.ofSeconds(5), nanos::get));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
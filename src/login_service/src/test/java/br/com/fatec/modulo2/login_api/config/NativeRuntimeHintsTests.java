@@ -0,0 +1,51 @@
+package br.com.fatec.modulo2.login_api.config;
+
+import br.com.fatec.modulo2.login_api.dto.LoginRequest;
+import br.com.fatec.modulo2.login_api.dto.LoginResponse;
+import br.com.fatec.modulo2.login_api.dto.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeRuntimeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeRuntimeHintsTests() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void jjwtImplementationsExistAndCanBeInstantiated() throws Exception {
+        // Uma atualização do jjwt que renomeie classes quebraria só a imagem nativa
+        for (String name : NativeRuntimeHints.JJWT_IMPLEMENTATIONS) {
+            Class<?> type = Class.forName(name);
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), name);
+            if (type.getDeclaredConstructors().length > 0) {
+                assertTrue(RuntimeHintsPredicates.reflection()
+                        .onConstructor(type.getDeclaredConstructors()[0]).test(hints), name);
+            }
+        }
+    }
+
+    @Test
+    void jacksonSerializerIsFoundThroughServiceLoader() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer")
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Deserializer")
+                .test(hints));
+    }
+
+    @Test
+    void requestAndResponseRecordsAreBindable() throws Exception {
+        for (Class<?> type : new Class<?>[] {LoginRequest.class, RegisterRequest.class, LoginResponse.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+            assertTrue(RuntimeHintsPredicates.reflection()
+                    .onConstructor(type.getDeclaredConstructors()[0]).test(hints), type.getName());
+            assertTrue(RuntimeHintsPredicates.reflection()
+                    .onMethod(type.getMethod(type.getRecordComponents()[0].getName())).test(hints), type.getName());
+        }
+    }
+}
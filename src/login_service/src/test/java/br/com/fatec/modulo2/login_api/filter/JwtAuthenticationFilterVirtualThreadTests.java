@@ -0,0 +1,95 @@
+package br.com.fatec.modulo2.login_api.filter;
+
+import br.com.fatec.modulo2.login_api.audit.AuditLog;
+import br.com.fatec.modulo2.login_api.config.AdminUsers;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.revocation.RevocationIndex;
+import br.com.fatec.modulo2.login_api.cache.VerifiedTokenCache;
+import br.com.fatec.modulo2.login_api.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que o filtro e o SecurityContextHolder (sem herança entre threads)
+ * isolam a autenticação de cada requisição quando o Tomcat usa virtual threads
+ */
+class JwtAuthenticationFilterVirtualThreadTests {
+
+    private static final String SECRET = "chave-de-teste-com-pelo-menos-256-bits-para-hs256";
+
+    private final JwtService jwtService = new JwtService(SECRET, 60_000L, AuthMetrics.noop());
+    private final JwtAuthenticationFilter filter =
+            new JwtAuthenticationFilter(jwtService, new VerifiedTokenCache(true, 1_000, 1_024),
+                    new RevocationIndex(1_000), AuthMetrics.noop(), AuditLog.disabled(), AdminUsers.none());
+
+    @Test
+    void contextIsNotInheritedByChildThreads() throws Exception {
+        // MODE_INHERITABLETHREADLOCAL copiaria o contexto para toda virtual thread criada na requisição
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("admin", null, List.of()));
+        try {
+            Authentication[] seen = new Authentication[2];
+            Thread virtual = Thread.ofVirtual().start(() -> seen[0] = SecurityContextHolder.getContext().getAuthentication());
+            Thread platform = Thread.ofPlatform().start(() -> seen[1] = SecurityContextHolder.getContext().getAuthentication());
+            virtual.join();
+            platform.join();
+
+            assertNull(seen[0]);
+            assertNull(seen[1]);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void isolatesAuthenticationAcrossVirtualThreads() throws Exception {
+        int requests = 10_000;
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tokens.add(jwtService.generateToken("user-" + i));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                int user = i % tokens.size();
+                results.add(executor.submit(() -> authenticatesOnlyItself("user-" + user, tokens.get(user))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        }
+    }
+
+    private boolean authenticatesOnlyItself(String username, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        String[] seen = new String[1];
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                // Força troca de carrier thread no meio da requisição
+                Thread.yield();
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                seen[0] = authentication == null ? null : authentication.getName();
+            });
+        } finally {
+            // Papel do SecurityContextHolderFilter ao fim de cada requisição
+            SecurityContextHolder.clearContext();
+        }
+
+        return username.equals(seen[0]) && SecurityContextHolder.getContext().getAuthentication() == null;
+    }
+}
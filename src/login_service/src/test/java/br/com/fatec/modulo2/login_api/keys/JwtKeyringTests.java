@@ -0,0 +1,166 @@
+package br.com.fatec.modulo2.login_api.keys;
+
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.service.JwtService;
+import br.com.fatec.modulo2.login_api.service.TokenVerification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class JwtKeyringTests {
+
+    private static final Duration ROTATION = Duration.ofDays(7);
+    private static final Duration PUBLISH_AHEAD = Duration.ofMinutes(10);
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void publishesNextKeyBeforeSigningWithIt() {
+        JwtKeyring keyring = keyring(JwtKeyring.Algorithm.ES256, null);
+        String first = keyring.activeKeyId();
+        assertEquals(List.of(first), kids(keyring));
+
+        clock.advance(ROTATION.minus(PUBLISH_AHEAD));
+        keyring.rotate();
+
+        // Publicada, mas ainda não assina
+        assertEquals(first, keyring.activeKeyId());
+        assertEquals(2, kids(keyring).size());
+        String next = kids(keyring).stream().filter(kid -> !kid.equals(first)).findFirst().orElseThrow();
+        assertNotNull(keyring.verificationKey(next));
+
+        clock.advance(PUBLISH_AHEAD);
+        keyring.rotate();
+        assertEquals(next, keyring.activeKeyId());
+        assertNotNull(keyring.verificationKey(first));
+
+        // Fora da retenção a chave antiga sai do JWKS
+        clock.advance(RETENTION);
+        keyring.rotate();
+        assertEquals(List.of(next), kids(keyring));
+        assertNull(keyring.verificationKey(first));
+    }
+
+    @Test
+    void tokensSignedBeforeRotationStayValid() {
+        JwtKeyring keyring = keyring(JwtKeyring.Algorithm.EdDSA, null);
+        JwtService jwtService = new JwtService(keyring, RETENTION.toMillis(), AuthMetrics.noop());
+        String token = jwtService.generateToken("admin");
+
+        clock.advance(ROTATION);
+        keyring.rotate();
+
+        assertNotEquals(token.split("\\.")[0], jwtService.generateToken("admin").split("\\.")[0]);
+        assertEquals("admin", jwtService.verify(token).subject());
+    }
+
+    @Test
+    void rejectsUnknownKidAndKidlessTokens() {
+        JwtKeyring keyring = keyring(JwtKeyring.Algorithm.ES256, null);
+        JwtService jwtService = new JwtService(keyring, 60_000L, AuthMetrics.noop());
+        JwtService other = new JwtService(keyring(JwtKeyring.Algorithm.ES256, null), 60_000L, AuthMetrics.noop());
+        JwtService hmac = new JwtService("chave-de-teste-com-pelo-menos-256-bits-para-hs256", 60_000L, AuthMetrics.noop());
+
+        assertEquals(TokenVerification.Status.INVALID, jwtService.check(other.generateToken("admin")).status());
+        assertEquals(TokenVerification.Status.INVALID, jwtService.check(hmac.generateToken("admin")).status());
+    }
+
+    @Test
+    void reloadsPersistedKeys(@TempDir Path directory) {
+        JwtKeyring keyring = keyring(JwtKeyring.Algorithm.ES256, directory);
+        String token = new JwtService(keyring, 60_000L, AuthMetrics.noop()).generateToken("admin");
+
+        JwtKeyring restarted = keyring(JwtKeyring.Algorithm.ES256, directory);
+
+        assertEquals(keyring.activeKeyId(), restarted.activeKeyId());
+        assertEquals("admin", new JwtService(restarted, 60_000L, AuthMetrics.noop()).verify(token).subject());
+    }
+
+    @Test
+    void writesKeyFilesReadableOnlyByTheOwner(@TempDir Path parent) throws IOException {
+        Path directory = parent.resolve("keys");
+        JwtKeyring keyring = keyring(JwtKeyring.Algorithm.EdDSA, directory);
+
+        Path file = directory.resolve(keyring.activeKeyId() + ".jwk.json");
+        assumeTrue(Files.getFileStore(file).supportsFileAttributeView("posix"));
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(directory)));
+    }
+
+    @Test
+    void replicasSharingTheDirectoryPublishEachOthersKeys(@TempDir Path directory) {
+        JwtKeyring replicaA = keyring(JwtKeyring.Algorithm.ES256, directory);
+        JwtKeyring replicaB = keyring(JwtKeyring.Algorithm.ES256, directory);
+        assertEquals(replicaA.activeKeyId(), replicaB.activeKeyId());
+
+        clock.advance(ROTATION.minus(PUBLISH_AHEAD));
+        replicaA.rotate();
+        replicaB.rotate();
+
+        // B relê a chave gerada por A em vez de gerar outra
+        assertEquals(2, kids(replicaA).size());
+        assertEquals(kids(replicaA), kids(replicaB));
+    }
+
+    @Test
+    void hmacKeyringPublishesNoKeys() {
+        JwtKeyring keyring = JwtKeyring.hmac("chave-de-teste-com-pelo-menos-256-bits-para-hs256");
+
+        assertNull(keyring.activeKeyId());
+        assertEquals(Map.of("keys", List.of()), keyring.jwks());
+    }
+
+    private JwtKeyring keyring(JwtKeyring.Algorithm algorithm, Path directory) {
+        return JwtKeyring.asymmetric(algorithm, null, directory, ROTATION, PUBLISH_AHEAD, RETENTION, clock);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> kids(JwtKeyring keyring) {
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) keyring.jwks().get("keys");
+        keys.forEach(key -> assertFalse(key.containsKey("d"), "JWKS não pode conter a chave privada"));
+        return keys.stream().map(key -> (String) key.get("kid")).toList();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.fatec.modulo2.login_api.password;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTests {
+
+    private final PasswordHasher bcrypt = new PasswordHasher(PasswordHasher.Policy.bcrypt(4));
+
+    @Test
+    void encodesWithAlgorithmPrefix() {
+        String hash = bcrypt.encode("senha123");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+        assertEquals("bcrypt-4", PasswordHasher.version(hash));
+        assertTrue(bcrypt.matches("senha123", hash));
+        assertFalse(bcrypt.matches("outra", hash));
+        assertFalse(bcrypt.needsRehash(hash));
+    }
+
+    @Test
+    void acceptsLegacyHashWithoutPrefix() {
+        String legacy = new BCryptPasswordEncoder(5).encode("senha123");
+
+        assertTrue(bcrypt.matches("senha123", legacy));
+        assertEquals("bcrypt-5", PasswordHasher.version(legacy));
+        assertTrue(bcrypt.needsRehash(legacy));
+    }
+
+    @Test
+    void verifiesHashesOfOtherAlgorithmsAndCosts() {
+        PasswordHasher pbkdf2 = new PasswordHasher(PasswordHasher.Policy.pbkdf2(1_000));
+        PasswordHasher argon2 = new PasswordHasher(PasswordHasher.Policy.argon2(1_024, 1));
+
+        String pbkdf2Hash = pbkdf2.encode("senha123");
+        String argon2Hash = argon2.encode("senha123");
+
+        assertEquals("pbkdf2-1000", PasswordHasher.version(pbkdf2Hash));
+        assertEquals("argon2-m1024-t1-p1", PasswordHasher.version(argon2Hash));
+        assertEquals(argon2.policy().version(), PasswordHasher.version(argon2Hash));
+
+        // Qualquer política verifica hashes de qualquer versão
+        assertTrue(bcrypt.matches("senha123", pbkdf2Hash));
+        assertTrue(bcrypt.matches("senha123", argon2Hash));
+        assertTrue(argon2.matches("senha123", pbkdf2Hash));
+        assertFalse(bcrypt.matches("outra", pbkdf2Hash));
+        assertTrue(bcrypt.needsRehash(pbkdf2Hash));
+        assertFalse(pbkdf2.needsRehash(pbkdf2Hash));
+    }
+
+    @Test
+    void rejectsUnknownFormats() {
+        assertFalse(bcrypt.matches("senha123", "{md5}abc"));
+        assertFalse(bcrypt.matches("senha123", "texto-plano"));
+        assertEquals(PasswordHasher.UNKNOWN_VERSION, PasswordHasher.version("{md5}abc"));
+        assertEquals(PasswordHasher.UNKNOWN_VERSION, PasswordHasher.version("{pbkdf2-x}abc"));
+    }
+
+    @Test
+    void calibrationStaysWithinSafeRange() {
+        PasswordHasher.Policy policy = PasswordHashCalibrator.calibrate(
+                PasswordHasher.Algorithm.BCRYPT, 0, Duration.ofNanos(1));
+
+        assertEquals(PasswordHasher.Policy.bcrypt(10), policy);
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.fatec.modulo2.login_api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTests {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsBurstThenRefillsOneTokenPerPeriod() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(1), 100, nanos::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+
+        // Outras chaves têm o próprio bucket
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+
+        nanos.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void newKeysShareStripedOverflowBucketsWhenFull() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofSeconds(1), 10, nanos::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("ip-" + i));
+        }
+        assertEquals(10, limiter.size());
+
+        // Chaves forjadas além do limite não crescem o mapa e esgotam só a faixa delas
+        List<String> sameStripe = new ArrayList<>();
+        String otherStripe = null;
+        int stripe = TokenBucketLimiter.overflowStripe("forjado-0");
+        for (int i = 0; sameStripe.size() < 3 || otherStripe == null; i++) {
+            String key = "forjado-" + i;
+            if (TokenBucketLimiter.overflowStripe(key) == stripe) {
+                sameStripe.add(key);
+            } else if (otherStripe == null) {
+                otherStripe = key;
+            }
+        }
+        assertEquals(0, limiter.tryAcquire(sameStripe.get(0)));
+        assertEquals(0, limiter.tryAcquire(sameStripe.get(1)));
+        assertTrue(limiter.tryAcquire(sameStripe.get(2)) > 0);
+
+        assertEquals(0, limiter.tryAcquire(otherStripe), "outra faixa não é afetada");
+        assertEquals(10, limiter.size());
+    }
+
+    @Test
+    void cleanupRemovesOnlyIdleBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, Duration.ofSeconds(1), 100, nanos::get);
+        limiter.tryAcquire("ocioso");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire("ativo");
+
+        limiter.cleanup();
+
+        assertEquals(1, limiter.size());
+    }
+}
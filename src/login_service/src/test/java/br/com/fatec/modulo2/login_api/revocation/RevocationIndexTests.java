@@ -0,0 +1,78 @@
+package br.com.fatec.modulo2.login_api.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationIndexTests {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void revokedTokenStaysRevokedUntilExpiry() {
+        RevocationIndex index = new RevocationIndex(1_000, clock);
+        index.revoke("jti-1", clock.instant().plusSeconds(60));
+
+        assertTrue(index.isRevoked("jti-1"));
+        assertFalse(index.isRevoked("jti-2"));
+        assertFalse(index.isRevoked(null));
+
+        clock.advance(60_000);
+        assertFalse(index.isRevoked("jti-1"));
+    }
+
+    @Test
+    void purgeDropsExpiredEntriesAndKeepsLiveOnes() {
+        RevocationIndex index = new RevocationIndex(1_000, clock);
+        index.revoke("curto", clock.instant().plusSeconds(10));
+        index.revoke("longo", clock.instant().plusSeconds(600));
+
+        clock.advance(10_000);
+        index.purge();
+
+        assertEquals(1, index.size());
+        assertTrue(index.isRevoked("longo"));
+        assertFalse(index.isRevoked("curto"));
+    }
+
+    @Test
+    void ignoresTokensAlreadyExpired() {
+        RevocationIndex index = new RevocationIndex(1_000, clock);
+        index.revoke("expirado", clock.instant());
+
+        assertEquals(0, index.size());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
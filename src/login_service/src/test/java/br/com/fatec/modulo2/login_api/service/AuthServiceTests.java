@@ -0,0 +1,48 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.password.PasswordHasher;
+import br.com.fatec.modulo2.login_api.store.InMemoryUserStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthServiceTests {
+
+    private final InMemoryUserStore users = new InMemoryUserStore();
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 16, 1);
+    private final AuthMetrics metrics = AuthMetrics.noop();
+    private final AuthService authService = new AuthService(
+            users, new PasswordHasher(PasswordHasher.Policy.bcrypt(4)), executor, metrics);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void unknownUserCostsOneHash() {
+        assertFalse(authService.authenticate("nao-existe", "senha123"));
+        assertFalse(authService.authenticateAsync("nao-existe", "senha123").join());
+
+        assertEquals(2, metrics.passwordDummyMatch().count());
+    }
+
+    @Test
+    void rehashesOutdatedHashOnSuccessfulLogin() {
+        users.putIfAbsent("maria", new BCryptPasswordEncoder(5).encode("senha123"));
+
+        assertFalse(authService.authenticate("maria", "errada"));
+        assertEquals("bcrypt-5", PasswordHasher.version(users.findPasswordHash("maria")));
+
+        assertTrue(authService.authenticate("maria", "senha123"));
+        assertEquals("bcrypt-4", PasswordHasher.version(users.findPasswordHash("maria")));
+        assertEquals(1, metrics.passwordRehash().count());
+
+        // Já na versão atual: não regrava de novo
+        assertTrue(authService.authenticateAsync("maria", "senha123").join());
+        assertEquals(1, metrics.passwordRehash().count());
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import br.com.fatec.modulo2.login_api.dto.BulkRegisterResult;
+import br.com.fatec.modulo2.login_api.dto.BulkRegisterSummary;
+import br.com.fatec.modulo2.login_api.exception.ServiceBusyException;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.password.PasswordHasher;
+import br.com.fatec.modulo2.login_api.store.InMemoryUserStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkRegistrationServiceTests {
+
+    private final InMemoryUserStore users = new InMemoryUserStore();
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 16, 1);
+    private final AuthService authService = new AuthService(
+            users, new PasswordHasher(PasswordHasher.Policy.bcrypt(4)), executor, AuthMetrics.noop());
+    private final BulkRegistrationService bulk = new BulkRegistrationService(
+            authService, new ObjectMapper(), 4, 3, Duration.ofMillis(50), 1);
+
+    @AfterEach
+    void tearDown() {
+        bulk.destroy();
+        executor.destroy();
+    }
+
+    @Test
+    void registersNdjsonInLineOrder() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= 20; i++) {
+            input.append("{\"username\":\"user-").append(i).append("\",\"password\":\"senha123\"}\n");
+        }
+        input.append("\n");
+        input.append("{\"username\":\"user-1\",\"password\":\"outra123\"}\n");
+        input.append("{\"username\":\"curta\",\"password\":\"123\"}\n");
+        input.append("nao-e-json\n");
+
+        List<BulkRegisterResult> results = new ArrayList<>();
+        BulkRegisterSummary summary = bulk.register(
+                new BufferedReader(new StringReader(input.toString())), BulkRegistrationService.Format.NDJSON,
+                results::add);
+
+        assertEquals(new BulkRegisterSummary(23, 20, 1, 2, 0), summary);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(BulkRegisterResult.created(i + 1, "user-" + (i + 1)), results.get(i));
+        }
+        // A linha 21 está em branco
+        assertEquals(BulkRegisterResult.exists(22, "user-1"), results.get(20));
+        assertEquals(BulkRegisterResult.INVALID, results.get(21).status());
+        assertEquals(24, results.get(22).line());
+
+        assertTrue(authService.authenticate("user-7", "senha123"));
+        assertFalse(authService.authenticate("user-1", "outra123"));
+    }
+
+    @Test
+    void registersCsvWithOptionalHeader() {
+        String csv = "username,password\nmaria,senha,com,virgulas\njoao,senha456\nsem-senha\n";
+
+        List<BulkRegisterResult> results = new ArrayList<>();
+        BulkRegisterSummary summary = bulk.register(
+                new BufferedReader(new StringReader(csv)), BulkRegistrationService.Format.CSV, results::add);
+
+        assertEquals(new BulkRegisterSummary(3, 2, 0, 1, 0), summary);
+        assertEquals(BulkRegisterResult.created(2, "maria"), results.get(0));
+        assertTrue(authService.authenticate("maria", "senha,com,virgulas"));
+        assertTrue(authService.authenticate("joao", "senha456"));
+    }
+
+    @Test
+    void capsConcurrentImports() {
+        Runnable release = bulk.acquireImport();
+        assertThrows(ServiceBusyException.class, bulk::acquireImport);
+
+        release.run();
+        release.run();
+        Runnable next = bulk.acquireImport();
+        assertThrows(ServiceBusyException.class, bulk::acquireImport, "liberar duas vezes não abre vaga extra");
+        next.run();
+    }
+}
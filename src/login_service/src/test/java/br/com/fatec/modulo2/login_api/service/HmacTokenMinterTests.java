@@ -0,0 +1,143 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HmacTokenMinterTests {
+
+    private static final String SECRET = "chave-de-teste-com-pelo-menos-256-bits-para-hs256";
+
+    private static final long IAT = 1_767_225_600L;
+    private static final long EXP = IAT + 900;
+
+    @Test
+    void jjwtVerifiesMintedTokensForEveryKeySize() {
+        // 32, 48 e 64 bytes: mesmo "alg" que o jjwt escolhe ao assinar com a chave
+        for (int size : new int[] {32, 48, 64}) {
+            SecretKey key = Keys.hmacShaKeyFor(bytes(size));
+            HmacTokenMinter minter = new HmacTokenMinter(key);
+            String jjwtAlg = Jwts.parser().verifyWith(key).build()
+                    .parseSignedClaims(Jwts.builder().subject("x").signWith(key).compact())
+                    .getHeader().getAlgorithm();
+
+            Jws<Claims> parsed = parse(key, minter.mint("id-1", "admin", IAT, EXP));
+
+            assertEquals(jjwtAlg, minter.algorithm());
+            assertEquals(jjwtAlg, parsed.getHeader().getAlgorithm());
+            assertClaims(parsed.getPayload(), "id-1", "admin");
+        }
+    }
+
+    @Test
+    void escapesUsernamesLikeJackson() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        HmacTokenMinter minter = new HmacTokenMinter(key);
+
+        List<String> usernames = List.of(
+                "aspas\"e\\barra",
+                "controle\n\t\u0001\u001f",
+                "acentuação-ção",
+                "日本語",
+                "emoji-😀",
+                "x".repeat(2_000)
+        );
+        for (String username : usernames) {
+            assertClaims(parse(key, minter.mint("id", username, IAT, EXP)).getPayload(), "id", username);
+        }
+    }
+
+    @Test
+    void matchesJjwtBuilderOutputSemantically() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String id = UUID.randomUUID().toString();
+
+        String minted = new HmacTokenMinter(key).mint(id, "admin", IAT, EXP);
+        String built = Jwts.builder()
+                .id(id)
+                .subject("admin")
+                .claim("username", "admin")
+                .claim("type", "Bearer")
+                .issuedAt(new Date(IAT * 1000))
+                .expiration(new Date(EXP * 1000))
+                .signWith(key)
+                .compact();
+
+        // Mesmo header e mesmos claims: o jjwt produziria os mesmos bytes salvo a ordem dos campos
+        assertEquals(built.substring(0, built.indexOf('.')), minted.substring(0, minted.indexOf('.')));
+        assertEquals(parse(key, built).getPayload(), parse(key, minted).getPayload());
+    }
+
+    @Test
+    void threadConfinedBuffersDoNotLeakBetweenThreads() throws Exception {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        HmacTokenMinter minter = new HmacTokenMinter(key);
+
+        for (ExecutorService executor : List.of(Executors.newFixedThreadPool(8),
+                Executors.newVirtualThreadPerTaskExecutor())) {
+            try (executor) {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < 2_000; i++) {
+                    // Tamanhos variados forçam o crescimento dos buffers
+                    String username = "user-" + i + "-" + "y".repeat(i % 300);
+                    String id = "id-" + i;
+                    results.add(executor.submit(() -> {
+                        Claims claims = parse(key, minter.mint(id, username, IAT, EXP)).getPayload();
+                        return id.equals(claims.getId()) && username.equals(claims.getSubject());
+                    }));
+                }
+                for (Future<Boolean> result : results) {
+                    assertTrue(result.get());
+                }
+            }
+        }
+    }
+
+    @Test
+    void encodesLikeJdkBase64Url() {
+        Random random = new Random(42);
+        byte[] dst = new byte[64];
+        for (int length = 0; length <= 40; length++) {
+            byte[] src = new byte[length];
+            random.nextBytes(src);
+            int written = HmacTokenMinter.encode(src, length, dst, 3);
+            assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString(src),
+                    new String(dst, 3, written, StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static Jws<Claims> parse(SecretKey key, String token) {
+        return Jwts.parser().verifyWith(key).clock(() -> new Date(IAT * 1000)).build().parseSignedClaims(token);
+    }
+
+    private static void assertClaims(Claims claims, String id, String username) {
+        assertEquals(id, claims.getId());
+        assertEquals(username, claims.getSubject());
+        assertEquals(username, claims.get("username"));
+        assertEquals("Bearer", claims.get("type"));
+        assertEquals(new Date(IAT * 1000), claims.getIssuedAt());
+        assertEquals(new Date(EXP * 1000), claims.getExpiration());
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
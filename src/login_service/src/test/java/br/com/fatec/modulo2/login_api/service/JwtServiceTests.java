@@ -0,0 +1,46 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTests {
+
+    private static final String SECRET = "chave-de-teste-com-pelo-menos-256-bits-para-hs256";
+
+    private final JwtService jwtService = new JwtService(SECRET, 60_000L, AuthMetrics.noop());
+
+    @Test
+    void verifyReturnsClaimsOfValidToken() {
+        String token = jwtService.generateToken("admin");
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertNotNull(verified);
+        assertEquals("admin", verified.subject());
+        assertEquals("admin", verified.claims().get("username"));
+        assertEquals("Bearer", verified.claims().get("type"));
+        assertTrue(verified.expiresAt().isAfter(verified.issuedAt()));
+    }
+
+    @Test
+    void verifyRejectsTamperedToken() {
+        String token = jwtService.generateToken("admin");
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertNull(jwtService.verify(tampered));
+        assertNull(jwtService.verify("nao-e-um-jwt"));
+    }
+
+    @Test
+    void verifyRejectsExpiredToken() {
+        JwtService expired = new JwtService(SECRET, -1_000L, AuthMetrics.noop());
+
+        String token = expired.generateToken("admin");
+
+        assertNull(expired.verify(token));
+        assertEquals(TokenVerification.Status.EXPIRED, expired.check(token).status());
+        assertEquals(TokenVerification.Status.INVALID, expired.check("nao-e-um-jwt").status());
+    }
+}
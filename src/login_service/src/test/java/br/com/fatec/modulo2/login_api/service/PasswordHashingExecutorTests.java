@@ -0,0 +1,45 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import br.com.fatec.modulo2.login_api.exception.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTests {
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Boolean> running = executor.submit(() -> await(release));
+            CompletableFuture<Boolean> queued = executor.submit(() -> await(release));
+            CompletableFuture<Boolean> rejected = executor.submit(() -> true);
+
+            CompletionException e = assertThrows(CompletionException.class, rejected::join);
+            ServiceBusyException busy = assertInstanceOf(ServiceBusyException.class, e.getCause());
+            assertEquals(2, busy.getRetryAfterSeconds());
+
+            release.countDown();
+            assertTrue(running.get());
+            assertTrue(queued.get());
+        } finally {
+            release.countDown();
+            executor.destroy();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            latch.await();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
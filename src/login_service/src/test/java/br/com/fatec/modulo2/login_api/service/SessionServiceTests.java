@@ -0,0 +1,61 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import br.com.fatec.modulo2.login_api.dto.LoginResponse;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import br.com.fatec.modulo2.login_api.revocation.RevocationIndex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionServiceTests {
+
+    private static final String SECRET = "chave-de-teste-com-pelo-menos-256-bits-para-hs256";
+
+    private final JwtService jwtService = new JwtService(SECRET, 900_000L, AuthMetrics.noop());
+    private final RevocationIndex revocations = new RevocationIndex(1_000);
+    private final SessionService sessions =
+            new SessionService(jwtService, new RefreshTokenService(604_800_000L, 100), revocations);
+
+    @Test
+    void loginResponseCarriesConfiguredExpirations() {
+        LoginResponse session = sessions.open("admin");
+
+        assertEquals(900_000L, session.expiresIn());
+        assertEquals(604_800_000L, session.refreshExpiresIn());
+        assertNotNull(jwtService.verify(session.token()).id());
+    }
+
+    @Test
+    void refreshTokenIsSingleUse() {
+        LoginResponse session = sessions.open("admin");
+
+        LoginResponse renewed = sessions.refresh(session.refreshToken());
+
+        assertNotNull(renewed);
+        assertEquals("admin", jwtService.verify(renewed.token()).subject());
+        assertNotEquals(session.refreshToken(), renewed.refreshToken());
+        assertNull(sessions.refresh(session.refreshToken()));
+        assertNull(sessions.refresh("desconhecido"));
+    }
+
+    @Test
+    void closeRevokesAccessAndRefreshTokens() {
+        LoginResponse session = sessions.open("admin");
+
+        sessions.close(session.token(), session.refreshToken());
+
+        assertTrue(revocations.isRevoked(jwtService.verify(session.token()).id()));
+        assertNull(sessions.refresh(session.refreshToken()));
+    }
+
+    @Test
+    void closeIgnoresRefreshTokenOfAnotherUser() {
+        LoginResponse victim = sessions.open("maria");
+        LoginResponse attacker = sessions.open("joao");
+
+        sessions.close(attacker.token(), victim.refreshToken());
+
+        assertTrue(revocations.isRevoked(jwtService.verify(attacker.token()).id()));
+        assertNotNull(sessions.refresh(victim.refreshToken()));
+    }
+}
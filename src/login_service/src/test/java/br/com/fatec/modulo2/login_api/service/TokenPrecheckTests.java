@@ -0,0 +1,113 @@
+package br.com.fatec.modulo2.login_api.service;
+
+import br.com.fatec.modulo2.login_api.keys.JwtKeyring;
+import br.com.fatec.modulo2.login_api.metrics.AuthMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenPrecheckTests {
+
+    private static final String SECRET = "chave-de-teste-com-pelo-menos-256-bits-para-hs256";
+
+    private final TokenPrecheck hmac = new TokenPrecheck(JwtKeyring.hmac(SECRET).acceptedAlgorithms());
+
+    @Test
+    void acceptsTokensIssuedByEveryKeyringMode() {
+        // 32, 48 e 64 bytes: o jjwt assina com HS256, HS384 e HS512
+        for (String secret : List.of(SECRET, SECRET + "-mais-16-bytes!!", SECRET + SECRET.substring(0, 16))) {
+            JwtKeyring keyring = JwtKeyring.hmac(secret);
+            String token = new JwtService(keyring, 60_000L, AuthMetrics.noop()).generateToken("admin");
+            assertTrue(new TokenPrecheck(keyring.acceptedAlgorithms()).isWellFormed(token), token);
+        }
+        for (JwtKeyring.Algorithm algorithm : List.of(JwtKeyring.Algorithm.ES256, JwtKeyring.Algorithm.EdDSA)) {
+            JwtKeyring keyring = JwtKeyring.asymmetric(algorithm, null, null, Duration.ofDays(7),
+                    Duration.ofMinutes(10), Duration.ofDays(1), Clock.systemUTC());
+            String token = new JwtService(keyring, 60_000L, AuthMetrics.noop()).generateToken("admin");
+            assertTrue(new TokenPrecheck(keyring.acceptedAlgorithms()).isWellFormed(token), token);
+        }
+    }
+
+    @Test
+    void readsTokenInPlaceAfterBearerPrefix() {
+        String token = new JwtService(SECRET, 60_000L, AuthMetrics.noop()).generateToken("admin");
+        String header = "Bearer " + token;
+
+        assertEquals(7, TokenPrecheck.bearerStart(header));
+        assertTrue(hmac.isWellFormed(header, TokenPrecheck.bearerStart(header)));
+        assertEquals(-1, TokenPrecheck.bearerStart("Basic YWRtaW46YWRtaW4="));
+        assertEquals(-1, TokenPrecheck.bearerStart(null));
+        assertFalse(hmac.isWellFormed("Bearer ", 7));
+    }
+
+    @Test
+    void rejectsWrongStructure() {
+        String header = encode("{\"alg\":\"HS256\"}");
+        assertTrue(hmac.isWellFormed(header + ".e30.c2ln"));
+
+        assertFalse(hmac.isWellFormed(null));
+        assertFalse(hmac.isWellFormed(""));
+        assertFalse(hmac.isWellFormed("not-a-jwt"));
+        assertFalse(hmac.isWellFormed(header + ".e30"));
+        assertFalse(hmac.isWellFormed(header + ".e30.c2ln.c2ln"));
+        assertFalse(hmac.isWellFormed(header + ".e30."));
+        assertFalse(hmac.isWellFormed(header + "..c2ln"));
+        assertFalse(hmac.isWellFormed(".e30.c2ln"));
+        // Fora do alfabeto base64url: padding, base64 comum, espaço, não ASCII
+        assertFalse(hmac.isWellFormed(header + ".e30=.c2ln"));
+        assertFalse(hmac.isWellFormed(header + ".e3+0.c2ln"));
+        assertFalse(hmac.isWellFormed(header + ".e30.c2ln "));
+        assertFalse(hmac.isWellFormed(header + ".e30.c2lné"));
+        assertFalse(hmac.isWellFormed(header + ".e30." + "A".repeat(TokenPrecheck.MAX_TOKEN_LENGTH)));
+    }
+
+    @Test
+    void rejectsAlgorithmsTheKeyringNeverIssues() {
+        assertFalse(hmac.isWellFormed(encode("{\"alg\":\"none\"}") + ".e30.c2ln"));
+        assertFalse(hmac.isWellFormed(encode("{\"alg\":\"ES256\"}") + ".e30.c2ln"));
+        assertFalse(hmac.isWellFormed(encode("{\"alg\":\"HS256-extra-long\"}") + ".e30.c2ln"));
+        assertFalse(hmac.isWellFormed(encode("{\"typ\":\"JWT\"}") + ".e30.c2ln"));
+        assertFalse(hmac.isWellFormed(encode("{\"alg\":HS256}") + ".e30.c2ln"));
+        assertFalse(hmac.isWellFormed(encode("not json") + ".e30.c2ln"));
+
+        TokenPrecheck es256 = new TokenPrecheck(List.of("ES256"));
+        assertFalse(es256.isWellFormed(encode("{\"alg\":\"HS256\"}") + ".e30.c2ln"));
+    }
+
+    @Test
+    void findsAlgKeyAnywhereInTheHeader() {
+        assertTrue(hmac.isWellFormed(encode("{ \"typ\" : \"JWT\", \"alg\" : \"HS512\" }") + ".e30.c2ln"));
+        // "alg" como valor de outro campo não conta
+        assertTrue(hmac.isWellFormed(encode("{\"x\":\"alg\",\"alg\":\"HS384\"}") + ".e30.c2ln"));
+        assertFalse(hmac.isWellFormed(encode("{\"x\":\"alg\",\"y\":\"HS384\"}") + ".e30.c2ln"));
+    }
+
+    @Test
+    void malformedTokensNeverReachTheParser() {
+        // check() devolve INVALID pela checagem estrutural, antes do jjwt
+        JwtService jwtService = new JwtService(SECRET, 60_000L, AuthMetrics.noop());
+        assertSame(TokenVerification.INVALID, jwtService.check("not-a-jwt"));
+        assertSame(TokenVerification.INVALID, jwtService.check(null));
+    }
+
+    @Test
+    void checkWellFormedSkipsOnlyThePrecheck() {
+        JwtService jwtService = new JwtService(SECRET, 60_000L, AuthMetrics.noop());
+        String token = jwtService.generateToken("admin");
+
+        assertEquals("admin", jwtService.checkWellFormed(token).token().subject());
+        // A assinatura continua sendo verificada
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertEquals(TokenVerification.Status.INVALID, jwtService.checkWellFormed(tampered).status());
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.fatec.modulo2.login_api.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExistenceFilteredUserStoreTests {
+
+    @Test
+    void knowsUsersAlreadyInDelegate() {
+        InMemoryUserStore delegate = new InMemoryUserStore();
+        delegate.putIfAbsent("admin", "hash-admin");
+
+        ExistenceFilteredUserStore store = new ExistenceFilteredUserStore(delegate, 100);
+
+        assertTrue(store.exists("admin"));
+        assertEquals("hash-admin", store.findPasswordHash("admin"));
+        assertFalse(store.exists("ninguem"));
+        assertNull(store.findPasswordHash("ninguem"));
+    }
+
+    @Test
+    void skipsDelegateForUnknownUsers() {
+        AtomicInteger lookups = new AtomicInteger();
+        InMemoryUserStore delegate = new InMemoryUserStore() {
+            @Override
+            public String findPasswordHash(String username) {
+                lookups.incrementAndGet();
+                return super.findPasswordHash(username);
+            }
+        };
+        ExistenceFilteredUserStore store = new ExistenceFilteredUserStore(delegate, 1_000);
+        store.putIfAbsent("admin", "hash-admin");
+
+        int misses = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (store.findPasswordHash("desconhecido-" + i) == null) {
+                misses++;
+            }
+        }
+
+        assertEquals(1_000, misses);
+        // Apenas os falsos positivos (~1%) chegam ao store
+        assertTrue(lookups.get() < 50, "consultas ao store: " + lookups.get());
+    }
+
+    @Test
+    void keepsAllUsersWhenGrowingPastExpectedSize() {
+        ExistenceFilteredUserStore store = new ExistenceFilteredUserStore(new InMemoryUserStore(), 16);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(store.putIfAbsent("user-" + i, "hash-" + i));
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(store.exists("user-" + i));
+        }
+        assertFalse(store.putIfAbsent("user-0", "outro-hash"));
+        assertEquals(1_000, store.size());
+    }
+
+    @Test
+    void slowDelegateWriteDoesNotBlockOtherRegistrations() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryUserStore delegate = new InMemoryUserStore() {
+            @Override
+            public boolean putIfAbsent(String username, String passwordHash) {
+                if (username.equals("lento")) {
+                    // Simula o fsync do armazenamento em arquivo
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.putIfAbsent(username, passwordHash);
+            }
+        };
+        ExistenceFilteredUserStore store = new ExistenceFilteredUserStore(delegate, 100);
+
+        CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> store.putIfAbsent("lento", "hash"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        assertTrue(CompletableFuture.supplyAsync(() -> store.putIfAbsent("rapido", "hash")).get(5, TimeUnit.SECONDS));
+        assertTrue(store.exists("rapido"));
+
+        release.countDown();
+        assertTrue(slow.get(5, TimeUnit.SECONDS));
+        assertTrue(store.exists("lento"));
+    }
+}
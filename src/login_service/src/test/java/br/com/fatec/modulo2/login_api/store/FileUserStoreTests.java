@@ -0,0 +1,138 @@
+package br.com.fatec.modulo2.login_api.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileUserStoreTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversUsersAfterRestart() throws IOException {
+        try (FileUserStore store = new FileUserStore(directory, false, 1 << 20)) {
+            assertTrue(store.putIfAbsent("admin", "hash-admin"));
+            assertTrue(store.putIfAbsent("user", "hash-user"));
+            assertFalse(store.putIfAbsent("admin", "outro-hash"));
+        }
+
+        try (FileUserStore store = new FileUserStore(directory, false, 1 << 20)) {
+            assertEquals(2, store.size());
+            assertEquals("hash-admin", store.findPasswordHash("admin"));
+            assertEquals("hash-user", store.findPasswordHash("user"));
+        }
+    }
+
+    @Test
+    void recoversBatchInsertedUsers() throws IOException {
+        try (FileUserStore store = new FileUserStore(directory, true, 1 << 20)) {
+            store.putIfAbsent("admin", "hash-admin");
+            boolean[] inserted = store.putAllIfAbsent(List.of(
+                    Map.entry("maria", "hash-maria"),
+                    Map.entry("admin", "outro-hash"),
+                    Map.entry("joao", "hash-joao")));
+            assertArrayEquals(new boolean[]{true, false, true}, inserted);
+        }
+
+        try (FileUserStore store = new FileUserStore(directory, false, 1 << 20)) {
+            assertEquals(3, store.size());
+            assertEquals("hash-admin", store.findPasswordHash("admin"));
+            assertEquals("hash-joao", store.findPasswordHash("joao"));
+        }
+    }
+
+    @Test
+    void discardsTornRecordAtEndOfLog() throws IOException {
+        try (FileUserStore store = new FileUserStore(directory, false, 1 << 20)) {
+            store.putIfAbsent("admin", "hash-admin");
+        }
+        Path logFile = directory.resolve(FileUserStore.LOG_FILE);
+        long validSize = Files.size(logFile);
+        Files.write(logFile, new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        try (FileUserStore store = new FileUserStore(directory, false, 1 << 20)) {
+            assertEquals(1, store.size());
+            assertEquals(validSize, Files.size(logFile));
+            assertTrue(store.putIfAbsent("user", "hash-user"));
+        }
+
+        try (FileUserStore store = new FileUserStore(directory, false, 1 << 20)) {
+            assertEquals("hash-user", store.findPasswordHash("user"));
+        }
+    }
+
+    @Test
+    void dropsTornBatchAsAWhole() throws IOException {
+        try (FileUserStore store = new FileUserStore(directory, false, 1 << 20)) {
+            store.putIfAbsent("admin", "hash-admin");
+        }
+        Path logFile = directory.resolve(FileUserStore.LOG_FILE);
+        long validSize = Files.size(logFile);
+        try (FileUserStore store = new FileUserStore(directory, false, 1 << 20)) {
+            store.putAllIfAbsent(List.of(Map.entry("maria", "hash-maria"), Map.entry("joao", "hash-joao")));
+        }
+        // Queda no meio do lote: só parte do registro chegou ao disco
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(logFile) - 5);
+        }
+
+        try (FileUserStore store = new FileUserStore(directory, false, 1 << 20)) {
+            assertEquals(1, store.size());
+            assertNull(store.findPasswordHash("maria"));
+            assertEquals(validSize, Files.size(logFile));
+        }
+    }
+
+    @Test
+    void compactsLogIntoSnapshot() throws IOException {
+        try (FileUserStore store = new FileUserStore(directory, false, 256)) {
+            for (int i = 0; i < 50; i++) {
+                store.putIfAbsent("user-" + i, "hash-" + i);
+            }
+        }
+        assertTrue(Files.exists(directory.resolve(FileUserStore.SNAPSHOT_FILE)));
+        assertTrue(Files.size(directory.resolve(FileUserStore.LOG_FILE)) < 256);
+
+        try (FileUserStore store = new FileUserStore(directory, false, 256)) {
+            assertEquals(50, store.size());
+            assertEquals("hash-42", store.findPasswordHash("user-42"));
+        }
+    }
+
+    @Test
+    void registrationSucceedsWhenCompactionFails() throws IOException {
+        // Um diretório no lugar do snapshot temporário faz toda compactação falhar
+        Files.createDirectories(directory.resolve(FileUserStore.SNAPSHOT_FILE + ".tmp"));
+
+        try (FileUserStore store = new FileUserStore(directory, false, 1)) {
+            assertTrue(store.putIfAbsent("maria", "hash-maria"));
+            assertTrue(store.exists("maria"));
+        }
+
+        try (FileUserStore store = new FileUserStore(directory, false, 1)) {
+            assertEquals("hash-maria", store.findPasswordHash("maria"));
+        }
+    }
+
+    @Test
+    void failedWriteLeavesNoVisibleUser() throws IOException {
+        FileUserStore store = new FileUserStore(directory, false, 1 << 20);
+        store.close();
+
+        assertThrows(UncheckedIOException.class, () -> store.putIfAbsent("maria", "hash-maria"));
+        assertThrows(UncheckedIOException.class, () -> store.putAllIfAbsent(List.of(Map.entry("joao", "hash-joao"))));
+        assertFalse(store.exists("maria"));
+        assertFalse(store.exists("joao"));
+    }
+}